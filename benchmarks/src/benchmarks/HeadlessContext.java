@@ -0,0 +1,67 @@
+package benchmarks;
+
+import java.util.Arrays;
+
+import main.ArrayManager;
+import main.ArrayVisualizer;
+import utils.Distributions;
+import utils.Instrumentation;
+import utils.Shuffles;
+
+/**
+ * The headless {@link ArrayVisualizer} the benchmarks run against.
+ *
+ * Instrumentation is set to {@link Instrumentation.Level#COUNTING}, so Reads and Writes only bump their
+ * counters: no highlights, delays, timer laps or repaints end up in the measured code.
+ */
+public final class HeadlessContext {
+    public static final int MAX_LENGTH_POWER = 20;
+
+    private static ArrayVisualizer arrayVisualizer;
+
+    private HeadlessContext() {
+    }
+
+    public static synchronized ArrayVisualizer get() {
+        if (arrayVisualizer == null) {
+            System.setProperty("java.awt.headless", "true");
+            ArrayVisualizer.MAX_LENGTH_POWER = Math.max(ArrayVisualizer.MAX_LENGTH_POWER, MAX_LENGTH_POWER);
+
+            arrayVisualizer = new ArrayVisualizer(true);
+            arrayVisualizer.setInstrumentationLevel(Instrumentation.Level.COUNTING);
+            arrayVisualizer.toggleShuffleAnimation(false);
+            arrayVisualizer.getDelays().changeSkipped(true);
+        }
+        return arrayVisualizer;
+    }
+
+    /**
+     * Builds a linear distribution of {@code length} items and shuffles it the same way the
+     * visualizer would.
+     */
+    public static synchronized int[] createInput(Shuffles shuffle, int length) {
+        ArrayVisualizer arrayVisualizer = get();
+        if (length > arrayVisualizer.getMaximumLength()) {
+            throw new IllegalArgumentException("Length " + length + " is above the maximum of " + arrayVisualizer.getMaximumLength());
+        }
+        ArrayManager arrayManager = arrayVisualizer.getArrayManager();
+
+        arrayVisualizer.setCurrentLength(length);
+        arrayVisualizer.setUniqueItems(length);
+        arrayManager.setDistribution(Distributions.LINEAR);
+        arrayManager.setShuffleSingle(shuffle);
+
+        int[] array = arrayVisualizer.getArray();
+        arrayManager.shuffleArray(array, length, arrayVisualizer);
+        return Arrays.copyOf(array, length);
+    }
+
+    public static boolean isSorted(int[] array, int length) {
+        for (int i = 1; i < length; i++) {
+            if (array[i - 1] > array[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,172 @@
+package benchmarks;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import main.ArrayVisualizer;
+import sorts.insert.InsertionSort;
+import utils.Shuffles;
+
+/**
+ * JIT-warm timings of the core routines in {@code sorts.templates}.
+ *
+ * Every invocation copies the prepared input into the work array and sorts it, so the time of
+ * {@link #copyOnly()} should be subtracted from the others when comparing small lengths.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TemplateBenchmark {
+    @Param({"RANDOM", "REVERSE", "ALMOST", "FINAL_MERGE"})
+    public String shuffle;
+
+    @Param({"1024", "16384", "262144"})
+    public int length;
+
+    private ArrayVisualizer arrayVisualizer;
+    private int[] input;
+    private int[] work;
+    private int[] merged;
+
+    private TemplateDrivers.Grail grail;
+    private TemplateDrivers.PDQ pdq;
+    private TemplateDrivers.Quad quad;
+    private TemplateDrivers.Kota kota;
+    private TemplateDrivers.Heap heap;
+    private TemplateDrivers.KWayMerge kWayMerge;
+    private InsertionSort insertionSort;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.arrayVisualizer = HeadlessContext.get();
+        this.input = HeadlessContext.createInput(Shuffles.valueOf(this.shuffle), this.length);
+        this.work = new int[this.length];
+        this.merged = new int[this.length];
+
+        this.grail = new TemplateDrivers.Grail(this.arrayVisualizer);
+        this.pdq = new TemplateDrivers.PDQ(this.arrayVisualizer);
+        this.quad = new TemplateDrivers.Quad(this.arrayVisualizer);
+        this.kota = new TemplateDrivers.Kota(this.arrayVisualizer);
+        this.heap = new TemplateDrivers.Heap(this.arrayVisualizer);
+        this.insertionSort = new InsertionSort(this.arrayVisualizer);
+
+        // The merge benchmark takes sorted runs of the input
+        this.kWayMerge = new TemplateDrivers.KWayMerge(this.arrayVisualizer);
+        this.kWayMerge.prepare(this.length, TemplateDrivers.KWayMerge.RUNS);
+    }
+
+    @TearDown(Level.Iteration)
+    public void resetCounters() {
+        this.arrayVisualizer.resetAllStatistics();
+    }
+
+    // A driver that stopped sorting would still report a time, so the last output of every iteration is checked
+    @TearDown(Level.Iteration)
+    public void checkSorted(BenchmarkParams params) {
+        String benchmark = params.getBenchmark();
+        if (benchmark.endsWith(".copyOnly")) return;
+
+        int[] output = benchmark.endsWith(".kWayMerge") ? this.merged : this.work;
+        if (!HeadlessContext.isSorted(output, this.length)) {
+            throw new IllegalStateException(benchmark + " left the array out of order (shuffle " + this.shuffle + ", length " + this.length + ")");
+        }
+    }
+
+    private int[] fresh() {
+        System.arraycopy(this.input, 0, this.work, 0, this.length);
+        return this.work;
+    }
+
+    @Benchmark
+    public int[] copyOnly() {
+        return this.fresh();
+    }
+
+    @Benchmark
+    public int[] grailCommonSort() {
+        int[] array = this.fresh();
+        this.grail.runSort(array, this.length, 0);
+        return array;
+    }
+
+    @Benchmark
+    public int[] pdqLoop() {
+        int[] array = this.fresh();
+        this.pdq.runSort(array, this.length, 0);
+        return array;
+    }
+
+    @Benchmark
+    public int[] quadSort() {
+        int[] array = this.fresh();
+        this.quad.runSort(array, this.length, 0);
+        return array;
+    }
+
+    @Benchmark
+    public int[] timSort() {
+        int[] array = this.fresh();
+        TemplateDrivers.timSort(this.arrayVisualizer, array, this.length);
+        return array;
+    }
+
+    @Benchmark
+    public int[] kotaSort() {
+        int[] array = this.fresh();
+        this.kota.runSort(array, this.length, 0);
+        return array;
+    }
+
+    @Benchmark
+    public int[] wikiSort() {
+        int[] array = this.fresh();
+        TemplateDrivers.wikiSort(this.arrayVisualizer, this.insertionSort, array, this.length);
+        return array;
+    }
+
+    @Benchmark
+    public int[] heapSort() {
+        int[] array = this.fresh();
+        this.heap.runSort(array, this.length, 0);
+        return array;
+    }
+
+    @State(Scope.Thread)
+    public static class SortedRuns {
+        int[] runs;
+
+        @Setup(Level.Trial)
+        public void setup(TemplateBenchmark benchmark) {
+            int length = benchmark.length;
+            this.runs = Arrays.copyOf(benchmark.input, length);
+            int runs = TemplateDrivers.KWayMerge.RUNS;
+            for (int i = 0; i < runs; i++) {
+                Arrays.sort(this.runs, (int) ((long) length * i / runs), (int) ((long) length * (i + 1) / runs));
+            }
+        }
+    }
+
+    @Benchmark
+    public int[] kWayMerge(SortedRuns sortedRuns) {
+        this.kWayMerge.merge(sortedRuns.runs, this.merged);
+        return this.merged;
+    }
+}
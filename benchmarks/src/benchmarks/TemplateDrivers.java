@@ -0,0 +1,131 @@
+package benchmarks;
+
+import java.util.Arrays;
+
+import main.ArrayVisualizer;
+import sorts.insert.InsertionSort;
+import sorts.templates.GrailSorting;
+import sorts.templates.HeapSorting;
+import sorts.templates.KotaSorting;
+import sorts.templates.MultiWayMergeSorting;
+import sorts.templates.PDQSorting;
+import sorts.templates.QuadSorting;
+import sorts.templates.TimSorting;
+import sorts.templates.WikiSorting;
+
+/**
+ * Minimal subclasses that call straight into the protected routines of {@code sorts.templates},
+ * without the buffer-size prompts and other setup of the sorts built on them.
+ */
+final class TemplateDrivers {
+    private TemplateDrivers() {
+    }
+
+    static final class Grail extends GrailSorting {
+        Grail(ArrayVisualizer arrayVisualizer) {
+            super(arrayVisualizer);
+        }
+
+        @Override
+        public void runSort(int[] array, int length, int bucketCount) {
+            this.grailCommonSort(array, 0, length, null, 0, 0);
+        }
+    }
+
+    static final class PDQ extends PDQSorting {
+        PDQ(ArrayVisualizer arrayVisualizer) {
+            super(arrayVisualizer);
+        }
+
+        @Override
+        public void runSort(int[] array, int length, int bucketCount) {
+            this.pdqLoop(array, 0, length, false, pdqLog(length));
+        }
+    }
+
+    static final class Quad extends QuadSorting {
+        Quad(ArrayVisualizer arrayVisualizer) {
+            super(arrayVisualizer);
+        }
+
+        @Override
+        public void runSort(int[] array, int length, int bucketCount) {
+            this.quadSort(array, 0, length);
+        }
+    }
+
+    // The in-place kotaSort() is unfinished upstream and does not sort reversed input,
+    // so this uses the dynamic-buffer variant.
+    static final class Kota extends KotaSorting {
+        Kota(ArrayVisualizer arrayVisualizer) {
+            super(arrayVisualizer);
+        }
+
+        @Override
+        public void runSort(int[] array, int length, int bucketCount) {
+            this.kotaSortDynamicBuf(array, 0, length);
+        }
+    }
+
+    static final class Heap extends HeapSorting {
+        Heap(ArrayVisualizer arrayVisualizer) {
+            super(arrayVisualizer);
+        }
+
+        @Override
+        public void runSort(int[] array, int length, int bucketCount) {
+            this.heapSort(array, 0, length, 0, true);
+        }
+    }
+
+    /**
+     * Merges {@code runs} consecutive sorted runs of the source into the destination.
+     */
+    static final class KWayMerge extends MultiWayMergeSorting {
+        static final int RUNS = 16;
+
+        private int[] heap, pa, pb;
+
+        KWayMerge(ArrayVisualizer arrayVisualizer) {
+            super(arrayVisualizer);
+        }
+
+        void prepare(int length, int runs) {
+            this.heap = new int[runs];
+            this.pa = new int[runs];
+            this.pb = new int[runs];
+            for (int i = 0; i < runs; i++) {
+                this.pb[i] = (int) ((long) length * (i + 1) / runs);
+            }
+        }
+
+        void merge(int[] src, int[] dest) {
+            int runs = this.heap.length;
+            for (int i = 0; i < runs; i++) {
+                this.pa[i] = i == 0 ? 0 : this.pb[i - 1];
+            }
+            this.kWayMerge(src, dest, this.heap, this.pa, this.pb, runs, true);
+        }
+
+        // Sorts RUNS runs of the array one by one and merges them, which makes a complete sort out of the merge
+        @Override
+        public void runSort(int[] array, int length, int bucketCount) {
+            this.prepare(length, RUNS);
+            for (int i = 0; i < RUNS; i++) {
+                Arrays.sort(array, i == 0 ? 0 : this.pb[i - 1], this.pb[i]);
+            }
+
+            int[] merged = new int[length];
+            this.merge(array, merged);
+            System.arraycopy(merged, 0, array, 0, length);
+        }
+    }
+
+    static void timSort(ArrayVisualizer arrayVisualizer, int[] array, int length) {
+        TimSorting.sort(new TimSorting(array, length, arrayVisualizer), array, length);
+    }
+
+    static void wikiSort(ArrayVisualizer arrayVisualizer, InsertionSort insertionSort, int[] array, int length) {
+        WikiSorting.sort(new WikiSorting(insertionSort, arrayVisualizer, 0), array, length);
+    }
+}
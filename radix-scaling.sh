@@ -0,0 +1,28 @@
+#!/bin/bash
+# Regression check for the cost of Writes.mockWrite: times the radix sorts that push into
+# bucket ArrayLists at growing lengths and fails if the time per element grows with the length
+# (as it did when every mock write allocated an array the size of the bucket).
+#   ./radix-scaling.sh [sorts] [lengths]
+SORTS=${1:-LSDRadixSort,MSDRadixSort}
+LENGTHS=${2:-4096,16384,65536,262144}
+java -cp bin:lib/classgraph-4.8.47.jar:cache main.ArrayVisualizer --headless --instrumentation=COUNTING \
+    --sorts=$SORTS --lengths=$LENGTHS --runs=3 | awk -F, '
+    NR == 1 { next }
+    $15 != "true" { print "unsorted: " $0; bad = 1; next }
+    {
+        key = $1 SUBSEP $5
+        if (!(key in best) || $13 < best[key]) best[key] = $13
+        if (!($1 in minLen) || $5 < minLen[$1]) minLen[$1] = $5
+        if (!($1 in maxLen) || $5 > maxLen[$1]) maxLen[$1] = $5
+    }
+    END {
+        for (sort in minLen) {
+            small = best[sort, minLen[sort]] / minLen[sort]
+            large = best[sort, maxLen[sort]] / maxLen[sort]
+            if (small <= 0) small = 1e-6
+            ratio = large / small
+            printf "%s: %.4f us/element at %d, %.4f us/element at %d (x%.1f)\n", sort, small * 1000, minLen[sort], large * 1000, maxLen[sort], ratio
+            if (ratio > 4) { print sort " does not scale linearly"; bad = 1 }
+        }
+        exit bad
+    }'
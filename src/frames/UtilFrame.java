@@ -22,6 +22,7 @@ import prompts.SortPrompt;
 import prompts.ViewPrompt;
 import utils.Delays;
 import utils.Highlights;
+import utils.RandomSource;
 import utils.Sounds;
 import utils.Timer;
 
@@ -108,6 +109,7 @@ final public class UtilFrame extends javax.swing.JFrame {
         this.jCheckBox2 = new javax.swing.JCheckBox();
         this.jButton4 = new javax.swing.JButton();
         this.jButton7 = new javax.swing.JButton();
+        this.jButton8 = new javax.swing.JButton();
         this.jCheckBox3 = new javax.swing.JCheckBox();
         this.jCheckBox4 = new javax.swing.JCheckBox();
         this.jButton5 = new javax.swing.JButton();
@@ -174,6 +176,14 @@ final public class UtilFrame extends javax.swing.JFrame {
             }
         });
 
+        jButton8.setText("Set Seed");
+        jButton8.addActionListener(new java.awt.event.ActionListener() {
+            @Override
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                jButton8ActionPerformed();
+            }
+        });
+
         jButton4.setText("Cancel Delays");
         jButton4.addActionListener(new java.awt.event.ActionListener() {
             @Override
@@ -329,6 +339,7 @@ final public class UtilFrame extends javax.swing.JFrame {
                                                         .addComponent(this.jButton6, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
                                                         .addComponent(this.jButton5, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
                                                         .addComponent(this.jButton4, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
+                                                        .addComponent(this.jButton8, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
                                                         .addComponent(this.jButton3, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
                                                         .addComponent(this.jButton2, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
                                                         .addComponent(this.jButton1, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
@@ -352,6 +363,8 @@ final public class UtilFrame extends javax.swing.JFrame {
                         .addComponent(this.jCheckBox9)
                         .addGap(7, 7, 7)
                         .addComponent(this.jButton3)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(this.jButton8)
                         .addGap(12, 12, 12)
                         .addComponent(this.jButton1)
                         .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
@@ -454,6 +467,29 @@ final public class UtilFrame extends javax.swing.JFrame {
         }
     }//GEN-LAST:event_jButton3ActionPerformed
 
+    private void jButton8ActionPerformed() {//GEN-FIRST:event_jButton8ActionPerformed
+        RandomSource randomSource = ArrayVisualizer.getRandomSource();
+        boolean showPrompt = true;
+        while (showPrompt) {
+            try {
+                String userInput = JOptionPane.showInputDialog(null, "Seed for the following runs (leave empty to use a new one every run)",
+                                                               randomSource.seedFixed() ? String.valueOf(randomSource.getFixedSeed()) : "");
+                if (userInput == null) {
+                    showPrompt = false;
+                } else if (userInput.trim().isEmpty()) {
+                    randomSource.clearSeed();
+                    showPrompt = false;
+                } else {
+                    randomSource.setSeed(Long.parseLong(userInput.trim()));
+                    showPrompt = false;
+                }
+            } catch (NumberFormatException e) {
+                showPrompt = true;
+                JOptionPane.showMessageDialog(null, "Not a whole number! (" + e.getMessage() + ")", "Error", JOptionPane.ERROR_MESSAGE);
+            }
+        }
+    }//GEN-LAST:event_jButton8ActionPerformed
+
     private void jCheckBox1ActionPerformed() {//GEN-FIRST:event_jCheckBox2ActionPerformed
         ArrayVisualizer.toggleShuffleAnimation(jCheckBox1.isSelected());
     }//GEN-LAST:event_jCheckBox1ActionPerformed
@@ -606,6 +642,7 @@ final public class UtilFrame extends javax.swing.JFrame {
     private javax.swing.JButton jButton5;
     private javax.swing.JButton jButton6;
     private javax.swing.JButton jButton7;
+    private javax.swing.JButton jButton8;
     private javax.swing.JCheckBox jCheckBox1;
     private javax.swing.JCheckBox jCheckBox2;
     private javax.swing.JCheckBox jCheckBox3;
@@ -4,8 +4,11 @@ import java.util.Arrays;
 
 import panes.JErrorPane;
 import utils.Delays;
+import utils.DirtyRegions;
+import utils.DisorderMetrics;
 import utils.Distributions;
 import utils.Highlights;
+import utils.RandomSource;
 import utils.ShuffleGraph;
 import utils.ShuffleInfo;
 import utils.Shuffles;
@@ -50,13 +53,16 @@ final public class ArrayManager {
 
     private ArrayVisualizer ArrayVisualizer;
     private Delays Delays;
+    private DirtyRegions DirtyRegions;
+    private DisorderMetrics DisorderMetrics;
     private Highlights Highlights;
     private ShuffleGraph shuffle;
     private Distributions distribution;
+    private RandomSource RandomSource;
     private Writes Writes;
 
-    public ArrayManager(ArrayVisualizer arrayVisualizer) {
-        this.ArrayVisualizer = arrayVisualizer;
+    public ArrayManager(SortContext context) {
+        this.ArrayVisualizer = context.getArrayVisualizer();
 
         this.shuffle = ShuffleGraph.single(Shuffles.RANDOM);
         this.distribution = Distributions.LINEAR;
@@ -65,9 +71,12 @@ final public class ArrayManager {
 
         hadDistributionAllocationError = false;
 
-        this.Delays = ArrayVisualizer.getDelays();
-        this.Highlights = ArrayVisualizer.getHighlights();
-        this.Writes = ArrayVisualizer.getWrites();
+        this.Delays = context.getDelays();
+        this.DirtyRegions = context.getDirtyRegions();
+        this.DisorderMetrics = context.getDisorderMetrics();
+        this.Highlights = context.getHighlights();
+        this.RandomSource = context.getRandomSource();
+        this.Writes = context.getWrites();
 
         this.shuffleIDs = new String[this.shuffleTypes.length];
         for (int i = 0; i < this.shuffleTypes.length; i++)
@@ -112,6 +121,7 @@ final public class ArrayManager {
             temp[i] = (int)(uniqueFactor*(int)(temp[i]/uniqueFactor))+(int)uniqueFactor/2;
 
         System.arraycopy(temp, 0, array, 0, currentLen);
+        DirtyRegions.addAll();
         ArrayVisualizer.updateNow();
     }
 
@@ -187,6 +197,8 @@ final public class ArrayManager {
         }
 
         shuffle.shuffleArray(array, this.ArrayVisualizer);
+        DirtyRegions.addAll();
+        DisorderMetrics.measureInput(array, currentLen);
 
         Delays.setSleepRatio(speed);
 
@@ -239,6 +251,7 @@ final public class ArrayManager {
         Highlights.clearAllMarks();
 
         ArrayVisualizer.setHeading("");
+        RandomSource.startRun();
         if (!ArrayVisualizer.useAntiQSort()) {
             this.shuffleArray(array, currentLen, ArrayVisualizer);
 
@@ -21,6 +21,7 @@ import java.awt.event.InputEvent;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.awt.event.WindowEvent;
+import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
@@ -34,8 +35,8 @@ import java.text.NumberFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
-import java.util.Hashtable;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -54,18 +55,29 @@ import frames.SoundFrame;
 import frames.UtilFrame;
 import main.SortAnalyzer.SortPair;
 import panes.JErrorPane;
+import threads.RunBenchmark;
+import threads.RunExport;
 import threads.RunScriptedSorts;
 import utils.AntiQSort;
 import utils.ArrayFileWriter;
+import utils.Counters;
 import utils.Delays;
+import utils.DirtyRegions;
+import utils.DisorderMetrics;
+import utils.FrameProfiler;
 import utils.Highlights;
+import utils.Instrumentation;
 import utils.MultipleScript;
+import utils.RandomSource;
 import utils.Reads;
+import utils.RenderScheduler;
 import utils.Renderer;
+import utils.SegmentTracker;
 import utils.Sounds;
 import utils.Statistics;
 import utils.Timer;
 import utils.Writes;
+import visuals.Raster;
 import visuals.Visual;
 import visuals.VisualStyles;
 import visuals.bars.BarGraph;
@@ -115,12 +127,17 @@ SOFTWARE.
 
 public final class ArrayVisualizer {
     private static ArrayVisualizer INSTANCE = null;
+    // The context bound to a thread, if any, is used on it and on any threads a parallel sort starts from it
+    static final InheritableThreadLocal<SortContext> THREAD_CONTEXT = new InheritableThreadLocal<>();
 
     private enum StatisticType {
         LINE_BREAK,
         SORT_IDENTITY,
         ARRAY_LENGTH,
         FRAMERATE,
+        UPDATES,
+        PROFILE,
+        PHASES,
         SORT_DELAY,
         VISUAL_TIME,
         EST_SORT_TIME,
@@ -131,6 +148,10 @@ public final class ArrayVisualizer {
         AUX_WRITE,
         AUX_ALLOC,
         SEGMENTS,
+        INVERSIONS,
+        INPUT_LIS,
+        INPUT_REM,
+        INPUT_OSC,
         RECURSIONS,
         REC_DEPTH;
 
@@ -139,6 +160,9 @@ public final class ArrayVisualizer {
             put("sort",       SORT_IDENTITY);
             put("length",     ARRAY_LENGTH);
             put("fps",        FRAMERATE);
+            put("updates",    UPDATES);
+            put("profile",    PROFILE);
+            put("phases",     PHASES);
             put("delay",      SORT_DELAY);
             put("vtime",      VISUAL_TIME);
             put("stime",      EST_SORT_TIME);
@@ -149,6 +173,10 @@ public final class ArrayVisualizer {
             put("waux",       AUX_WRITE);
             put("auxlen",     AUX_ALLOC);
             put("segments",   SEGMENTS);
+            put("inversions", INVERSIONS);
+            put("lis",        INPUT_LIS);
+            put("rem",        INPUT_REM);
+            put("osc",        INPUT_OSC);
             put("recursions", RECURSIONS);
             put("depth",      REC_DEPTH);
         }});
@@ -161,12 +189,10 @@ public final class ArrayVisualizer {
 
     final private Properties buildInfo;
 
-    final int[] array;
     final int[] validateArray;
     final int[] stabilityTable;
     final int[] indexTable;
-    final ArrayList<int[]> arrays;
-    private final StatisticType[] statsConfig;
+    private StatisticType[] statsConfig;
 
     private SortPair[] AllSorts; // First row of Comparison/DistributionSorts arrays consists of class names
     private SortPair[] ComparisonSorts; // First row of Comparison/DistributionSorts arrays consists of class names
@@ -174,10 +200,8 @@ public final class ArrayVisualizer {
     private String[] InvalidSorts;
     private String[] sortSuggestions;
 
-    private volatile int sortLength;
-    private volatile int uniqueItems;
+    private final SortContext mainContext;
 
-    private ArrayManager ArrayManager;
     private SortAnalyzer SortAnalyzer;
 
     private UtilFrame UtilFrame;
@@ -233,21 +257,19 @@ public final class ArrayVisualizer {
     private volatile int cw;
 
     private Image img;
+    private Raster raster;
     private Graphics2D mainRender;
     private Graphics2D extraRender;
 
-    private Delays Delays;
-    private Highlights Highlights;
     private MultipleScript MultipleScript;
-    private Reads Reads;
     private Renderer Renderer;
     private Sounds Sounds;
-    private Timer Timer;
     private VisualStyles VisualStyles;
-    private Writes Writes;
     private AntiQSort AntiQSort;
 
-    private volatile int updateVisualsForced;
+    private final RenderScheduler RenderScheduler;
+    private final FrameProfiler FrameProfiler;
+    private final SegmentTracker SegmentTracker;
     public  volatile boolean benchmarking;
     public  volatile static boolean doRSS = false;
 
@@ -256,128 +278,25 @@ public final class ArrayVisualizer {
     private volatile boolean hidden;
     private volatile boolean frameSkipped;
 
+    private final boolean headless;
+
     public ArrayVisualizer() {
+        this(false);
+    }
+
+    /**
+     * @param headless If true, only the sorting core (array, {@link Reads}, {@link Writes}, {@link Timer},
+     *                 {@link ArrayManager} and {@link SortAnalyzer}) is set up. No windows, frames, synthesizer
+     *                 or visuals thread are created, so this works on machines without a display.
+     */
+    public ArrayVisualizer(boolean headless) {
         if (INSTANCE != null) {
             throw new IllegalStateException("Cannot create more than one ArrayVisualizer");
         }
         INSTANCE = this;
+        this.headless = headless;
 
-        try {
-            UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        UIManager.getLookAndFeelDefaults().put("Slider.paintValue", Boolean.FALSE); // GTK PLAF fix
-
-        this.window = new JFrame();
-        this.window.addKeyListener(new KeyListener() {
-            @Override
-            public void keyTyped(KeyEvent e) {
-            }
-            @Override
-            public void keyPressed(KeyEvent e) {
-                if (e.getKeyCode() == KeyEvent.VK_K || e.getKeyCode() == KeyEvent.VK_SPACE) {
-                    ArrayVisualizer.this.getDelays().togglePaused();
-                } else if (e.getKeyCode() == KeyEvent.VK_F12) {
-                    System.gc();
-                }
-            }
-            @Override
-            public void keyReleased(KeyEvent e) {
-            }
-        });
-        this.window.setDropTarget(new DropTarget() {
-            @SuppressWarnings("unchecked")
-            public synchronized void drop(DropTargetDropEvent e) {
-                try {
-                    e.acceptDrop(DnDConstants.ACTION_COPY);
-                    List<File> droppedFiles = (List<File>)e.getTransferable().getTransferData(DataFlavor.javaFileListFlavor);
-                    int success = 0;
-                    for (File file : droppedFiles) {
-                        if (ArrayVisualizer.this.SortAnalyzer.importSort(file, false)) {
-                            success++;
-                        }
-                    }
-                    ArrayVisualizer.this.SortAnalyzer.sortSorts();
-                    ArrayVisualizer.this.refreshSorts();
-                    if (success == 0) {
-                        JErrorPane.invokeCustomErrorMessage("Failed to import all " + droppedFiles.size() + " sorts");
-                    } else {
-                        String message = "Successfully imported " + success + " sorts";
-                        if (success < droppedFiles.size()) {
-                            message += " and failed to import " + (droppedFiles.size() - success);
-                        }
-                        JOptionPane.showMessageDialog(null, message, "Import Sorts", JOptionPane.INFORMATION_MESSAGE);
-                    }
-                } catch (Exception ex) {
-                    ex.printStackTrace();
-                }
-            }
-        });
-
-        KeyboardFocusManager.getCurrentKeyboardFocusManager().addKeyEventDispatcher(new KeyEventDispatcher() {
-            @Override
-            public boolean dispatchKeyEvent(KeyEvent e) {
-                if (e.getID() != KeyEvent.KEY_PRESSED)
-                    return false;
-                if (e.getKeyCode() == KeyEvent.VK_O && (e.getModifiersEx() & InputEvent.CTRL_DOWN_MASK) != 0) {
-                    if (ArrayVisualizer.this.isActive())
-                        return false;
-                    Thread thread = new Thread("ScriptSortThread") {
-                        @Override
-                        public void run(){
-                            RunScriptedSorts RunScriptedSorts = new RunScriptedSorts(ArrayVisualizer.this);
-                            try {
-                                RunScriptedSorts.runThread(ArrayVisualizer.this.getArray(), 0, 0, false);
-                            } catch (Exception e) {
-                                JErrorPane.invokeErrorMessage(e);
-                            }
-                        }
-                    };
-                    thread.start();
-                    return true;
-                } else if (e.getKeyCode() == KeyEvent.VK_S && (e.getModifiersEx() & InputEvent.CTRL_DOWN_MASK) != 0) {
-                    int[] snapshot = Arrays.copyOfRange(ArrayVisualizer.this.getArray(), 0, ArrayVisualizer.this.getCurrentLength());
-                    FileDialog selected = new SaveArrayDialog();
-                    ArrayFileWriter.writeArray(selected.getFile(), snapshot, snapshot.length);
-                    return true;
-                } else if (e.getKeyCode() == KeyEvent.VK_F5) {
-                    ArrayVisualizer.this.updateNow();
-                    return true;
-                }
-                return false;
-            }
-        });
-
-        this.window.addComponentListener(new ComponentListener() {
-            @Override
-            public void componentResized(ComponentEvent e) {
-                ArrayVisualizer.this.updateNow();
-            }
-            @Override
-            public void componentMoved(ComponentEvent e) {
-                ArrayVisualizer.this.updateNow();
-            }
-            @Override
-            public void componentShown(ComponentEvent e) {
-                ArrayVisualizer.this.hidden = false;
-                if (ArrayVisualizer.this.frameSkipped) {
-                    frameSkipped = false;
-                    ArrayVisualizer.this.updateNow();
-                }
-            }
-            @Override
-            public void componentHidden(ComponentEvent e) {
-                ArrayVisualizer.this.hidden = true;
-            }
-        });
-
-        new Thread("FileDialogInitializer") {
-            @Override
-            public void run() {
-                FileDialog.initialize();
-            }
-        }.start();
+        this.window = this.headless ? null : this.createWindow();
 
         this.buildInfo = new Properties();
         this.buildInfo.setProperty("commitId", "unknown"); // Put default
@@ -393,98 +312,9 @@ public final class ArrayVisualizer {
         this.MIN_ARRAY_VAL = 2;
         this.MAX_ARRAY_VAL = (int)Math.pow(2, MAX_LENGTH_POWER);
 
-        int[] array;
-        try {
-            array = new int[this.MAX_ARRAY_VAL];
-        } catch (OutOfMemoryError e) {
-            JErrorPane.invokeCustomErrorMessage("Failed to allocate main array. The program will now exit.");
-            System.exit(1);
-            array = null;
-        }
-        this.array = array;
-
-        this.sortLength = this.MAX_ARRAY_VAL;
-
-        this.arrays = new ArrayList<>();
-        this.arrays.add(this.array);
-
         this.fontSelection = "Times New Roman";
         this.fontSelectionScale = 25;
-        List<StatisticType> statsInfoList = new ArrayList<>();
-        Throwable statsLoadException = null;
-        while (true) {
-            try (Scanner statsScanner = new Scanner(new File("stats-config.txt"))) {
-                while (statsScanner.hasNextLine()) {
-                    String line = statsScanner.nextLine().trim();
-                    if (line.length() > 0 && line.charAt(0) == '#') continue;
-                    if (line.startsWith("FONT:")) {
-                        String font = line.substring(5);
-                        int starIndex;
-                        if ((starIndex = font.indexOf('*')) != -1) {
-                            fontSelectionScale = Double.parseDouble(font.substring(starIndex + 1).trim());
-                            font = font.substring(0, starIndex);
-                        }
-                        fontSelection = font.trim();
-                        continue;
-                    }
-                    StatisticType type = StatisticType.CONFIG_KEYS.get(line.toLowerCase());
-                    if (type == null) {
-                        System.err.println("Unknown statistic type: " + type);
-                        continue;
-                    }
-                    statsInfoList.add(type);
-                }
-            } catch (FileNotFoundException e) {
-                try (InputStream in = getClass().getResourceAsStream("/stats-config.txt")) {
-                    try (OutputStream out = new FileOutputStream("stats-config.txt")) {
-                        byte[] buf = new byte[8192];
-                        int length;
-                        while ((length = in.read(buf)) > 0) {
-                            out.write(buf, 0, length);
-                        }
-                    } catch (Exception e2) {
-                        statsLoadException = e2;
-                    }
-                } catch (Exception e2) {
-                    statsLoadException = e2;
-                }
-                continue;
-            } catch (Exception e) {
-                statsLoadException = e;
-            }
-            break;
-        }
-        if (statsLoadException != null) {
-            JErrorPane.invokeErrorMessage(statsLoadException, "ArrayVisualizer");
-            JOptionPane.showMessageDialog(
-                this.window,
-                "Unable to load stats-config, using default config",
-                "ArrayVisualizer",
-                JOptionPane.WARNING_MESSAGE
-            );
-            statsConfig = new StatisticType[] {
-                StatisticType.SORT_IDENTITY,
-                StatisticType.ARRAY_LENGTH,
-                    StatisticType.LINE_BREAK,
-                StatisticType.SORT_DELAY,
-                StatisticType.VISUAL_TIME,
-                StatisticType.EST_SORT_TIME,
-                    StatisticType.LINE_BREAK,
-                StatisticType.COMPARISONS,
-                StatisticType.SWAPS,
-                StatisticType.REVERSALS,
-                    StatisticType.LINE_BREAK,
-                StatisticType.MAIN_WRITE,
-                StatisticType.AUX_WRITE,
-                StatisticType.AUX_ALLOC,
-                StatisticType.SEGMENTS
-            };
-        } else {
-            statsConfig = statsInfoList.toArray(new StatisticType[statsInfoList.size()]);
-        }
-
-        this.sortLength = Math.min(2048, this.MAX_ARRAY_VAL);
-        this.uniqueItems = this.sortLength;
+        this.statsConfig = this.headless ? new StatisticType[0] : this.loadStatsConfig();
 
         this.formatter = (DecimalFormat) NumberFormat.getInstance(Locale.US);
         this.symbols = this.formatter.getDecimalFormatSymbols();
@@ -492,21 +322,21 @@ public final class ArrayVisualizer {
         this.symbols.setGroupingSeparator(',');
         this.formatter.setDecimalFormatSymbols(this.symbols);
 
-        this.Highlights = new Highlights(this, this.MAX_ARRAY_VAL);
-        this.Sounds = new Sounds(this.array, this);
-        this.Delays = new Delays(this);
-        this.Timer = new Timer(this);
-        this.Reads = new Reads(this);
-        this.Renderer = new Renderer(this);
-        this.Writes = new Writes(this);
+        this.RenderScheduler = new RenderScheduler(60);
+        this.FrameProfiler = new FrameProfiler();
+        this.SegmentTracker = new SegmentTracker();
+        this.mainContext = new SortContext(this);
+        this.Sounds = new Sounds(this.mainContext.getArray(), this);
         this.AntiQSort = new AntiQSort(this);
 
-        SoundFrame test = new SoundFrame(this.Sounds);
-        test.setVisible(true);
+        if (!this.headless) {
+            this.Renderer = new Renderer(this);
 
-        this.ArrayManager = new ArrayManager(this);
-        this.SortAnalyzer = new SortAnalyzer(this);
+            SoundFrame test = new SoundFrame(this.Sounds);
+            test.setVisible(true);
+        }
 
+        this.SortAnalyzer = new SortAnalyzer(this);
         this.SortAnalyzer.analyzeSorts();
         this.refreshSorts();
 
@@ -542,14 +372,18 @@ public final class ArrayVisualizer {
         this.category = "";
         this.heading = "";
         this.extraHeading = "";
-        this.typeFace = new Font(fontSelection, Font.PLAIN, (int) (this.getWindowRatio() * fontSelectionScale));
 
         this.statSnapshot = new Statistics(this);
+        this.trackShownStatistics();
 
-        this.UtilFrame = new UtilFrame(this.array, this);
-        this.ArrayFrame = new ArrayFrame(this.array, this);
+        if (!this.headless) {
+            this.typeFace = new Font(fontSelection, Font.PLAIN, (int) (this.getWindowRatio() * fontSelectionScale));
 
-        this.UtilFrame.reposition(this.ArrayFrame);
+            this.UtilFrame = new UtilFrame(this.mainContext.getArray(), this);
+            this.ArrayFrame = new ArrayFrame(this.mainContext.getArray(), this);
+
+            this.UtilFrame.reposition(this.ArrayFrame);
+        }
 
         this.SHUFFLEANIM = true;
         this.ANALYZE = false;
@@ -570,7 +404,6 @@ public final class ArrayVisualizer {
 
         this.isCanceled = false;
 
-        this.updateVisualsForced = 0;
         this.benchmarking = false;
 
         this.cx = 0;
@@ -578,7 +411,12 @@ public final class ArrayVisualizer {
         this.ch = 0;
         this.cw = 0;
 
-        this.ArrayManager.initializeArray(this.array);
+        this.mainContext.getArrayManager().initializeArray(this.mainContext.getArray());
+
+        if (this.headless) {
+            this.hidden = true;
+            return;
+        }
 
         //TODO: Overhaul visual code to properly reflect Swing (JavaFX?) style and conventions
         this.toggleVisualUpdates(false);
@@ -595,71 +433,344 @@ public final class ArrayVisualizer {
                 background.setColor(Color.BLACK);
                 int coltmp = 255;
 
-                ArrayVisualizer.this.visualClasses = new Visual[15];
-
-                ArrayVisualizer.this.visualClasses[0]  = new          BarGraph(ArrayVisualizer.this);
-                ArrayVisualizer.this.visualClasses[1]  = new           Rainbow(ArrayVisualizer.this);
-                ArrayVisualizer.this.visualClasses[2]  = new DisparityBarGraph(ArrayVisualizer.this);
-                ArrayVisualizer.this.visualClasses[3]  = new       ColorCircle(ArrayVisualizer.this);
-                ArrayVisualizer.this.visualClasses[4]  = new   DisparityCircle(ArrayVisualizer.this);
-                ArrayVisualizer.this.visualClasses[5]  = new   DisparityChords(ArrayVisualizer.this);
-                ArrayVisualizer.this.visualClasses[6]  = new     DisparityDots(ArrayVisualizer.this);
-                ArrayVisualizer.this.visualClasses[7]  = new       ScatterPlot(ArrayVisualizer.this);
-                ArrayVisualizer.this.visualClasses[8]  = new          WaveDots(ArrayVisualizer.this);
-                ArrayVisualizer.this.visualClasses[9]  = new       CustomImage(ArrayVisualizer.this);
-                ArrayVisualizer.this.visualClasses[10] = new          SineWave(ArrayVisualizer.this);
-                ArrayVisualizer.this.visualClasses[11] = new         HoopStack(ArrayVisualizer.this);
-                ArrayVisualizer.this.visualClasses[12] = new         PixelMesh(ArrayVisualizer.this);
-                ArrayVisualizer.this.visualClasses[13] = new            Spiral(ArrayVisualizer.this);
-                ArrayVisualizer.this.visualClasses[14] = new        SpiralDots(ArrayVisualizer.this);
+                ArrayVisualizer.this.createVisuals();
 
                 while (ArrayVisualizer.this.visualsEnabled) {
-                    if (ArrayVisualizer.this.updateVisualsForced == 0) {
-                        try {
-                            synchronized (ArrayVisualizer.this) {
-                                ArrayVisualizer.this.wait();
-                            }
-                        } catch (InterruptedException e) {
-                            e.printStackTrace();
-                        }
-                    }
-                    long startTime = System.currentTimeMillis();
+                    if (!ArrayVisualizer.this.RenderScheduler.awaitFrame()) continue;
+
+                    long startTime = System.nanoTime();
                     try {
-                        if (ArrayVisualizer.this.updateVisualsForced > 0) {
-                            ArrayVisualizer.this.updateVisualsForced--;
-                            ArrayVisualizer.this.Renderer.updateVisualsStart(ArrayVisualizer.this);
-                            int[][] arrays = ArrayVisualizer.this.arrays.toArray(new int[][] { });
-                            ArrayVisualizer.this.Renderer.drawVisual(ArrayVisualizer.this.VisualStyles, arrays, ArrayVisualizer.this, ArrayVisualizer.this.Highlights);
-
-                            if (ArrayVisualizer.this.TEXTDRAW) {
-                                ArrayVisualizer.this.statSnapshot.updateStats(ArrayVisualizer.this);
-                                ArrayVisualizer.this.updateFontSize();
-                                ArrayVisualizer.this.drawStats(Color.BLACK, true);
-                                ArrayVisualizer.this.drawStats(Color.WHITE, false);
-                            }
-                            background.drawImage(ArrayVisualizer.this.img, 0, 0, null);
-                            Toolkit.getDefaultToolkit().sync();
-                        }
-                        if (ArrayVisualizer.this.updateVisualsForced > 10000) {
-                            ArrayVisualizer.this.updateVisualsForced = 100;
-                        }
+                        ArrayVisualizer.this.renderFrame();
+
+                        long blitTime = System.nanoTime();
+                        background.drawImage(ArrayVisualizer.this.img, 0, 0, null);
+                        Toolkit.getDefaultToolkit().sync();
+                        ArrayVisualizer.this.FrameProfiler.record(utils.FrameProfiler.Phase.BLIT, System.nanoTime() - blitTime);
                     } catch (Exception e) {
                         e.printStackTrace();
                     }
-                    long endTime = System.currentTimeMillis();
-                    statSnapshot.frameTimeMillis = endTime - startTime;
+                    long endTime = System.nanoTime();
+                    statSnapshot.frameTimeNanos = endTime - startTime;
+                    ArrayVisualizer.this.FrameProfiler.record(utils.FrameProfiler.Phase.FRAME, endTime - startTime);
+                    ArrayVisualizer.this.FrameProfiler.endFrame();
                 }
             }
         };
 
+        // Shows where the render time went once the program closes
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (this.FrameProfiler.getTotalFrames() > 0) {
+                System.out.print(this.FrameProfiler.report());
+            }
+        }, "FrameProfileReport"));
+
         this.Sounds.startAudioThread();
         this.drawWindows();
     }
 
+    private void createVisuals() {
+        this.visualClasses = new Visual[15];
+
+        this.visualClasses[0]  = new          BarGraph(this);
+        this.visualClasses[1]  = new           Rainbow(this);
+        this.visualClasses[2]  = new DisparityBarGraph(this);
+        this.visualClasses[3]  = new       ColorCircle(this);
+        this.visualClasses[4]  = new   DisparityCircle(this);
+        this.visualClasses[5]  = new   DisparityChords(this);
+        this.visualClasses[6]  = new     DisparityDots(this);
+        this.visualClasses[7]  = new       ScatterPlot(this);
+        this.visualClasses[8]  = new          WaveDots(this);
+        this.visualClasses[9]  = new       CustomImage(this);
+        this.visualClasses[10] = new          SineWave(this);
+        this.visualClasses[11] = new         HoopStack(this);
+        this.visualClasses[12] = new         PixelMesh(this);
+        this.visualClasses[13] = new            Spiral(this);
+        this.visualClasses[14] = new        SpiralDots(this);
+    }
+
+    /**
+     * Draws the arrays, and the statistics if they are shown, onto the back buffer. Called by the visuals
+     * thread before each frame is shown, or directly when rendering offscreen.
+     */
+    public void renderFrame() {
+        long startTime = System.nanoTime();
+        this.Renderer.updateVisualsStart(this);
+
+        long visualTime = System.nanoTime();
+        this.FrameProfiler.record(utils.FrameProfiler.Phase.START, visualTime - startTime);
+        int[][] arrays = this.mainContext.getArrays().toArray(new int[][] { });
+        this.Renderer.drawVisual(this.VisualStyles, arrays, this, this.mainContext.getHighlights());
+
+        long statsTime = System.nanoTime();
+        this.FrameProfiler.record(utils.FrameProfiler.Phase.VISUAL, statsTime - visualTime);
+        if (this.TEXTDRAW) {
+            this.statSnapshot.updateStats(this);
+            this.updateFontSize();
+            this.drawStats(Color.BLACK, true);
+            this.drawStats(Color.WHITE, false);
+            this.FrameProfiler.record(utils.FrameProfiler.Phase.STATS, System.nanoTime() - statsTime);
+        }
+    }
+
+    /**
+     * Sets up a headless instance to draw frames of {@code width} x {@code height} pixels into an image
+     * instead of a window. Each call to {@link #renderFrame()} then redraws {@link #getOffscreenImage()}.
+     */
+    public void startOffscreen(int width, int height) {
+        if (!this.headless) {
+            throw new IllegalStateException("Only a headless ArrayVisualizer can render offscreen");
+        }
+        this.cw = width;
+        this.ch = height;
+
+        this.statsConfig = this.loadStatsConfig();
+        this.trackShownStatistics();
+        this.typeFace = new Font(fontSelection, Font.PLAIN, (int) (this.getWindowRatio() * fontSelectionScale));
+        this.VisualStyles = visuals.VisualStyles.BARS;
+
+        this.Renderer = new Renderer(this);
+        utils.Renderer.createRenders(this);
+        this.createVisuals();
+    }
+    public BufferedImage getOffscreenImage() {
+        return this.window == null ? (BufferedImage) this.img : null;
+    }
+
+    // The live inversion count costs the sort something on every write, so it is only kept when shown
+    // Statistics that are costly to keep up to date are only kept while they are shown
+    private void trackShownStatistics() {
+        boolean inversions = false, profile = false, phases = false;
+        for (StatisticType type : this.statsConfig) {
+            if (type == StatisticType.INVERSIONS) inversions = true;
+            if (type == StatisticType.PROFILE)    profile = true;
+            if (type == StatisticType.PHASES)     phases = true;
+        }
+        this.mainContext.getDisorderMetrics().toggleLive(inversions);
+        this.statSnapshot.toggleProfile(profile);
+        this.statSnapshot.togglePhases(phases);
+    }
+
+    private StatisticType[] loadStatsConfig() {
+        List<StatisticType> statsInfoList = new ArrayList<>();
+        Throwable statsLoadException = null;
+        while (true) {
+            try (Scanner statsScanner = new Scanner(new File("stats-config.txt"))) {
+                while (statsScanner.hasNextLine()) {
+                    String line = statsScanner.nextLine().trim();
+                    if (line.length() > 0 && line.charAt(0) == '#') continue;
+                    if (line.startsWith("FONT:")) {
+                        String font = line.substring(5);
+                        int starIndex;
+                        if ((starIndex = font.indexOf('*')) != -1) {
+                            fontSelectionScale = Double.parseDouble(font.substring(starIndex + 1).trim());
+                            font = font.substring(0, starIndex);
+                        }
+                        fontSelection = font.trim();
+                        continue;
+                    }
+                    StatisticType type = StatisticType.CONFIG_KEYS.get(line.toLowerCase());
+                    if (type == null) {
+                        System.err.println("Unknown statistic type: " + type);
+                        continue;
+                    }
+                    statsInfoList.add(type);
+                }
+            } catch (FileNotFoundException e) {
+                try (InputStream in = getClass().getResourceAsStream("/stats-config.txt")) {
+                    try (OutputStream out = new FileOutputStream("stats-config.txt")) {
+                        byte[] buf = new byte[8192];
+                        int length;
+                        while ((length = in.read(buf)) > 0) {
+                            out.write(buf, 0, length);
+                        }
+                    } catch (Exception e2) {
+                        statsLoadException = e2;
+                    }
+                } catch (Exception e2) {
+                    statsLoadException = e2;
+                }
+                continue;
+            } catch (Exception e) {
+                statsLoadException = e;
+            }
+            break;
+        }
+        if (statsLoadException != null) {
+            JErrorPane.invokeErrorMessage(statsLoadException, "ArrayVisualizer");
+            JOptionPane.showMessageDialog(
+                this.window,
+                "Unable to load stats-config, using default config",
+                "ArrayVisualizer",
+                JOptionPane.WARNING_MESSAGE
+            );
+            return new StatisticType[] {
+                StatisticType.SORT_IDENTITY,
+                StatisticType.ARRAY_LENGTH,
+                    StatisticType.LINE_BREAK,
+                StatisticType.SORT_DELAY,
+                StatisticType.VISUAL_TIME,
+                StatisticType.EST_SORT_TIME,
+                    StatisticType.LINE_BREAK,
+                StatisticType.COMPARISONS,
+                StatisticType.SWAPS,
+                StatisticType.REVERSALS,
+                    StatisticType.LINE_BREAK,
+                StatisticType.MAIN_WRITE,
+                StatisticType.AUX_WRITE,
+                StatisticType.AUX_ALLOC,
+                StatisticType.SEGMENTS
+            };
+        } else {
+            return statsInfoList.toArray(new StatisticType[statsInfoList.size()]);
+        }
+    }
+
+    private JFrame createWindow() {
+        try {
+            UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        UIManager.getLookAndFeelDefaults().put("Slider.paintValue", Boolean.FALSE); // GTK PLAF fix
+
+        JFrame window = new JFrame();
+        window.addKeyListener(new KeyListener() {
+            @Override
+            public void keyTyped(KeyEvent e) {
+            }
+            @Override
+            public void keyPressed(KeyEvent e) {
+                if (e.getKeyCode() == KeyEvent.VK_K || e.getKeyCode() == KeyEvent.VK_SPACE) {
+                    ArrayVisualizer.this.getDelays().togglePaused();
+                } else if (e.getKeyCode() == KeyEvent.VK_F12) {
+                    System.gc();
+                }
+            }
+            @Override
+            public void keyReleased(KeyEvent e) {
+            }
+        });
+        window.setDropTarget(new DropTarget() {
+            @SuppressWarnings("unchecked")
+            public synchronized void drop(DropTargetDropEvent e) {
+                try {
+                    e.acceptDrop(DnDConstants.ACTION_COPY);
+                    List<File> droppedFiles = (List<File>)e.getTransferable().getTransferData(DataFlavor.javaFileListFlavor);
+                    int success = 0;
+                    for (File file : droppedFiles) {
+                        if (ArrayVisualizer.this.SortAnalyzer.importSort(file, false)) {
+                            success++;
+                        }
+                    }
+                    ArrayVisualizer.this.SortAnalyzer.sortSorts();
+                    ArrayVisualizer.this.refreshSorts();
+                    if (success == 0) {
+                        JErrorPane.invokeCustomErrorMessage("Failed to import all " + droppedFiles.size() + " sorts");
+                    } else {
+                        String message = "Successfully imported " + success + " sorts";
+                        if (success < droppedFiles.size()) {
+                            message += " and failed to import " + (droppedFiles.size() - success);
+                        }
+                        JOptionPane.showMessageDialog(null, message, "Import Sorts", JOptionPane.INFORMATION_MESSAGE);
+                    }
+                } catch (Exception ex) {
+                    ex.printStackTrace();
+                }
+            }
+        });
+
+        KeyboardFocusManager.getCurrentKeyboardFocusManager().addKeyEventDispatcher(new KeyEventDispatcher() {
+            @Override
+            public boolean dispatchKeyEvent(KeyEvent e) {
+                if (e.getID() != KeyEvent.KEY_PRESSED)
+                    return false;
+                if (e.getKeyCode() == KeyEvent.VK_O && (e.getModifiersEx() & InputEvent.CTRL_DOWN_MASK) != 0) {
+                    if (ArrayVisualizer.this.isActive())
+                        return false;
+                    Thread thread = new Thread("ScriptSortThread") {
+                        @Override
+                        public void run(){
+                            RunScriptedSorts RunScriptedSorts = new RunScriptedSorts(ArrayVisualizer.this);
+                            try {
+                                RunScriptedSorts.runThread(ArrayVisualizer.this.getArray(), 0, 0, false);
+                            } catch (Exception e) {
+                                JErrorPane.invokeErrorMessage(e);
+                            }
+                        }
+                    };
+                    thread.start();
+                    return true;
+                } else if (e.getKeyCode() == KeyEvent.VK_S && (e.getModifiersEx() & InputEvent.CTRL_DOWN_MASK) != 0) {
+                    int[] snapshot = Arrays.copyOfRange(ArrayVisualizer.this.getArray(), 0, ArrayVisualizer.this.getCurrentLength());
+                    FileDialog selected = new SaveArrayDialog();
+                    ArrayFileWriter.writeArray(selected.getFile(), snapshot, snapshot.length);
+                    return true;
+                } else if (e.getKeyCode() == KeyEvent.VK_F5) {
+                    ArrayVisualizer.this.updateNow();
+                    return true;
+                }
+                return false;
+            }
+        });
+
+        window.addComponentListener(new ComponentListener() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                ArrayVisualizer.this.updateNow();
+            }
+            @Override
+            public void componentMoved(ComponentEvent e) {
+                ArrayVisualizer.this.updateNow();
+            }
+            @Override
+            public void componentShown(ComponentEvent e) {
+                ArrayVisualizer.this.hidden = false;
+                if (ArrayVisualizer.this.frameSkipped) {
+                    frameSkipped = false;
+                    ArrayVisualizer.this.updateNow();
+                }
+            }
+            @Override
+            public void componentHidden(ComponentEvent e) {
+                ArrayVisualizer.this.hidden = true;
+            }
+        });
+
+        new Thread("FileDialogInitializer") {
+            @Override
+            public void run() {
+                FileDialog.initialize();
+            }
+        }.start();
+
+        return window;
+    }
+
     public static ArrayVisualizer getInstance() {
         return INSTANCE;
     }
 
+    /**
+     * Creates a context with its own array, counters, timer, delays, highlights and external arrays.
+     * Used to run several sorts at once without them seeing each other's state; call
+     * {@link SortContext#bindToCurrentThread()} on the thread that will use it.
+     */
+    public SortContext createContext() {
+        return new SortContext(this);
+    }
+
+    /**
+     * @return The context bound to the current thread, or the one shown in the window if there is none
+     */
+    public SortContext getContext() {
+        SortContext bound = THREAD_CONTEXT.get();
+        return bound != null ? bound : this.mainContext;
+    }
+
+    public boolean isHeadless() {
+        return this.headless;
+    }
+
     public JFrame getWindow() {
         return window;
     }
@@ -705,6 +816,15 @@ public final class ArrayVisualizer {
                 case FRAMERATE:
                     stat = statSnapshot.getFramerate();
                     break;
+                case UPDATES:
+                    stat = statSnapshot.getUpdatesPerFrame();
+                    break;
+                case PROFILE:
+                    stat = statSnapshot.getFrameProfile();
+                    break;
+                case PHASES:
+                    stat = statSnapshot.getPhaseProfile();
+                    break;
                 case SORT_DELAY:
                     stat = statSnapshot.getSortDelay();
                     break;
@@ -735,6 +855,18 @@ public final class ArrayVisualizer {
                 case SEGMENTS:
                     stat = statSnapshot.getSegments();
                     break;
+                case INVERSIONS:
+                    stat = statSnapshot.getInversions();
+                    break;
+                case INPUT_LIS:
+                    stat = statSnapshot.getInputLIS();
+                    break;
+                case INPUT_REM:
+                    stat = statSnapshot.getInputRem();
+                    break;
+                case INPUT_OSC:
+                    stat = statSnapshot.getInputOsc();
+                    break;
                 case RECURSIONS:
                     stat = statSnapshot.getRecursionCount();
                     break;
@@ -757,10 +889,7 @@ public final class ArrayVisualizer {
             frameSkipped = true;
             return;
         }
-        this.updateVisualsForced += fallback;
-        synchronized (this) {
-            this.notify();
-        }
+        this.RenderScheduler.request(fallback);
     }
 
     /**
@@ -771,7 +900,16 @@ public final class ArrayVisualizer {
     }
 
     public void forceVisualUpdate(int count) {
-        this.updateVisualsForced += count;
+        this.RenderScheduler.request(count);
+    }
+    public RenderScheduler getRenderScheduler() {
+        return this.RenderScheduler;
+    }
+    public FrameProfiler getFrameProfiler() {
+        return this.FrameProfiler;
+    }
+    public SegmentTracker getSegmentTracker() {
+        return this.SegmentTracker;
     }
 
     public boolean enableBenchmarking(boolean enabled) {
@@ -790,15 +928,23 @@ public final class ArrayVisualizer {
             }
         }
         this.benchmarking = enabled;
+        this.setInstrumentationLevel(enabled ? utils.Instrumentation.Level.TIMED : utils.Instrumentation.Level.VISUAL);
         return this.benchmarking;
     }
 
+    public Instrumentation.Level getInstrumentationLevel() {
+        return this.getContext().getInstrumentationLevel();
+    }
+    public void setInstrumentationLevel(Instrumentation.Level level) {
+        this.getContext().setInstrumentationLevel(level);
+    }
+
     public int[] getValidationArray() {
         return this.validateArray;
     }
 
     public int getStabilityValue(int n) {
-        n = Math.max(0, Math.min(n, this.sortLength-1));
+        n = Math.max(0, Math.min(n, this.getCurrentLength()-1));
 
         return this.stabilityTable[n];
     }
@@ -808,13 +954,13 @@ public final class ArrayVisualizer {
     }
 
     public void resetStabilityTable() {
-        for (int i = 0; i < this.sortLength; i++) {
+        for (int i = 0; i < this.getCurrentLength(); i++) {
             this.stabilityTable[i] = i;
         }
     }
 
     public int getIndexValue(int n) {
-        n = Math.max(0, Math.min(n, this.sortLength-1));
+        n = Math.max(0, Math.min(n, this.getCurrentLength()-1));
 
         return this.indexTable[n];
     }
@@ -824,43 +970,60 @@ public final class ArrayVisualizer {
     }
 
     public void setIndexTable() {
-        for (int i = 0; i < this.sortLength; i++) {
+        int[] array = this.getArray();
+        for (int i = 0; i < this.getCurrentLength(); i++) {
             this.indexTable[array[i]] = i;
         }
     }
 
     public void resetIndexTable() {
-        for (int i = 0; i < this.sortLength; i++) {
+        for (int i = 0; i < this.getCurrentLength(); i++) {
             this.indexTable[i] = i;
         }
     }
 
     public boolean isSorted() {
-        return this.statSnapshot.findSegments(this.array, this.sortLength, this.REVERSED)[0] == 1;
+        SortContext context = this.getContext();
+        return this.statSnapshot.findSegments(context.getArray(), context.getCurrentLength(), this.REVERSED)[0] == 1;
     }
 
     public int[] getArray() {
-        return this.array;
+        return this.getContext().getArray();
     }
 
     public ArrayList<int[]> getArrays() {
-        return this.arrays;
+        return this.getContext().getArrays();
     }
 
     public ArrayManager getArrayManager() {
-        return this.ArrayManager;
+        return this.getContext().getArrayManager();
     }
     public SortAnalyzer getSortAnalyzer() {
         return this.SortAnalyzer;
     }
+    public Counters getCounters() {
+        return this.getContext().getCounters();
+    }
     public Delays getDelays() {
-        return this.Delays;
+        return this.getContext().getDelays();
+    }
+    public DirtyRegions getDirtyRegions() {
+        return this.getContext().getDirtyRegions();
+    }
+    public DisorderMetrics getDisorderMetrics() {
+        return this.getContext().getDisorderMetrics();
     }
     public Highlights getHighlights() {
-        return this.Highlights;
+        return this.getContext().getHighlights();
+    }
+    public Instrumentation getInstrumentation() {
+        return this.getContext().getInstrumentation();
+    }
+    public RandomSource getRandomSource() {
+        return this.getContext().getRandomSource();
     }
     public Reads getReads() {
-        return this.Reads;
+        return this.getContext().getReads();
     }
     public Renderer getRender() {
         return this.Renderer;
@@ -869,13 +1032,13 @@ public final class ArrayVisualizer {
         return this.Sounds;
     }
     public Timer getTimer() {
-        return this.Timer;
+        return this.getContext().getTimer();
     }
     public VisualStyles getVisualStyles() {
         return this.VisualStyles;
     }
     public Writes getWrites() {
-        return this.Writes;
+        return this.getContext().getWrites();
     }
     public MultipleScript getScriptParser() {
         return this.MultipleScript;
@@ -921,9 +1084,7 @@ public final class ArrayVisualizer {
     }
 
     public void resetAllStatistics() {
-        this.Reads.resetStatistics();
-        this.Writes.resetStatistics();
-        this.Timer.manualSetTime(0);
+        this.getContext().resetAllStatistics();
     }
 
     public boolean isActive() {
@@ -973,12 +1134,13 @@ public final class ArrayVisualizer {
         return this.ANTIQSORT;
     }
     public void initAntiQSort() {
-        this.AntiQSort.beginSort(this.array, this.sortLength);
+        this.AntiQSort.beginSort(this.getArray(), this.getCurrentLength());
     }
     public void finishAntiQSort(String name) {
         int[] result = this.AntiQSort.getResult();
         this.AntiQSort.hideResult();
-        String outName = "antiqsort_" + name + "_" + this.sortLength;
+        int sortLength = this.getCurrentLength();
+        String outName = "antiqsort_" + name + "_" + sortLength;
         if (!ArrayFileWriter.writeArray(outName, result, sortLength)) {
             return;
         }
@@ -1001,27 +1163,21 @@ public final class ArrayVisualizer {
 
     // These next five methods should be part of ArrayManager
     public int getCurrentLength() {
-        return this.sortLength;
+        return this.getContext().getCurrentLength();
     }
     public void setCurrentLength(int newLength) {
-        this.sortLength = newLength;
-        this.Delays.setSleepRatio(this.sortLength/1024d);
+        this.getContext().setCurrentLength(newLength);
     }
 
     public void setUniqueItems(int newCount) {
-        int length = this.getCurrentLength();
-        if (newCount <= length) {
-            this.uniqueItems = newCount;
-        } else {
-            System.out.println("Too many unique items!");
-        }
+        this.getContext().setUniqueItems(newCount);
     }
     public int getUniqueItems() {
-        return uniqueItems;
+        return this.getContext().getUniqueItems();
     }
 
     public int getLogBaseNOfLength(int base) {
-        return (int) (Math.log(this.sortLength) / Math.log(base));
+        return (int) (Math.log(this.getCurrentLength()) / Math.log(base));
     }
     public int getLogBaseTwoOfLength() {
         return getLogBaseNOfLength(2);
@@ -1061,11 +1217,12 @@ public final class ArrayVisualizer {
         return this.window;
     }
 
+    // Offscreen, the size set by startOffscreen stays as it is
     public void setWindowHeight() {
-        this.ch = this.window.getHeight();
+        if (this.window != null) this.ch = this.window.getHeight();
     }
     public void setWindowWidth() {
-        this.cw = this.window.getWidth();
+        if (this.window != null) this.cw = this.window.getWidth();
     }
 
     // TODO:
@@ -1073,16 +1230,16 @@ public final class ArrayVisualizer {
     // AND WINDOW HEIGHT/WIDTH/X/Y SHOULD CORRESPOND TO WINDOW FIELD
 
     public int currentHeight() {
-        return this.window.getHeight();
+        return this.window == null ? this.ch : this.window.getHeight();
     }
     public int currentWidth() {
-        return this.window.getWidth();
+        return this.window == null ? this.cw : this.window.getWidth();
     }
     public int currentX() {
-        return this.window.getX();
+        return this.window == null ? this.cx : this.window.getX();
     }
     public int currentY() {
-        return this.window.getY();
+        return this.window == null ? this.cy : this.window.getY();
     }
 
     public int windowHeight() {
@@ -1119,7 +1276,17 @@ public final class ArrayVisualizer {
     }
 
     public void createVolatileImage() {
-        this.img = this.window.getGraphicsConfiguration().createCompatibleVolatileImage(this.cw, this.ch);
+        if (this.window == null) {
+            this.img = new BufferedImage(this.cw, this.ch, BufferedImage.TYPE_INT_RGB);
+        } else {
+            this.img = this.window.getGraphicsConfiguration().createCompatibleVolatileImage(this.cw, this.ch);
+        }
+        if (this.raster == null || this.raster.getWidth() != this.cw || this.raster.getHeight() != this.ch) {
+            this.raster = new Raster(this.cw, this.ch);
+        }
+    }
+    public Raster getRaster() {
+        return this.raster;
     }
     public Stroke getThickStroke() {
         return new BasicStroke((float) (5 * this.getWindowRatio()));
@@ -1183,19 +1350,26 @@ public final class ArrayVisualizer {
     }
 
     public int halfCircle() {
-        return (this.sortLength / 2);
+        return (this.getCurrentLength() / 2);
     }
 
     //TODO: This method is *way* too long. Break it apart.
     public synchronized void verifySortAndSweep() {
-        this.Highlights.toggleFancyFinish(true);
-        this.Highlights.resetFancyFinish();
+        SortContext context = this.getContext();
+        Delays Delays = context.getDelays();
+        Highlights Highlights = context.getHighlights();
+        Reads Reads = context.getReads();
+        int[] array = context.getArray();
+        int sortLength = context.getCurrentLength();
+
+        Highlights.toggleFancyFinish(true);
+        Highlights.resetFancyFinish();
 
-        this.Delays.setSleepRatio(1);
+        Delays.setSleepRatio(1);
 
-        double sleepRatio = 256d/this.sortLength;
-        long tempComps = this.Reads.getComparisons();
-        this.Reads.setComparisons(0);
+        double sleepRatio = 256d/sortLength;
+        long tempComps = Reads.getComparisons();
+        Reads.setComparisons(0);
 
         String temp = this.heading;
         this.heading = "Verifying sort...";
@@ -1209,122 +1383,130 @@ public final class ArrayVisualizer {
         boolean validateFailed = false;
         int invalidateIdx = 0;
 
-        for (int i = 0; i < this.sortLength + this.getLogBaseTwoOfLength(); i++) {
-            if (i < this.sortLength) this.Highlights.markArray(1, i);
-            this.Highlights.incrementFancyFinishPosition();
+        for (int i = 0; i < sortLength + this.getLogBaseTwoOfLength(); i++) {
+            if (i < sortLength) Highlights.markArray(1, i);
+            Highlights.incrementFancyFinishPosition();
 
-            if (i < this.sortLength - 1) {
-                if (validate && !validateFailed && this.Reads.compareOriginalValues(this.array[i], this.validateArray[i]) != 0) {
+            if (i < sortLength - 1) {
+                if (validate && !validateFailed && Reads.compareOriginalValues(array[i], this.validateArray[i]) != 0) {
                     validateFailed = true;
                     invalidateIdx = i;
                 }
-                if (stable && this.Reads.compareOriginalValues(this.array[i], this.array[i + 1]) == cmpVal) {
+                if (stable && Reads.compareOriginalValues(array[i], array[i + 1]) == cmpVal) {
                     stable = false;
                     unstableIdx = i;
                 }
-                if (this.Reads.compareValues(this.array[i], this.array[i + 1]) == cmpVal) {
-                    this.Highlights.clearMark(1);
+                if (Reads.compareValues(array[i], array[i + 1]) == cmpVal) {
+                    Highlights.clearMark(1);
 
                     boolean tempSound = this.Sounds.isEnabled();
                     this.Sounds.toggleSound(false);
-                    this.Highlights.toggleFancyFinish(false);
+                    Highlights.toggleFancyFinish(false);
 
-                    for (int j = i + 1; j < this.sortLength; j++) {
-                        this.Highlights.markArray(j, j);
-                        this.Delays.sleep(sleepRatio);
+                    for (int j = i + 1; j < sortLength; j++) {
+                        Highlights.markArray(j, j);
+                        Delays.sleep(sleepRatio);
                     }
 
                     JOptionPane.showMessageDialog(this.window, "The sort was unsuccessful;\nIndices " + i + " and " + (i + 1) + " are out of order!", "Error", JOptionPane.OK_OPTION, null);
                     success = false;
 
-                    this.Highlights.clearAllMarks();
+                    Highlights.clearAllMarks();
 
-                    i = this.sortLength + this.getLogBaseTwoOfLength();
+                    i = sortLength + this.getLogBaseTwoOfLength();
 
                     this.Sounds.toggleSound(tempSound);
                 }
             }
 
-            if (this.Highlights.fancyFinishEnabled()) {
-                this.Delays.sleep(sleepRatio);
+            if (Highlights.fancyFinishEnabled()) {
+                Delays.sleep(sleepRatio);
             }
         }
-        this.Highlights.clearMark(1);
+        Highlights.clearMark(1);
 
         // if (tempStability && success)
         //     JOptionPane.showMessageDialog(this.window, "This sort is stable!", "Information", JOptionPane.OK_OPTION, null);
         if (this.STABILITY && success && !stable) {
             boolean tempSound = this.Sounds.isEnabled();
             this.Sounds.toggleSound(false);
-            this.Highlights.toggleFancyFinish(false);
+            Highlights.toggleFancyFinish(false);
 
-            for (int j = unstableIdx; j < this.sortLength; j++) {
-                this.Highlights.markArray(j, j);
-                this.Delays.sleep(sleepRatio);
+            for (int j = unstableIdx; j < sortLength; j++) {
+                Highlights.markArray(j, j);
+                Delays.sleep(sleepRatio);
             }
 
             JOptionPane.showMessageDialog(this.window, "This sort is not stable;\nIndices " + unstableIdx + " and " + (unstableIdx + 1) + " are out of order!", "Error", JOptionPane.OK_OPTION, null);
 
-            this.Highlights.clearAllMarks();
+            Highlights.clearAllMarks();
             this.Sounds.toggleSound(tempSound);
         } else if (success && validateFailed) {
             boolean tempSound = this.Sounds.isEnabled();
             this.Sounds.toggleSound(false);
-            this.Highlights.toggleFancyFinish(false);
+            Highlights.toggleFancyFinish(false);
 
-            for (int j = invalidateIdx + 1; j < this.sortLength; j++) {
-                this.Highlights.markArray(j, j);
-                this.Delays.sleep(sleepRatio);
+            for (int j = invalidateIdx + 1; j < sortLength; j++) {
+                Highlights.markArray(j, j);
+                Delays.sleep(sleepRatio);
             }
 
             JOptionPane.showMessageDialog(this.window, "The sort was unsuccessful;\narray[" + invalidateIdx + "] != validateArray[" + invalidateIdx + "]", "Error", JOptionPane.OK_OPTION, null);
 
-            this.Highlights.clearAllMarks();
+            Highlights.clearAllMarks();
             this.Sounds.toggleSound(tempSound);
         }
 
         this.heading = temp;
-        this.Reads.setComparisons(tempComps);
+        Reads.setComparisons(tempComps);
 
         if (this.benchmarking) {
-            JOptionPane.showMessageDialog(this.window, "The sort took a total of " + this.Timer.getRealTime());
+            JOptionPane.showMessageDialog(this.window, "The sort took a total of " + context.getTimer().getRealTime());
         }
 
-        if (this.Highlights.fancyFinishActive()) {
-            this.Highlights.toggleFancyFinish(false);
+        if (Highlights.fancyFinishActive()) {
+            Highlights.toggleFancyFinish(false);
         }
-        this.Highlights.resetFancyFinish();
+        Highlights.resetFancyFinish();
     }
 
     public String formatTimes() {
         String result = "";
+        Timer Timer = this.getTimer();
 
-        Hashtable<String, Double> categoricalTimes = this.Timer.getCategoricalTimes();
-        for (Map.Entry<String, Double> keyValuePair : categoricalTimes.entrySet()) {
-            result += keyValuePair.getKey() + ":\t" + this.Timer.prettifyTime(keyValuePair.getValue()) + "\n";
+        EnumMap<Timer.Category, Long> categoricalTimes = Timer.getCategoricalTimes();
+        for (Map.Entry<Timer.Category, Long> keyValuePair : categoricalTimes.entrySet()) {
+            result += keyValuePair.getKey().getLabel() + ":\t" + Timer.prettifyTime(keyValuePair.getValue()) + "\n";
         }
 
-        String totalTime = this.Timer.getRealTime();
+        String totalTime = Timer.getRealTime();
         result += "--------------------\nTotal:\t" + totalTime;
+        result += "\nSeed:\t" + this.getRandomSource().getSeed();
 
         return result;
     }
 
     public void endSort() {
-        this.Timer.disableRealTimer();
-        this.Highlights.clearAllMarks();
+        SortContext context = this.getContext();
+        Delays Delays = context.getDelays();
+        Highlights Highlights = context.getHighlights();
+
+        context.getTimer().disableRealTimer();
+        Highlights.clearAllMarks();
         System.out.println(formatTimes());
 
         this.isCanceled = false;
-        this.Delays.changeSkipped(false);
-        double speed = this.Delays.getSleepRatio();
+        Delays.changeSkipped(false);
+        double speed = Delays.getSleepRatio();
+        Instrumentation.Level level = this.getInstrumentationLevel();
+        this.setInstrumentationLevel(utils.Instrumentation.Level.VISUAL);
         this.verifySortAndSweep();
-        this.Delays.setSleepRatio(speed);
+        this.setInstrumentationLevel(level);
+        Delays.setSleepRatio(speed);
 
-        this.arrays.subList(1, this.arrays.size()).clear();
-        this.Writes.clearAllocAmount();
+        context.clearExternalArrays();
 
-        this.Highlights.clearAllMarks();
+        Highlights.clearAllMarks();
     }
 
     public void togglePointer(boolean Bool) {
@@ -1478,6 +1660,14 @@ public final class ArrayVisualizer {
     }
 
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--headless")) {
+            RunBenchmark.runHeadless(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--export")) {
+            RunExport.runExport(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
         System.setProperty("sun.java2d.d3d", "false");
         if (args.length > 0) {
             if (args[0].contains("RSS")) doRSS = true;
@@ -0,0 +1,206 @@
+package main;
+
+import java.util.ArrayList;
+
+import panes.JErrorPane;
+import utils.Counters;
+import utils.Delays;
+import utils.DirtyRegions;
+import utils.DisorderMetrics;
+import utils.Highlights;
+import utils.Instrumentation;
+import utils.RandomSource;
+import utils.Reads;
+import utils.Timer;
+import utils.Writes;
+
+/*
+ *
+MIT License
+
+Copyright (c) 2021 ArrayV 4.0 Team
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ *
+ */
+
+/**
+ * Everything a running sort writes to: the main array, the registry of external arrays, the operation
+ * counters and timer, the delay policy and the highlight sink, plus the {@link ArrayManager} that fills
+ * the array and the {@link RandomSource} behind it. Settings that belong to the whole program (cancelling,
+ * stability checks, the comparator) stay on {@link ArrayVisualizer}.
+ *
+ * The window uses the context created with the {@link ArrayVisualizer}. Other contexts can be made with
+ * {@link ArrayVisualizer#createContext()} and bound to a thread, after which every sort constructed or run
+ * on that thread (and on threads it starts) uses them instead, so several sorts can run at once without
+ * sharing any state.
+ */
+final public class SortContext {
+    private final ArrayVisualizer arrayVisualizer;
+
+    private final int[] array;
+    private final ArrayList<int[]> arrays;
+
+    private volatile int currentLength;
+    private volatile int uniqueItems;
+
+    private final Counters Counters;
+    private final Delays Delays;
+    private final DirtyRegions DirtyRegions;
+    private final DisorderMetrics DisorderMetrics;
+    private final Highlights Highlights;
+    private final RandomSource RandomSource;
+    private final Timer Timer;
+    private volatile Instrumentation Instrumentation;
+    private final Reads Reads;
+    private final Writes Writes;
+    private final ArrayManager ArrayManager;
+
+    SortContext(ArrayVisualizer arrayVisualizer) {
+        this.arrayVisualizer = arrayVisualizer;
+
+        int[] array;
+        try {
+            array = new int[arrayVisualizer.getMaximumLength()];
+        } catch (OutOfMemoryError e) {
+            JErrorPane.invokeCustomErrorMessage("Failed to allocate main array. The program will now exit.");
+            System.exit(1);
+            array = null;
+        }
+        this.array = array;
+
+        this.arrays = new ArrayList<>();
+        this.arrays.add(this.array);
+
+        this.currentLength = Math.min(2048, arrayVisualizer.getMaximumLength());
+        this.uniqueItems = this.currentLength;
+
+        this.Highlights = new Highlights(arrayVisualizer, arrayVisualizer.getMaximumLength());
+        this.Delays = new Delays(arrayVisualizer);
+        this.Timer = new Timer(arrayVisualizer);
+        this.Counters = new Counters();
+        this.DirtyRegions = new DirtyRegions(arrayVisualizer.getMaximumLength());
+        this.DisorderMetrics = new DisorderMetrics();
+        this.RandomSource = new RandomSource();
+        this.Instrumentation = utils.Instrumentation.create(utils.Instrumentation.Level.VISUAL, this);
+        this.Reads = new Reads(this);
+        this.Writes = new Writes(this);
+        this.ArrayManager = new ArrayManager(this);
+    }
+
+    public ArrayVisualizer getArrayVisualizer() {
+        return this.arrayVisualizer;
+    }
+
+    /**
+     * Makes the getters of {@link ArrayVisualizer} return this context's collaborators on the current
+     * thread and on threads started from it.
+     */
+    public void bindToCurrentThread() {
+        ArrayVisualizer.THREAD_CONTEXT.set(this);
+    }
+
+    public int[] getArray() {
+        return this.array;
+    }
+    public ArrayList<int[]> getArrays() {
+        return this.arrays;
+    }
+
+    public int getCurrentLength() {
+        return this.currentLength;
+    }
+    public void setCurrentLength(int newLength) {
+        this.currentLength = newLength;
+        this.Delays.setSleepRatio(newLength/1024d);
+    }
+
+    public int getUniqueItems() {
+        return this.uniqueItems;
+    }
+    public void setUniqueItems(int newCount) {
+        if (newCount <= this.currentLength) {
+            this.uniqueItems = newCount;
+        } else {
+            System.out.println("Too many unique items!");
+        }
+    }
+
+    public ArrayManager getArrayManager() {
+        return this.ArrayManager;
+    }
+    public Counters getCounters() {
+        return this.Counters;
+    }
+    public Delays getDelays() {
+        return this.Delays;
+    }
+    public DirtyRegions getDirtyRegions() {
+        return this.DirtyRegions;
+    }
+    public DisorderMetrics getDisorderMetrics() {
+        return this.DisorderMetrics;
+    }
+    public Highlights getHighlights() {
+        return this.Highlights;
+    }
+    public Instrumentation getInstrumentation() {
+        return this.Instrumentation;
+    }
+    public RandomSource getRandomSource() {
+        return this.RandomSource;
+    }
+    public Reads getReads() {
+        return this.Reads;
+    }
+    public Timer getTimer() {
+        return this.Timer;
+    }
+    public Writes getWrites() {
+        return this.Writes;
+    }
+
+    public Instrumentation.Level getInstrumentationLevel() {
+        return this.Instrumentation.getLevel();
+    }
+    // Highlights, delays and repaints are only done at the VISUAL level; the other levels let sorts run at full speed
+    public void setInstrumentationLevel(Instrumentation.Level level) {
+        this.Instrumentation = utils.Instrumentation.create(level, this);
+        this.Reads.setInstrumentation(this.Instrumentation);
+        this.Writes.setInstrumentation(this.Instrumentation);
+
+        boolean visual = level == utils.Instrumentation.Level.VISUAL;
+        this.Highlights.toggleMarking(visual);
+        this.Delays.toggleDelays(visual);
+        // Only the VISUAL level reports writes, so the live inversion count cannot be trusted after the others
+        this.DisorderMetrics.invalidate();
+    }
+
+    public void resetAllStatistics() {
+        this.Reads.resetStatistics();
+        this.Writes.resetStatistics();
+        this.Timer.manualSetTime(0);
+    }
+
+    // Drops the external arrays left over from a sort
+    public void clearExternalArrays() {
+        this.arrays.subList(1, this.arrays.size()).clear();
+        this.Writes.clearAllocAmount();
+    }
+}
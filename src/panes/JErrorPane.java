@@ -1,5 +1,6 @@
 package panes;
 
+import java.awt.GraphicsEnvironment;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 
@@ -23,6 +24,11 @@ final public class JErrorPane extends JOptionPane {
     }
 
     public static void invokeErrorMessage(Throwable e, String title) {
+        if (GraphicsEnvironment.isHeadless()) {
+            System.err.println(title + ":");
+            e.printStackTrace();
+            return;
+        }
         errorMessageActive = true;
 
         StringWriter exceptionString = new StringWriter();
@@ -40,6 +46,10 @@ final public class JErrorPane extends JOptionPane {
     }
 
     public static void invokeCustomErrorMessage(String errorMsg) {
+        if (GraphicsEnvironment.isHeadless()) {
+            System.err.println("Error: " + errorMsg);
+            return;
+        }
         errorMessageActive = true;
 
         JOptionPane.showMessageDialog(null, errorMsg, "Error", JOptionPane.ERROR_MESSAGE);
@@ -2,7 +2,7 @@ package sorts.bogo;
 
 import main.ArrayVisualizer;
 import sorts.templates.Sort;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /*
  * 
@@ -69,7 +69,7 @@ final public class BogoCycleSort extends Sort {
 			Writes.write(idx, i, i, 0, false, true);
 		
 		int size = length;
-		Random r = new Random();
+		SplittableRandom r = arrayVisualizer.getRandomSource().split();
 		
 		do {
 			int c = 0;
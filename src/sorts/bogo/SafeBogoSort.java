@@ -1,6 +1,6 @@
 package sorts.bogo;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 
 import sorts.templates.Sort;
 import main.ArrayVisualizer;
@@ -55,7 +55,7 @@ final public class SafeBogoSort extends Sort {
     
     @Override
     public void runSort(int[] array, int length, int bucketCount) {
-		Random r = new Random();
+		SplittableRandom r = arrayVisualizer.getRandomSource().split();
 		int p = this.findLastSorted(array, length);
 		
 		while(p < length-1) {
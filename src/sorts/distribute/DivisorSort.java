@@ -4,6 +4,7 @@ import java.util.ArrayList;
 
 import main.ArrayVisualizer;
 import sorts.templates.Sort;
+import utils.IntBucket;
 
 /*
  * 
@@ -48,16 +49,16 @@ final public class DivisorSort extends Sort {
         this.setBogoSort(false);
     }
 
-    private void safePush(ArrayList<ArrayList<Integer>> aList, int index, int value) {
+    private void safePush(ArrayList<IntBucket> aList, int index, int value) {
         while (aList.size() <= index) {
-            aList.add(new ArrayList<>());
+            aList.add(new IntBucket());
         }
-        Writes.arrayListAdd(aList.get(index), value, true, 1);
+        Writes.bucketAdd(aList.get(index), value, true, 1);
     }
 
     private void divisorLoop(int[] array, int start, int length, int base, int log) {
         int divisor = (int)Math.pow(base, log);
-        ArrayList<ArrayList<Integer>> buckets = new ArrayList<>();
+        ArrayList<IntBucket> buckets = new ArrayList<>();
         
         for (int i = start; i < start + length; i++) {
             Highlights.markArray(1, i);
@@ -76,8 +77,8 @@ final public class DivisorSort extends Sort {
             current += size;
         }
 
-        for (ArrayList<Integer> bucket : buckets) {
-            Writes.deleteArrayList(bucket);
+        for (IntBucket bucket : buckets) {
+            Writes.bucketClear(bucket);
         }
     }
     
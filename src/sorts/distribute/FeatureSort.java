@@ -2,6 +2,7 @@ package sorts.distribute;
 
 import main.ArrayVisualizer;
 import sorts.templates.Sort;
+import utils.IntBucket;
 import java.util.ArrayList;
 
 
@@ -43,7 +44,7 @@ final public class FeatureSort extends Sort {
         this.setBogoSort(false);
     }
 
-    public void arrayListSwap(ArrayList<Integer> arr, int a, int b, int start) {
+    public void arrayListSwap(IntBucket arr, int a, int b, int start) {
         int temp = arr.get(a);
         arr.set(a, arr.get(b));
         arr.set(b, temp);
@@ -54,7 +55,7 @@ final public class FeatureSort extends Sort {
         Highlights.clearAllMarks();
     }
     
-    public void arrayListWrite(ArrayList<Integer> arr, int at, int value, int pos) {
+    public void arrayListWrite(IntBucket arr, int at, int value, int pos) {
         arr.set(at, value);
         Writes.changeAuxWrites(1);
         Highlights.markArray(1, pos+at);
@@ -62,7 +63,7 @@ final public class FeatureSort extends Sort {
         Highlights.clearAllMarks();
     }
 
-    public void arrayListReversal(ArrayList<Integer> array, int start, int length, int pos) {
+    public void arrayListReversal(IntBucket array, int start, int length, int pos) {
         Writes.changeReversals(1);
         
         for(int i = start; i < start + ((length - start + 1) / 2); i++) {
@@ -70,7 +71,7 @@ final public class FeatureSort extends Sort {
         }
     }
 
-    private void mergeUp(ArrayList<Integer> array, int leftStart, int rightStart, int end, int[] copied, int start) {
+    private void mergeUp(IntBucket array, int leftStart, int rightStart, int end, int[] copied, int start) {
         for (int i = 0; i < rightStart - leftStart; i++) {
             Highlights.markArray(1, i + leftStart);
             Writes.write(copied, i, array.get(i + leftStart), 1, false, false);
@@ -104,7 +105,7 @@ final public class FeatureSort extends Sort {
 
     }
 
-    private void mergeDown(ArrayList<Integer> array, int leftStart, int rightStart, int end, int[] copied, int start) {
+    private void mergeDown(IntBucket array, int leftStart, int rightStart, int end, int[] copied, int start) {
         for (int i = 0; i < end - rightStart; i++) {
             Highlights.markArray(1, i + rightStart);
             Writes.write(copied, i, array.get(i + rightStart), 1, false, false);
@@ -137,7 +138,7 @@ final public class FeatureSort extends Sort {
         Highlights.clearAllMarks();
     }
 
-    private void merge(ArrayList<Integer> array, int leftStart, int rightStart, int end, int[] aux, int start) {
+    private void merge(IntBucket array, int leftStart, int rightStart, int end, int[] aux, int start) {
         if (end - rightStart < rightStart - leftStart) {
             mergeDown(array, leftStart, rightStart, end, aux, start);
         } else {
@@ -149,7 +150,7 @@ final public class FeatureSort extends Sort {
         return Reads.compareValues(a, b) <= 0;
     }
 
-    private int identifyRun(ArrayList<Integer> array, int index, int maxIndex, int start) {
+    private int identifyRun(IntBucket array, int index, int maxIndex, int start) {
         int startIndex = index;
 
         Highlights.markArray(1, start+index);
@@ -180,7 +181,7 @@ final public class FeatureSort extends Sort {
         return index + 1;
     }
 
-    private ArrayList<Integer> findRuns(ArrayList<Integer> array, int maxIndex, int start) {
+    private ArrayList<Integer> findRuns(IntBucket array, int maxIndex, int start) {
         ArrayList<Integer> runs = new ArrayList<>();
 
         int lastRun = 0;
@@ -193,7 +194,7 @@ final public class FeatureSort extends Sort {
         return runs;
     }
 
-    private void pdMergeSort(ArrayList<Integer> array, int length, int start, int[] aux) {
+    private void pdMergeSort(IntBucket array, int length, int start, int[] aux) {
         ArrayList<Integer> runs = findRuns(array, length - 1, start);
         
         while (runs.size() > 1) {
@@ -209,7 +210,7 @@ final public class FeatureSort extends Sort {
         Writes.deleteArrayList(runs);
     }
 
-    public void insertionSort(ArrayList<Integer> arr, int a, int b, int start) {
+    public void insertionSort(IntBucket arr, int a, int b, int start) {
         for (int i = a + 1; i < b; i++) {
             int key = arr.get(i);
             int j = i-1;
@@ -224,7 +225,7 @@ final public class FeatureSort extends Sort {
         Highlights.clearAllMarks();
     }
 
-    public void sortSubList(ArrayList<Integer> subList, int start, int[] mainArray) {
+    public void sortSubList(IntBucket subList, int start, int[] mainArray) {
         int l = subList.size();
         if (l > 1) {
             if (l <= 16) {
@@ -237,16 +238,12 @@ final public class FeatureSort extends Sort {
 
     public void featureSort(int[] array, int currentLength) {
         double max = Reads.analyzeMax(array, currentLength, 0.25, true);
-        @SuppressWarnings("unchecked")
-        ArrayList<Integer>[] pos = new ArrayList[currentLength];
+        IntBucket[] pos = IntBucket.createArray(currentLength);
         double posConstant = max / (currentLength + 4);
-        for (int i = 0; i < currentLength; i++) {
-            pos[i] = new ArrayList<>();
-        }
         for (int i = 0; i < currentLength; i++) {
             Highlights.markArray(0, i);
             int idx = (int)(array[i] * posConstant);
-            Writes.arrayListAdd(pos[idx], array[i], true, 1);
+            Writes.bucketAdd(pos[idx], array[i], true, 1);
             Writes.changeAuxWrites(1);
         }
         Highlights.clearAllMarks();
@@ -258,7 +255,7 @@ final public class FeatureSort extends Sort {
         }
         Highlights.clearAllMarks();
         Writes.transcribe(array, pos, 0, true, false);
-        Writes.deleteExternalArray(pos);
+        Writes.deleteBuckets(pos);
     }
 
     @Override
@@ -1,9 +1,8 @@
 package sorts.distribute;
 
-import java.util.ArrayList;
-
 import main.ArrayVisualizer;
 import sorts.templates.Sort;
+import utils.IntBucket;
 
 /*
 L/MSD Radix Sort Sort 2021 Copyright (C) thatsOven
@@ -40,16 +39,13 @@ final public class LMSDRadixSort extends Sort {
 
     int base;
 
-    public ArrayList<Integer>[] radixSort(int[] array, int start, int end, int place) {
-        @SuppressWarnings("unchecked")
-        ArrayList<Integer>[] registers = new ArrayList[this.base];
-
-        for(int i = 0; i < this.base; i++) registers[i] = new ArrayList<>();
+    public IntBucket[] radixSort(int[] array, int start, int end, int place) {
+        IntBucket[] registers = IntBucket.createArray(this.base);
 
         for (int i = start; i < end; i++) {
             Highlights.markArray(1, i);
             int digit = Reads.getDigit(array[i], place, this.base);
-            Writes.arrayListAdd(registers[digit], array[i]);
+            Writes.bucketAdd(registers[digit], array[i]);
 
             Writes.mockWrite(end - start, digit, array[i], 1);
         }
@@ -70,8 +66,8 @@ final public class LMSDRadixSort extends Sort {
     public void lmsdRadixSort(int[] array, int mina, int maxa, int place, int maxPlace) {
         if (maxPlace < place || maxa - mina <= 1) return;
 
-        ArrayList<Integer>[] registers = this.radixSort(array, mina, maxa, place);
-        Writes.deleteExternalArray(registers);
+        IntBucket[] registers = this.radixSort(array, mina, maxa, place);
+        Writes.deleteBuckets(registers);
 
         if (place != maxPlace) {
             registers = this.radixSort(array, mina, maxa, maxPlace);
@@ -82,11 +78,11 @@ final public class LMSDRadixSort extends Sort {
                 this.lmsdRadixSort(array, sum + mina, sum + mina + registers[i].size(), place + 1, maxPlace - 1);
 
                 sum += registers[i].size();
-                Writes.arrayListClear(registers[i]);
+                Writes.bucketClear(registers[i]);
                 Writes.changeAllocAmount(-registers[i].size());
             }
 
-            Writes.deleteExternalArray(registers);
+            Writes.deleteBuckets(registers);
         }
     }
 
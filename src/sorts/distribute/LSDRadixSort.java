@@ -1,9 +1,8 @@
 package sorts.distribute;
 
-import java.util.ArrayList;
-
 import main.ArrayVisualizer;
 import sorts.templates.Sort;
+import utils.IntBucket;
 
 /*
  * 
@@ -53,18 +52,14 @@ final public class LSDRadixSort extends Sort {
         
         int highestpower = Reads.analyzeMaxLog(array, sortLength, bucketCount, 0.5, true);
         
-        @SuppressWarnings("unchecked")
-        ArrayList<Integer>[] registers = new ArrayList[bucketCount];
-        
-        for(int i = 0; i < bucketCount; i++)
-            registers[i] = new ArrayList<>();
+        IntBucket[] registers = IntBucket.createArray(bucketCount);
         
         for(int p = 0; p <= highestpower; p++){
             for(int i = 0; i < sortLength; i++){
                 Highlights.markArray(1, i);
                 
                 int digit = Reads.getDigit(array[i], p, bucketCount);
-                Writes.arrayListAdd(registers[digit], array[i]);
+                Writes.bucketAdd(registers[digit], array[i]);
                 
                 Writes.mockWrite(sortLength, digit, array[i], 1);
             }
@@ -72,6 +67,6 @@ final public class LSDRadixSort extends Sort {
             Writes.fancyTranscribe(array, sortLength, registers, bucketCount * 0.8);
         }
 
-        Writes.deleteExternalArray(registers);
+        Writes.deleteBuckets(registers);
     }
 }
\ No newline at end of file
@@ -1,9 +1,8 @@
 package sorts.distribute;
 
-import java.util.ArrayList;
-
 import main.ArrayVisualizer;
 import sorts.templates.Sort;
+import utils.IntBucket;
 
 /*
  * 
@@ -55,17 +54,13 @@ final public class MSDRadixSort extends Sort {
         Highlights.markArray(2, max - 1);
         Highlights.markArray(3, min);
         
-        @SuppressWarnings("unchecked")
-        ArrayList<Integer>[] registers = new ArrayList[radix];
-        
-        for(int i = 0; i < radix; i++)
-            registers[i] = new ArrayList<>();
+        IntBucket[] registers = IntBucket.createArray(radix);
         
         for(int i = min; i < max; i++) {
             Highlights.markArray(1, i);
             
             int digit = Reads.getDigit(array[i], pow, radix);
-            Writes.arrayListAdd(registers[digit], array[i]);
+            Writes.bucketAdd(registers[digit], array[i]);
             
             Writes.mockWrite(length, digit, array[i], 1);
         }
@@ -80,11 +75,11 @@ final public class MSDRadixSort extends Sort {
             this.radixMSD(array, length, sum + min, sum + min + registers[i].size(), radix, pow-1);
             
             sum += registers[i].size();
-            Writes.arrayListClear(registers[i]);
+            Writes.bucketClear(registers[i]);
             Writes.changeAuxWrites(registers[i].size());
         }
 
-        Writes.deleteExternalArray(registers);
+        Writes.deleteBuckets(registers);
     }
     
     @Override
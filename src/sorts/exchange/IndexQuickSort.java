@@ -1,6 +1,6 @@
 package sorts.exchange;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 
 import main.ArrayVisualizer;
 import sorts.templates.Sort;
@@ -73,7 +73,7 @@ final public class IndexQuickSort extends Sort {
     private int partition(int[] array, int[] idx, int a, int b) {
 		int c0 = a, c1 = c0, i;
 		
-		Random r = new Random();
+		SplittableRandom r = arrayVisualizer.getRandomSource().split();
 		int m = a + r.nextInt(b-a);
 			
 		Highlights.markArray(2, m);
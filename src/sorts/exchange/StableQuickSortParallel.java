@@ -1,6 +1,6 @@
 package sorts.exchange;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 
 import main.ArrayVisualizer;
 import sorts.templates.Sort;
@@ -71,7 +71,7 @@ final public class StableQuickSortParallel extends Sort {
 	}
 	
 	private int partitionInt(int a, int b) {
-		Random r = new Random();
+		SplittableRandom r = arrayVisualizer.getRandomSource().split();
 		int p = a + r.nextInt(b-a);
 		
 		int piv = array[p];
@@ -103,7 +103,7 @@ final public class StableQuickSortParallel extends Sort {
 		return j;
 	}
 	private int partitionExt(int a, int b) {
-		Random r = new Random();
+		SplittableRandom r = arrayVisualizer.getRandomSource().split();
 		int p = a + r.nextInt(b-a);
 		
 		int piv = tmp[p];
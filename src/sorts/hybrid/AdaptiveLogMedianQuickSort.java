@@ -73,7 +73,7 @@ public final class AdaptiveLogMedianQuickSort extends Sort {
         int n = b - a, cnt = Math.max(floorLog(n), 5);
         cnt -= (1 - cnt % 2);
         int p = a, s = n / cnt;
-        int r = (int) (Math.random() * s);
+        int r = (int) (arrayVisualizer.getRandomSource().shared().nextDouble() * s);
         for (int i = a + r; cnt > 0; cnt--, p++, i += s)
             Writes.swap(array, i, p, 0.5, true, false);
         insSort.customInsertSort(array, a, p, 0.5, false);
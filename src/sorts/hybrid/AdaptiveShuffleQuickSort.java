@@ -1,6 +1,6 @@
 package sorts.hybrid;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 
 import main.ArrayVisualizer;
 import sorts.insert.InsertionSort;
@@ -76,7 +76,7 @@ public final class AdaptiveShuffleQuickSort extends Sort {
     }
     
     public void shuffle(int[] array, int a, int b) {
-        Random rng = new Random();
+        SplittableRandom rng = arrayVisualizer.getRandomSource().split();
         for (int i = a; i < b; i++) {
             int j = i + rng.nextInt(b - i);
             if(i != j)
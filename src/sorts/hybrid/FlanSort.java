@@ -3,7 +3,7 @@ package sorts.hybrid;
 import sorts.templates.MultiWayMergeSorting;
 import main.ArrayVisualizer;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /*
  * 
@@ -208,7 +208,7 @@ final public class FlanSort extends MultiWayMergeSorting {
 			return;
 		}
 		
-		Random rng = new Random();
+		SplittableRandom rng = arrayVisualizer.getRandomSource().split();
 		
 		int s = len;
 		while(s >= 32) s = (s-1)/R + 1;
@@ -1,6 +1,6 @@
 package sorts.hybrid;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 
 import main.ArrayVisualizer;
 import sorts.templates.Sort;
@@ -66,7 +66,7 @@ public final class FlanSort2 extends Sort {
 	private final int G = 7; // gap size (power of 2 minus 1 is best)
 	private final int R = 3; // rebalancing factor
 	
-	private Random rng;
+	private SplittableRandom rng;
 
 	private void shiftBW(int[] array, int a, int m, int b) {
 		while(m > a) Writes.swap(array, --b, --m, 1, true, false);
@@ -363,7 +363,7 @@ public final class FlanSort2 extends Sort {
 	public void runSort(int[] array, int length, int bucketCount) {// to benefit from average case O(n log n) comparisons & O(n) moves
 	                                                               // we would normally shuffle the array before sorting
 	                                                               // but for the sake of demonstration this step is omitted
-		this.rng = new Random();
+		this.rng = arrayVisualizer.getRandomSource().split();
 
 		int a = 0, b = length;
 		
@@ -4,7 +4,7 @@ import main.ArrayVisualizer;
 import sorts.templates.Sort;
 import sorts.insert.BinaryInsertionSort;
 import sorts.select.MaxHeapSort;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /*
  * 
@@ -50,7 +50,7 @@ final public class PacheSort extends Sort {
 	
 	private final int MIN_INSERT = 16;
 	
-	private Random rng;
+	private SplittableRandom rng;
 	private BinaryInsertionSort smallSort;
 	
 	private class BitArray {
@@ -317,7 +317,7 @@ final public class PacheSort extends Sort {
 	
 	@Override
 	public void runSort(int[] array, int length, int bucketCount) {
-		this.rng = new Random();
+		this.rng = arrayVisualizer.getRandomSource().split();
 		this.smallSort = new BinaryInsertionSort(this.arrayVisualizer);
 		
 		int a = 0, b = length;
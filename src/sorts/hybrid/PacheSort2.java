@@ -1,6 +1,6 @@
 package sorts.hybrid;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 
 import main.ArrayVisualizer;
 import sorts.templates.Sort;
@@ -50,7 +50,7 @@ public final class PacheSort2 extends Sort {
 	
 	private final int MIN_HEAP = 255;
 	
-	private Random rng;
+	private SplittableRandom rng;
 	
 	private int log2(int n) {
 		return 31-Integer.numberOfLeadingZeros(n);
@@ -321,7 +321,7 @@ public final class PacheSort2 extends Sort {
 			return;
 		}
 		
-		this.rng = new Random();
+		this.rng = arrayVisualizer.getRandomSource().split();
 		
 		int log	= this.log2(length-1)+1;
 		int pCnt   = length/(log*log);
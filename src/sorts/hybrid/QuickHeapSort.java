@@ -1,6 +1,6 @@
 package sorts.hybrid;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 import static java.lang.Math.sqrt;
 import sorts.templates.Sort;
 import sorts.insert.BinaryInsertionSort;
@@ -74,7 +74,7 @@ final public class QuickHeapSort extends Sort {
 		cnt -= (1-cnt%2);
 		int p = a, s = n/cnt;
 		
-		Random rand = new Random();
+		SplittableRandom rand = arrayVisualizer.getRandomSource().split();
 		int r = rand.nextInt(s);
 		
 		for(int i = a+r; cnt > 0; cnt--, p++, i += s) {
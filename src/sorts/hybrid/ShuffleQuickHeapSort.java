@@ -1,6 +1,6 @@
 package sorts.hybrid;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 
 import main.ArrayVisualizer;
 import sorts.insert.BinaryInsertionSort;
@@ -55,7 +55,7 @@ public final class ShuffleQuickHeapSort extends Sort {
     }
 
     public void shuffle(int[] array, int a, int b) {
-        Random rng = new Random();
+        SplittableRandom rng = arrayVisualizer.getRandomSource().split();
         for (int i = a; i < b; i++) {
             Writes.swap(array, i, i + rng.nextInt(b - i), 0.75, true, false);
         }
@@ -1,6 +1,6 @@
 package sorts.hybrid;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 
 import main.ArrayVisualizer;
 import sorts.templates.Sort;
@@ -54,7 +54,7 @@ public final class ShuffleQuickMergeSort extends Sort {
     }
 
     public void shuffle(int[] array, int a, int b) {
-        Random rng = new Random();
+        SplittableRandom rng = arrayVisualizer.getRandomSource().split();
         for (int i = a; i < b; i++) {
             Writes.swap(array, i, i + rng.nextInt(b - i), 0.75, true, false);
         }
@@ -50,7 +50,7 @@ final public class StupidQuickSort extends Sort {
             int i = 0;
             int j = length - 1;
             
-            int pivotPos = (int)(Math.random() * length);
+            int pivotPos = (int)(arrayVisualizer.getRandomSource().shared().nextDouble() * length);
             int pivot = array[pivotPos];
             
             while (i < j) {
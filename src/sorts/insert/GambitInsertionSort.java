@@ -65,6 +65,7 @@ public final class GambitInsertionSort extends Sort {
 				j--;
 			}
 			array[j + 1] = tmp;
+			this.Writes.changed(array, j + 1, j + 2);
 		}
 	}
 
@@ -4,7 +4,7 @@ import sorts.templates.Sort;
 import main.ArrayVisualizer;
 
 import java.util.Arrays;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /*
  * 
@@ -164,7 +164,7 @@ final public class LibrarySort extends Sort {
 		int[] tmp = Writes.createExternalArray(length*(G+1)-1);
 		Arrays.fill(tmp, this.max); //(o_o;)
 		
-		Random rng = new Random();
+		SplittableRandom rng = arrayVisualizer.getRandomSource().split();
 		
 		int s = length;
 		while(s >= 32) s = (s-1)/R + 1;
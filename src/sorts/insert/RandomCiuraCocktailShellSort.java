@@ -1,6 +1,6 @@
 package sorts.insert;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 import main.ArrayVisualizer;
 import sorts.templates.Sort;
 
@@ -41,7 +41,7 @@ public final class RandomCiuraCocktailShellSort extends Sort {
         for (k = 1; gap < sortLength; k++) {
             gap = ciura(k);
         }
-        Random rng = new Random();
+        SplittableRandom rng = arrayVisualizer.getRandomSource().split();
         while (--k >= 1) {
             gap = ciura(k);
             if (rng.nextBoolean()) {
@@ -1,6 +1,6 @@
 package sorts.insert;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 import main.ArrayVisualizer;
 import sorts.templates.Sort;
 
@@ -28,7 +28,7 @@ public final class RandomCocktailShellSort extends Sort {
     public void shellSort(int[] array, int a, int b) {
         int sortLength = b - a;
         int gap = sortLength / 2;
-        Random rng = new Random();
+        SplittableRandom rng = arrayVisualizer.getRandomSource().split();
         while (gap >= 1) {
             if (rng.nextBoolean()) {
                 for (int i = a + gap; i < b; i++) {
@@ -3,7 +3,7 @@ package sorts.insert;
 import main.ArrayVisualizer;
 import sorts.templates.Sort;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /*
  * 
@@ -71,7 +71,7 @@ final public class ShuffledTreeSort extends Sort {
 		for(int i = 0; i < currentLength; i++)
 			Writes.write(keys, i, i, 1, true, true);
 		
-		Random random = new Random();
+		SplittableRandom random = arrayVisualizer.getRandomSource().split();
 		for(int i = 0; i < currentLength; i++){
 			int r = random.nextInt(currentLength - i) + i;
 			this.stableSwap(array, keys, i, r);
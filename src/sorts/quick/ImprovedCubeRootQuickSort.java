@@ -1,7 +1,7 @@
 package sorts.quick;
 
 import static java.lang.Math.cbrt;
-import java.util.Random;
+import java.util.SplittableRandom;
 import main.ArrayVisualizer;
 import sorts.templates.Sort;
 import sorts.insert.BinaryInsertionSort;
@@ -73,7 +73,7 @@ public class ImprovedCubeRootQuickSort extends Sort {
 		}
 		Highlights.clearAllMarks();
 		
-		Random r = new Random();
+		SplittableRandom r = arrayVisualizer.getRandomSource().split();
 		int n = b-a, size = (int)cbrt(n), s = (n-1)/size+1, c = 0;
 		
 		for(int i = a+r.nextInt(s-1); i < b; i += s, c++) {
@@ -1,6 +1,6 @@
 package sorts.quick;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 
 import main.ArrayVisualizer;
 import sorts.templates.Sort;
@@ -98,7 +98,7 @@ public class ImprovedKWayQuickSort extends Sort {
             return;
         }
         Highlights.clearAllMarks();
-        Random rng = new Random();
+        SplittableRandom rng = arrayVisualizer.getRandomSource().split();
         int n = b - a, size = Math.min(n, pivCount);
         int s = (n - 1) / size + 1, c = 0;
         for (int i = a + rng.nextInt(s - 1); i < b; i += s, c++) {
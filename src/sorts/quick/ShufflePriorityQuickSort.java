@@ -1,6 +1,6 @@
 package sorts.quick;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 
 import java.util.PriorityQueue;
 import main.ArrayVisualizer;
@@ -93,7 +93,7 @@ public final class ShufflePriorityQuickSort extends Sort {
     }
 
     public void shuffle(int[] array, int a, int b) {
-        Random rng = new Random();
+        SplittableRandom rng = arrayVisualizer.getRandomSource().split();
         for (int i = a; i < b; i++) {
             swap(array, i, i + rng.nextInt(b - i), 0.75, true, false);
         }
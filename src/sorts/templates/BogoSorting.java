@@ -1,7 +1,5 @@
 package sorts.templates;
 
-import java.util.concurrent.ThreadLocalRandom;
-
 import main.ArrayVisualizer;
 
 /*
@@ -74,13 +72,16 @@ public abstract class BogoSorting extends Sort {
 
     /**
      * Returns a random {@code int} value in the range {@code [start, end)}.
+     * <p>
+     * Drawn from the {@link utils.RandomSource#shared() shared stream} of the current run, so it is
+     * repeated along with the run's seed.
      *
      * @param start the start of the range, inclusive
      * @param end the end of the range, exclusive
      * @return a random {@code int} value within the range
      */
     protected static int randInt(int start, int end) {
-        return ThreadLocalRandom.current().nextInt(start, end);
+        return ArrayVisualizer.getInstance().getRandomSource().shared().nextInt(start, end);
     }
 
     /**
@@ -89,7 +90,7 @@ public abstract class BogoSorting extends Sort {
      * @return a random {@code boolean} value
      */
     protected static boolean randBoolean() {
-        return ThreadLocalRandom.current().nextBoolean();
+        return ArrayVisualizer.getInstance().getRandomSource().shared().nextBoolean();
     }
 
     /**
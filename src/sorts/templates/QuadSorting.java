@@ -142,6 +142,7 @@ class QuadSortBase {
             }
             
             array[ptt] = key;
+            Writes.changed(array, ptt, ptt + 1);
         }
     }
     
@@ -168,6 +169,7 @@ class QuadSortBase {
             }
             
             array[ptt] = key;
+            Writes.changed(array, ptt, ptt + 1);
         }
     }
     
@@ -1,8 +1,7 @@
 package sorts.templates;
 
-import java.util.ArrayList;
-
 import main.ArrayVisualizer;
+import utils.IntBucket;
 
 /*
  * 
@@ -39,15 +38,10 @@ public abstract class ShatterSorting extends Sort {
     protected void shatterPartition(int[] array, int length, int num) {
         int shatters = (int) Math.ceil(length / (double) num);
         
-        @SuppressWarnings("unchecked")
-        ArrayList<Integer>[] registers = new ArrayList[shatters];
-        
-        for(int i = 0; i < shatters; i++) {
-            registers[i] = new ArrayList<>();
-        }
+        IntBucket[] registers = IntBucket.createArray(shatters);
         
         for(int i = 0; i < length; i++){
-            Writes.arrayListAdd(registers[array[i] / num], array[i]);
+            Writes.bucketAdd(registers[array[i] / num], array[i]);
             Highlights.markArray(1, i);
             
             Writes.mockWrite(length, array[i] / num, array[i], 0.5);
@@ -55,7 +49,7 @@ public abstract class ShatterSorting extends Sort {
         
         Writes.transcribe(array, registers, 0, true, false);
 
-        Writes.deleteExternalArray(registers);
+        Writes.deleteBuckets(registers);
     }
     
     protected void shatterSort(int[] array, int length, int num) {
@@ -1,6 +1,7 @@
 package sorts.templates;
 
 import main.ArrayVisualizer;
+import main.SortContext;
 import utils.Delays;
 import utils.Highlights;
 import utils.Reads;
@@ -27,6 +28,7 @@ public abstract class Sort {
     private int defaultAnswer;
     
     protected ArrayVisualizer arrayVisualizer;
+    protected SortContext context;
     
     protected Delays Delays;
     protected Highlights Highlights;
@@ -52,11 +54,12 @@ public abstract class Sort {
         this.setQuestion(null, 0);       // Asks a specific question before this sort is run
         
         this.arrayVisualizer = arrayVisualizer;
+        this.context = arrayVisualizer.getContext(); // The one bound to the thread constructing the sort, if any
         
-        this.Delays = arrayVisualizer.getDelays();
-        this.Highlights = arrayVisualizer.getHighlights();
-        this.Reads = arrayVisualizer.getReads();
-        this.Writes = arrayVisualizer.getWrites();
+        this.Delays = this.context.getDelays();
+        this.Highlights = this.context.getHighlights();
+        this.Reads = this.context.getReads();
+        this.Writes = this.context.getWrites();
     }
     
     public boolean isSortEnabled() {
@@ -1,6 +1,6 @@
 package sorts.tests;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 import main.ArrayVisualizer;
 import sorts.hybrid.EctaSort;
 import sorts.templates.Sort;
@@ -38,7 +38,7 @@ public class StableShuffleAlternative extends Sort {
         this.setBogoSort(false);
     }
     
-    Random rng = new Random();
+    SplittableRandom rng;
     static final int WLEN = 3;
     
     public int randInt(int a, int b) {
@@ -189,6 +189,7 @@ public class StableShuffleAlternative extends Sort {
 
     @Override
     public void runSort(int[] array, int sortLength, int bucketCount) {
+        rng = arrayVisualizer.getRandomSource().split();
         shuffle(array, 0, sortLength);
         arrayVisualizer.setExtraHeading(" / Testing Output...");
         EctaSort e = new EctaSort(arrayVisualizer);
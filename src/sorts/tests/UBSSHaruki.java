@@ -1,7 +1,7 @@
 package sorts.tests;
 
 import java.util.Comparator;
-import java.util.Random;
+import java.util.SplittableRandom;
 import java.util.TreeSet;
 
 import main.ArrayVisualizer;
@@ -42,7 +42,7 @@ public class UBSSHaruki extends Sort {
         this.setBogoSort(false);
     }
     
-    Random rng = new Random();
+    SplittableRandom rng;
     
     int leftBinSearch(int[] array, int a, int b, int val) {
         while (a < b) {
@@ -172,6 +172,7 @@ public class UBSSHaruki extends Sort {
 
     @Override
     public void runSort(int[] array, int sortLength, int bucketCount) {
+        rng = arrayVisualizer.getRandomSource().split();
         // So, let's try the shuffle.
         stableShuffle(array, 0, sortLength);
         // And then, let's create an algorithm instance of something stable and test it.
@@ -0,0 +1,495 @@
+package threads;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import main.ArrayManager;
+import main.ArrayVisualizer;
+import main.SortAnalyzer.SortPair;
+import main.SortContext;
+import sorts.templates.Sort;
+import utils.Counters;
+import utils.Delays;
+import utils.DisorderMetrics;
+import utils.Distributions;
+import utils.Highlights;
+import utils.Instrumentation;
+import utils.RandomSource;
+import utils.Shuffles;
+import utils.StopSort;
+import utils.Timer;
+
+/**
+ * Runs a list of sorts over every combination of shuffles and lengths without any windows,
+ * and prints one CSV row of statistics per run.
+ *
+ * Started with {@code --headless} as the first argument to {@link ArrayVisualizer#main(String[])}, e.g.
+ * <pre>
+ * java main.ArrayVisualizer --headless --sorts=TimSort,GrailSort --shuffles=RANDOM,REVERSE --lengths=1024,16384 --threads=all
+ * </pre>
+ */
+final public class RunBenchmark {
+    private static final String USAGE = String.join("\n",
+        "Usage: --headless --sorts=<names|all> [options]",
+        "  --sorts=a,b,...          Sort class names or 'Choose Sort' names, or 'all' for every sort",
+        "  --shuffles=a,b,...       Shuffles enum names (default: RANDOM)",
+        "  --distribution=name      Distributions enum name (default: LINEAR)",
+        "  --lengths=n,m,...        Array lengths (default: 2048)",
+        "  --runs=n                 Repetitions of every sort/shuffle/length combination (default: 1)",
+        "  --seed=n                 Seed of the first run; run k uses the seed in its row (default: random)",
+        "  --instrumentation=level  COUNTING, or TIMED to also fill in est_sort_ms (default: COUNTING)",
+        "  --threads=n|all          Run that many sorts at once, each on its own array (default: 1)",
+        "  --output=file            Write the CSV to a file instead of stdout",
+        "  --list                   List the available sorts, shuffles and distributions"
+    );
+
+    private static final String CSV_HEADER = "sort,category,shuffle,distribution,length,run,"
+                                           + "comparisons,swaps,reversals,main_writes,aux_writes,max_aux_alloc,"
+                                           + "wall_ms,est_sort_ms,sorted,seed,"
+                                           + "input_inversions,input_lis,input_rem,input_osc,input_runs";
+
+    private ArrayVisualizer arrayVisualizer;
+    private SortContext context;
+    private ArrayManager arrayManager;
+    private Delays Delays;
+    private Highlights Highlights;
+    private Timer Timer;
+
+    private PrintStream out;
+
+    public RunBenchmark(ArrayVisualizer arrayVisualizer, SortContext context, PrintStream out) {
+        this.arrayVisualizer = arrayVisualizer;
+        this.context = context;
+        this.arrayManager = context.getArrayManager();
+        this.Delays = context.getDelays();
+        this.Highlights = context.getHighlights();
+        this.Timer = context.getTimer();
+        this.out = out;
+    }
+
+    static int getDefaultAnswer(Sort sort, int length) {
+        if (sort.getQuestion() != null) {
+            return sort.getDefaultAnswer();
+        }
+        // Same fallbacks as RunDistributionSort when the 'Customize Sort' dialog is skipped
+        if (sort.usesBuckets()) {
+            if (sort.isRadixSort()) {
+                return 4;
+            } else if (sort.getRunSortName().contains("Shatter")) {
+                return Math.max(length / 16, 2);
+            } else {
+                return 16;
+            }
+        }
+        return 0;
+    }
+
+    private static String csvField(String value) {
+        if (value.indexOf(',') == -1 && value.indexOf('"') == -1) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static boolean matchesSort(SortPair pair, String name) {
+        return name.equalsIgnoreCase(pair.sortClass.getSimpleName())
+            || name.equalsIgnoreCase(pair.sortClass.getName())
+            || name.equalsIgnoreCase(pair.listName);
+    }
+
+    static Shuffles findShuffle(String name) {
+        for (Shuffles shuffle : Shuffles.values()) {
+            if (name.equalsIgnoreCase(shuffle.name()) || name.equalsIgnoreCase(shuffle.getName())) {
+                return shuffle;
+            }
+        }
+        throw new IllegalArgumentException("Unknown shuffle: " + name);
+    }
+
+    static Distributions findDistribution(String name) {
+        for (Distributions distribution : Distributions.values()) {
+            if (name.equalsIgnoreCase(distribution.name()) || name.equalsIgnoreCase(distribution.getName())) {
+                return distribution;
+            }
+        }
+        throw new IllegalArgumentException("Unknown distribution: " + name);
+    }
+
+    static SortPair[] findSorts(ArrayVisualizer arrayVisualizer, String names) {
+        SortPair[] allSorts = arrayVisualizer.getAllSorts();
+        if (names.equalsIgnoreCase("all")) {
+            return allSorts;
+        }
+
+        ArrayList<SortPair> result = new ArrayList<>();
+        for (String name : names.split(",")) {
+            name = name.trim();
+            SortPair found = null;
+            for (SortPair pair : allSorts) {
+                if (matchesSort(pair, name)) {
+                    found = pair;
+                    break;
+                }
+            }
+            if (found == null) {
+                throw new IllegalArgumentException("Unknown sort: " + name);
+            }
+            result.add(found);
+        }
+        return result.toArray(new SortPair[result.size()]);
+    }
+
+    private boolean isSorted(int[] array, int[] expected, int length) {
+        for (int i = 0; i < length; i++) {
+            if (array[i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * One sort/shuffle/length/run combination. Its result is a CSV row, or null if the sort was skipped.
+     */
+    private static final class Job {
+        final SortPair pair;
+        final Shuffles shuffle;
+        final Distributions distribution;
+        final int length;
+        final int run;
+        final long seed;
+
+        String row;
+        boolean sorted;
+
+        Job(SortPair pair, Shuffles shuffle, Distributions distribution, int length, int run, long seed) {
+            this.pair = pair;
+            this.shuffle = shuffle;
+            this.distribution = distribution;
+            this.length = length;
+            this.run = run;
+            this.seed = seed;
+        }
+    }
+
+    private void prepare(Instrumentation.Level level, Distributions distribution) {
+        this.context.setInstrumentationLevel(level);
+        this.arrayVisualizer.toggleShuffleAnimation(false);
+        this.Delays.changeSkipped(true);
+        this.arrayManager.setDistribution(distribution);
+    }
+
+    private void runJob(Job job) {
+        try {
+            this.runSingle(job);
+        } catch (Exception e) {
+            System.err.println("Could not run " + job.pair.sortClass.getName() + ":");
+            e.printStackTrace();
+            job.row = null;
+            job.sorted = false;
+        }
+    }
+
+    private void runSingle(Job job) throws Exception {
+        SortPair pair = job.pair;
+        Shuffles shuffle = job.shuffle;
+        Distributions distribution = job.distribution;
+        int length = job.length;
+        int run = job.run;
+
+        Sort sort = (Sort) pair.sortClass.getConstructor(ArrayVisualizer.class).newInstance(this.arrayVisualizer);
+
+        if (sort.isUnreasonablySlow() && length > sort.getUnreasonableLimit()) {
+            System.err.println("Skipping " + sort.getRunSortName() + " at length " + length
+                             + " (unreasonably slow above " + sort.getUnreasonableLimit() + ")");
+            job.sorted = true;
+            return;
+        }
+
+        int[] array = this.context.getArray();
+        int extra = getDefaultAnswer(sort, length);
+
+        this.context.setCurrentLength(length);
+        this.context.setUniqueItems(length);
+        this.context.getRandomSource().startRun(job.seed);
+        this.arrayManager.setShuffleSingle(shuffle);
+        this.arrayManager.shuffleArray(array, length, this.arrayVisualizer);
+        DisorderMetrics.Measures disorder = this.context.getDisorderMetrics().getInput();
+
+        int[] expected = Arrays.copyOf(array, length);
+        Arrays.sort(expected);
+
+        this.arrayVisualizer.setHeading(sort.getRunSortName());
+        this.arrayVisualizer.setCategory(sort.getCategory());
+        this.context.resetAllStatistics();
+        this.Timer.resetCategoricalTimes();
+        this.Timer.enableRealTimer();
+
+        boolean completed = true;
+        long startTime = System.nanoTime();
+        try {
+            sort.runSort(array, length, extra);
+        } catch (StopSort e) {
+            completed = false;
+        } catch (Exception | StackOverflowError | OutOfMemoryError e) {
+            System.err.println(sort.getRunSortName() + " failed at length " + length + ":");
+            e.printStackTrace();
+            completed = false;
+        }
+        long wallTime = System.nanoTime() - startTime;
+
+        this.Timer.disableRealTimer();
+        boolean sorted = completed && this.isSorted(array, expected, length);
+
+        Counters.Snapshot counts = this.context.getCounters().snapshot();
+
+        job.sorted = sorted;
+        job.row = String.join(",",
+            csvField(pair.sortClass.getSimpleName()),
+            csvField(sort.getCategory()),
+            csvField(shuffle.name()),
+            csvField(distribution.name()),
+            String.valueOf(length),
+            String.valueOf(run),
+            String.valueOf(counts.comparisons),
+            String.valueOf(counts.swaps),
+            String.valueOf(counts.reversals),
+            String.valueOf(counts.mainWrites),
+            String.valueOf(counts.auxWrites),
+            String.valueOf(counts.maxAllocAmount),
+            String.format("%.3f", wallTime * 1e-6),
+            String.format("%.3f", this.Timer.getRealTimeNanos() * 1e-6),
+            String.valueOf(sorted),
+            String.valueOf(job.seed),
+            String.valueOf(disorder.inversions),
+            String.valueOf(disorder.lis),
+            String.valueOf(disorder.rem),
+            String.valueOf(disorder.osc),
+            String.valueOf(disorder.runs)
+        );
+
+        this.context.clearExternalArrays();
+        this.Highlights.clearAllMarks();
+    }
+
+    private static long seedOfRun(long seed, int run) {
+        return seed + (run - 1) * 0x9E3779B97F4A7C15L;
+    }
+
+    private void printResult(Job job) {
+        if (job.row != null) {
+            this.out.println(job.row);
+            this.out.flush();
+        }
+    }
+
+    /**
+     * Runs every combination and prints the CSV report. With more than one thread, the jobs are spread
+     * over a pool of worker threads, each with its own {@link SortContext} (see
+     * {@link ArrayVisualizer#createContext()}), and the rows are still printed in the same order as a
+     * sequential run.
+     *
+     * @return The number of runs that failed or did not sort the array
+     */
+    public int runBenchmark(SortPair[] sorts, Shuffles[] shuffles, Distributions distribution, int[] lengths, int runs,
+                            long seed, Instrumentation.Level level, int threads) {
+        ArrayList<Job> jobs = new ArrayList<>();
+        for (SortPair pair : sorts) {
+            for (Shuffles shuffle : shuffles) {
+                for (int length : lengths) {
+                    for (int run = 1; run <= runs; run++) {
+                        // Every sort gets the same input for the same run, and a row can be repeated on its
+                        // own by passing its seed with --runs=1
+                        jobs.add(new Job(pair, shuffle, distribution, length, run, seedOfRun(seed, run)));
+                    }
+                }
+            }
+        }
+
+        this.out.println(CSV_HEADER);
+        if (threads <= 1) {
+            this.prepare(level, distribution);
+            for (Job job : jobs) {
+                this.runJob(job);
+                this.printResult(job);
+            }
+        } else {
+            this.runParallel(jobs, level, distribution, threads);
+        }
+
+        int failures = 0;
+        for (Job job : jobs) {
+            if (!job.sorted) {
+                failures++;
+            }
+        }
+        return failures;
+    }
+
+    private void runParallel(ArrayList<Job> jobs, Instrumentation.Level level, Distributions distribution, int threads) {
+        // Each pool thread sets up its context the first time it picks up a job and keeps it
+        ThreadLocal<RunBenchmark> workers = ThreadLocal.withInitial(() -> {
+            SortContext context = this.arrayVisualizer.createContext();
+            context.bindToCurrentThread();
+            RunBenchmark runner = new RunBenchmark(this.arrayVisualizer, context, this.out);
+            runner.prepare(level, distribution);
+            return runner;
+        });
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private int count = 0;
+
+            @Override
+            public synchronized Thread newThread(Runnable task) {
+                Thread thread = new Thread(task, "BenchmarkWorker-" + (++count));
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        try {
+            ArrayList<Future<?>> results = new ArrayList<>(jobs.size());
+            for (Job job : jobs) {
+                results.add(pool.submit(() -> workers.get().runJob(job)));
+            }
+            for (int i = 0; i < jobs.size(); i++) {
+                try {
+                    results.get(i).get();
+                } catch (ExecutionException e) {
+                    System.err.println("Could not run " + jobs.get(i).pair.sortClass.getName() + ":");
+                    e.getCause().printStackTrace();
+                }
+                this.printResult(jobs.get(i));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void listAll(ArrayVisualizer arrayVisualizer) {
+        System.out.println("Sorts:");
+        for (SortPair pair : arrayVisualizer.getAllSorts()) {
+            System.out.println("  " + pair.sortClass.getSimpleName() + " (" + pair.listName + ", " + pair.category + ")");
+        }
+        System.out.println("Shuffles:");
+        for (Shuffles shuffle : Shuffles.values()) {
+            System.out.println("  " + shuffle.name() + " (" + shuffle.getName() + ")");
+        }
+        System.out.println("Distributions:");
+        for (Distributions distribution : Distributions.values()) {
+            System.out.println("  " + distribution.name() + " (" + distribution.getName() + ")");
+        }
+    }
+
+    private static void exitWithUsage(String message) {
+        if (message != null) {
+            System.err.println(message);
+        }
+        System.err.println(USAGE);
+        System.exit(2);
+    }
+
+    public static void runHeadless(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        String sortNames = null;
+        String shuffleNames = "RANDOM";
+        String distributionName = "LINEAR";
+        String lengthList = "2048";
+        String outputFile = null;
+        int runs = 1;
+        String seedValue = null;
+        String levelName = "COUNTING";
+        String threadCount = "1";
+        boolean list = false;
+
+        for (String arg : args) {
+            int split = arg.indexOf('=');
+            String key = split == -1 ? arg : arg.substring(0, split);
+            String value = split == -1 ? "" : arg.substring(split + 1);
+            switch (key) {
+                case "--sorts":           sortNames = value;              break;
+                case "--shuffles":        shuffleNames = value;           break;
+                case "--distribution":    distributionName = value;       break;
+                case "--lengths":         lengthList = value;             break;
+                case "--runs":            runs = Integer.parseInt(value); break;
+                case "--seed":            seedValue = value;              break;
+                case "--instrumentation": levelName = value;              break;
+                case "--threads":         threadCount = value;            break;
+                case "--output":          outputFile = value;             break;
+                case "--list":            list = true;                    break;
+                default:                  exitWithUsage("Unknown option: " + arg);
+            }
+        }
+        if (sortNames == null && !list) {
+            exitWithUsage(null);
+        }
+
+        String[] lengthStrings = lengthList.split(",");
+        int[] lengths = new int[lengthStrings.length];
+        int maxLength = 2;
+        for (int i = 0; i < lengths.length; i++) {
+            lengths[i] = Integer.parseInt(lengthStrings[i].trim());
+            if (lengths[i] < 2) {
+                exitWithUsage("Lengths must be at least 2");
+            }
+            maxLength = Math.max(maxLength, lengths[i]);
+        }
+        ArrayVisualizer.MAX_LENGTH_POWER = 32 - Integer.numberOfLeadingZeros(maxLength - 1);
+
+        ArrayVisualizer arrayVisualizer = new ArrayVisualizer(true);
+        if (list) {
+            listAll(arrayVisualizer);
+            System.exit(0);
+        }
+
+        SortPair[] sorts = null;
+        Shuffles[] shuffles = null;
+        Distributions distribution = null;
+        Instrumentation.Level level = null;
+        long seed = 0;
+        int threads = 1;
+        try {
+            sorts = findSorts(arrayVisualizer, sortNames);
+            String[] shuffleStrings = shuffleNames.split(",");
+            shuffles = new Shuffles[shuffleStrings.length];
+            for (int i = 0; i < shuffles.length; i++) {
+                shuffles[i] = findShuffle(shuffleStrings[i].trim());
+            }
+            distribution = findDistribution(distributionName.trim());
+            seed = seedValue == null ? RandomSource.newSeed() : Long.parseLong(seedValue.trim());
+            level = Instrumentation.Level.valueOf(levelName.trim().toUpperCase());
+            if (level == Instrumentation.Level.VISUAL) {
+                throw new IllegalArgumentException("The VISUAL instrumentation level needs a window");
+            }
+            threads = threadCount.equalsIgnoreCase("all") ? Runtime.getRuntime().availableProcessors()
+                                                          : Integer.parseInt(threadCount.trim());
+        } catch (IllegalArgumentException e) {
+            exitWithUsage(e.getMessage());
+        }
+
+        PrintStream out = System.out;
+        if (outputFile != null) {
+            try {
+                out = new PrintStream(outputFile);
+            } catch (FileNotFoundException e) {
+                exitWithUsage("Cannot write to " + outputFile + ": " + e.getMessage());
+            }
+        }
+
+        int failures = new RunBenchmark(arrayVisualizer, arrayVisualizer.getContext(), out).runBenchmark(sorts, shuffles, distribution, lengths, runs, seed, level, threads);
+        out.close();
+        if (failures > 0) {
+            System.err.println(failures + " run(s) failed or did not sort the array");
+        }
+        System.exit(failures == 0 ? 0 : 1);
+    }
+}
@@ -0,0 +1,310 @@
+package threads;
+
+import java.io.File;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+import main.ArrayManager;
+import main.ArrayVisualizer;
+import main.SortAnalyzer.SortPair;
+import main.SortContext;
+import sorts.templates.Sort;
+import utils.Delays;
+import utils.Distributions;
+import utils.FrameProfiler;
+import utils.FrameWriter;
+import utils.Highlights;
+import utils.PcmSynth;
+import utils.RandomSource;
+import utils.Shuffles;
+import utils.StopSort;
+import utils.VirtualClock;
+import utils.WavRenderer;
+import visuals.VisualStyles;
+
+/**
+ * Renders one sort to a sequence of frames without a window, for making videos.
+ *
+ * Delays don't sleep here; they move a {@link VirtualClock} forward, and a frame is drawn every time it
+ * passes the next multiple of {@code 1000 / fps} milliseconds. The video therefore has exactly the timing
+ * the sort would have on screen, takes as long to make as the CPU needs, and comes out the same on every
+ * run with the same options (sorts that use several threads aside). With {@code --audio}, the sound
+ * effects are rendered on the same clock into a WAV file as long as the video.
+ *
+ * Started with {@code --export} as the first argument to {@link ArrayVisualizer#main(String[])}, e.g.
+ * <pre>
+ * java main.ArrayVisualizer --export --sort=GrailSort --length=2048 --seed=1 --output=frames
+ * java main.ArrayVisualizer --export --sort=GrailSort --audio=grail.wav --pipe="ffmpeg -f rawvideo -pix_fmt rgb24 -s 1280x720 -r 60 -i - grail.mp4"
+ * </pre>
+ */
+final public class RunExport {
+    private static final String USAGE = String.join("\n",
+        "Usage: --export --sort=<name> (--output=dir | --pipe=command) [options]",
+        "  --sort=name              Sort class name or 'Choose Sort' name",
+        "  --shuffle=name           Shuffles enum name (default: RANDOM)",
+        "  --distribution=name      Distributions enum name (default: LINEAR)",
+        "  --length=n               Array length (default: 2048)",
+        "  --seed=n                 Seed of the input and of randomized sorts (default: random)",
+        "  --visual=name            VisualStyles enum name (default: BARS)",
+        "  --color                  Color the elements by value",
+        "  --text                   Draw the statistics; the timing lines follow the wall clock",
+        "  --size=WxH               Frame size in pixels (default: 1280x720)",
+        "  --fps=n                  Frames per second of simulated time (default: 60)",
+        "  --speed=x                Multiplier of the usual sort speed (default: 1)",
+        "  --hold=ms                Simulated time to keep showing the sorted array (default: 1000)",
+        "  --format=png|rgb         File format with --output (default: png)",
+        "  --output=dir             Write numbered frames to this directory",
+        "  --pipe=command           Write raw rgb24 frames to the standard input of this command",
+        "  --audio=file             Also render the sound effects to this WAV file",
+        "  --waveform=name          sine, triangle or organ (default: sine)",
+        "  --sample-rate=n          Sample rate of the WAV file, e.g. 44100 or 48000 (default: 44100)"
+    );
+
+    private ArrayVisualizer arrayVisualizer;
+    private SortContext context;
+    private ArrayManager arrayManager;
+    private Delays Delays;
+    private Highlights Highlights;
+
+    public RunExport(ArrayVisualizer arrayVisualizer) {
+        this.arrayVisualizer = arrayVisualizer;
+        this.context = arrayVisualizer.getContext();
+        this.arrayManager = this.context.getArrayManager();
+        this.Delays = this.context.getDelays();
+        this.Highlights = this.context.getHighlights();
+    }
+
+    /**
+     * Shuffles, sorts and sweeps the array like a run started from the window, drawing the frames into
+     * {@code writer} as the simulated time passes, and the sound into {@code audio} unless it is null.
+     *
+     * @return Whether the array ended up sorted
+     */
+    public boolean export(SortPair pair, Shuffles shuffle, int length, long seed, double speed, int fps, double holdMillis,
+                          FrameWriter writer, WavRenderer audio) throws Exception {
+        Sort sort = (Sort) pair.sortClass.getConstructor(ArrayVisualizer.class).newInstance(this.arrayVisualizer);
+        int[] array = this.context.getArray();
+
+        // Writing the frame out takes the place of the copy to the window in the profile
+        FrameProfiler profiler = this.arrayVisualizer.getFrameProfiler();
+        VirtualClock clock = new VirtualClock(fps, index -> {
+            long startTime = System.nanoTime();
+            this.arrayVisualizer.renderFrame();
+
+            long writeTime = System.nanoTime();
+            writer.write(this.arrayVisualizer.getOffscreenImage(), index);
+
+            long endTime = System.nanoTime();
+            profiler.record(FrameProfiler.Phase.BLIT, endTime - writeTime);
+            profiler.record(FrameProfiler.Phase.FRAME, endTime - startTime);
+            profiler.endFrame();
+        });
+        clock.setTimeListener(audio);
+        this.Delays.setVirtualClock(clock);
+
+        this.context.setCurrentLength(length);
+        this.context.setUniqueItems(length);
+        this.arrayVisualizer.resetAllStatistics();
+        this.Highlights.clearAllMarks();
+        this.arrayVisualizer.setHeading("");
+        this.arrayVisualizer.setCategory(sort.getCategory());
+        this.context.getRandomSource().startRun(seed);
+        clock.start();
+
+        this.arrayManager.setShuffleSingle(shuffle);
+        this.arrayManager.shuffleArray(array, length, this.arrayVisualizer);
+
+        int[] expected = Arrays.copyOf(array, length);
+        Arrays.sort(expected);
+        int[] validateArray = this.arrayVisualizer.getValidationArray();
+        if (validateArray != null) {
+            System.arraycopy(expected, 0, validateArray, 0, length);
+        }
+
+        this.arrayVisualizer.setHeading(sort.getRunSortName());
+        this.Delays.setSleepRatio(this.Delays.getSleepRatio() * speed);
+        this.context.getTimer().enableRealTimer();
+
+        boolean completed = true;
+        try {
+            sort.runSort(array, length, RunBenchmark.getDefaultAnswer(sort, length));
+        } catch (StopSort e) {
+            completed = false;
+        }
+
+        boolean sorted = completed && Arrays.equals(Arrays.copyOf(array, length), expected);
+        if (sorted) {
+            // The sweep shows a dialog when the array is not sorted, which needs a window
+            this.arrayVisualizer.endSort();
+        } else {
+            this.context.getTimer().disableRealTimer();
+            this.Highlights.clearAllMarks();
+        }
+        clock.advance(holdMillis);
+
+        this.Delays.setVirtualClock(null);
+        System.err.println("Rendered " + clock.getFrameCount() + " frames (" + String.format("%.3f", clock.getTime() / 1000) + " s)");
+        if (audio != null) {
+            // The last frame is shown for a whole frame, so the track ends with it
+            audio.finish(clock.getFrameCount() * clock.getFrameMillis());
+            System.err.println("Rendered " + audio.getSampleCount() + " samples of audio");
+        }
+        System.err.print(profiler.report());
+        return sorted;
+    }
+
+    private static void exitWithUsage(String message) {
+        if (message != null) {
+            System.err.println(message);
+        }
+        System.err.println(USAGE);
+        System.exit(2);
+    }
+
+    public static void runExport(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        String sortName = null;
+        String shuffleName = "RANDOM";
+        String distributionName = "LINEAR";
+        String lengthValue = "2048";
+        String seedValue = null;
+        String visualName = "BARS";
+        String sizeValue = "1280x720";
+        String fpsValue = "60";
+        String speedValue = "1";
+        String holdValue = "1000";
+        String format = "png";
+        String outputDirectory = null;
+        String pipeCommand = null;
+        String audioFile = null;
+        String waveformName = "sine";
+        String sampleRateValue = String.valueOf(PcmSynth.DEFAULT_SAMPLE_RATE);
+        boolean color = false;
+        boolean text = false;
+
+        for (String arg : args) {
+            int split = arg.indexOf('=');
+            String key = split == -1 ? arg : arg.substring(0, split);
+            String value = split == -1 ? "" : arg.substring(split + 1);
+            switch (key) {
+                case "--sort":         sortName = value;         break;
+                case "--shuffle":      shuffleName = value;      break;
+                case "--distribution": distributionName = value; break;
+                case "--length":       lengthValue = value;      break;
+                case "--seed":         seedValue = value;        break;
+                case "--visual":       visualName = value;       break;
+                case "--color":        color = true;             break;
+                case "--text":         text = true;              break;
+                case "--size":         sizeValue = value;        break;
+                case "--fps":          fpsValue = value;         break;
+                case "--speed":        speedValue = value;       break;
+                case "--hold":         holdValue = value;        break;
+                case "--format":       format = value;           break;
+                case "--output":       outputDirectory = value;  break;
+                case "--pipe":         pipeCommand = value;      break;
+                case "--audio":        audioFile = value;        break;
+                case "--waveform":     waveformName = value;     break;
+                case "--sample-rate":  sampleRateValue = value;  break;
+                default:               exitWithUsage("Unknown option: " + arg);
+            }
+        }
+        if (sortName == null || (outputDirectory == null) == (pipeCommand == null)) {
+            exitWithUsage(null);
+        }
+
+        int length = 0, width = 0, height = 0, fps = 0, sampleRate = 0;
+        long seed = 0;
+        double speed = 0, hold = 0;
+        VisualStyles visual = null;
+        PcmSynth.Waveform waveform = null;
+        try {
+            length = Integer.parseInt(lengthValue.trim());
+            String[] size = sizeValue.toLowerCase().split("x");
+            width = Integer.parseInt(size[0].trim());
+            height = Integer.parseInt(size[1].trim());
+            fps = Integer.parseInt(fpsValue.trim());
+            speed = Double.parseDouble(speedValue.trim());
+            hold = Double.parseDouble(holdValue.trim());
+            seed = seedValue == null ? RandomSource.newSeed() : Long.parseLong(seedValue.trim());
+            visual = VisualStyles.valueOf(visualName.trim().toUpperCase());
+            waveform = PcmSynth.Waveform.valueOf(waveformName.trim().toUpperCase());
+            sampleRate = Integer.parseInt(sampleRateValue.trim());
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            exitWithUsage(e.getMessage());
+        }
+        if (length < 2 || width < 64 || height < 64 || fps < 1 || speed <= 0 || sampleRate < 8000) {
+            exitWithUsage("Invalid length, size, fps, speed or sample rate");
+        }
+        if (visual == VisualStyles.CUSTOM_IMAGE) {
+            exitWithUsage("The custom image visual needs a window to pick its image");
+        }
+        if (!format.equals("png") && !format.equals("rgb")) {
+            exitWithUsage("Unknown format: " + format);
+        }
+        ArrayVisualizer.MAX_LENGTH_POWER = Math.max(32 - Integer.numberOfLeadingZeros(length - 1), 1);
+
+        ArrayVisualizer arrayVisualizer = new ArrayVisualizer(true);
+        SortPair pair = null;
+        Shuffles shuffle = null;
+        try {
+            SortPair[] sorts = RunBenchmark.findSorts(arrayVisualizer, sortName);
+            if (sorts.length != 1) {
+                throw new IllegalArgumentException("Exactly one sort can be exported at a time");
+            }
+            pair = sorts[0];
+            shuffle = RunBenchmark.findShuffle(shuffleName.trim());
+            arrayVisualizer.getArrayManager().setDistribution(RunBenchmark.findDistribution(distributionName.trim()));
+        } catch (IllegalArgumentException e) {
+            exitWithUsage(e.getMessage());
+        }
+
+        arrayVisualizer.startOffscreen(width, height);
+        arrayVisualizer.setVisual(visual);
+        arrayVisualizer.toggleColor(color);
+        arrayVisualizer.toggleStatistics(text);
+
+        boolean[] sorted = new boolean[1];
+        int exitCode = 1;
+        try (FrameWriter writer = pipeCommand != null ? FrameWriter.pipe(pipeCommand)
+                                : format.equals("rgb") ? FrameWriter.raw(new File(outputDirectory))
+                                : FrameWriter.png(new File(outputDirectory));
+             WavRenderer audio = audioFile == null ? null
+                               : new WavRenderer(new File(audioFile), arrayVisualizer.getSounds(), arrayVisualizer.getHighlights().getAccesses(),
+                                                 new PcmSynth(arrayVisualizer.getSounds().getChannelCount(), waveform, sampleRate))) {
+            RunExport runner = new RunExport(arrayVisualizer);
+            Exception[] failure = new Exception[1];
+            final SortPair exportPair = pair;
+            final Shuffles exportShuffle = shuffle;
+            final int exportLength = length, exportFps = fps;
+            final long exportSeed = seed;
+            final double exportSpeed = speed, exportHold = hold;
+
+            // Shuffles and sorts check for a running sort thread, so the export runs on one
+            arrayVisualizer.setSortingThread(new Thread("ExportSortThread") {
+                @Override
+                public void run() {
+                    try {
+                        sorted[0] = runner.export(exportPair, exportShuffle, exportLength, exportSeed, exportSpeed, exportFps, exportHold, writer, audio);
+                    } catch (Exception e) {
+                        failure[0] = e;
+                    }
+                }
+            });
+            arrayVisualizer.runSortingThread();
+            arrayVisualizer.getSortingThread().join();
+
+            if (failure[0] != null) {
+                throw failure[0];
+            }
+            exitCode = sorted[0] ? 0 : 1;
+            if (!sorted[0]) {
+                System.err.println(pair.sortClass.getSimpleName() + " did not sort the array");
+            }
+        } catch (Exception e) {
+            System.err.println("Export failed:");
+            (e instanceof UncheckedIOException ? e.getCause() : e).printStackTrace();
+        }
+        System.exit(exitCode);
+    }
+}
@@ -54,6 +54,12 @@ final public class RunScriptedSorts extends MultipleSortThread {
                 String category = (String)command.argument;
                 RunScriptedSorts.this.currentCategory = category;
                 arrayVisualizer.setCategory(category);
+            } else if (command.type == MultipleScript.ScriptCommand.CommandType.SetSeed) {
+                if (command.argument == null) {
+                    arrayVisualizer.getRandomSource().clearSeed();
+                } else {
+                    arrayVisualizer.getRandomSource().setSeed((Long)command.argument);
+                }
             } else if (command.type == MultipleScript.ScriptCommand.CommandType.SortCall) {
                 MultipleScript.SortCallInfo info = (MultipleScript.SortCallInfo)command.argument;
                 RunScriptedSorts.this.runIndividualSort(info.algortitm,
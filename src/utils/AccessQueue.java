@@ -0,0 +1,100 @@
+package utils;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ *
+MIT License
+
+Copyright (c) 2021 ArrayV 4.0 Team
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ *
+ */
+
+/**
+ * The most recent array positions touched by a sort, handed from the sorting threads to the audio thread
+ * without locking.
+ *
+ * Writers claim a slot with one atomic increment and never wait; once more than {@link #getCapacity()}
+ * positions are waiting, the oldest are overwritten, since only what was touched lately is worth
+ * playing. There is a single reader, which takes the newest positions with {@link #poll(int[], int)}.
+ * A slot claimed but not yet filled in may still hold an older position when it is read; that costs one
+ * wrong note at most.
+ *
+ * Writers should only offer while {@link #hasReader()}, so that nothing is paid on every mark while no
+ * engine is listening (the MIDI engine replays the highlights instead).
+ */
+final public class AccessQueue {
+    private final AtomicIntegerArray slots;
+    private final int mask;
+
+    private final AtomicLong head = new AtomicLong();
+    private long tail; // Only touched by the reader
+    private volatile int readers;
+
+    public AccessQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        this.slots = new AtomicIntegerArray(size);
+        this.mask = size - 1;
+    }
+
+    public int getCapacity() {
+        return this.mask + 1;
+    }
+
+    public boolean hasReader() {
+        return this.readers > 0;
+    }
+    public synchronized void attachReader() {
+        this.readers++;
+    }
+    public synchronized void detachReader() {
+        this.readers--;
+    }
+
+    public void offer(int position) {
+        long seq = this.head.getAndIncrement();
+        this.slots.lazySet((int) (seq & this.mask), position);
+    }
+
+    /**
+     * Copies the newest positions offered since the last poll into {@code out}, oldest first, and drops
+     * the rest.
+     *
+     * @return How many positions were copied, at most {@code max}
+     */
+    public int poll(int[] out, int max) {
+        long end = this.head.get();
+        long start = Math.max(this.tail, end - Math.min(max, this.getCapacity()));
+        this.tail = end;
+
+        int count = 0;
+        for (long seq = start; seq < end; seq++) {
+            out[count++] = this.slots.get((int) (seq & this.mask));
+        }
+        return count;
+    }
+
+    // Forgets everything offered so far
+    public void clear() {
+        this.tail = this.head.get();
+    }
+}
@@ -21,9 +21,9 @@ public class ArrayVList extends AbstractList<Integer> implements RandomAccess, C
     final static int DEFAULT_CAPACITY = 128;
     final static double DEFAULT_GROW_FACTOR = 2;
 
-    static ArrayVisualizer arrayVisualizer;
-    static Reads Reads;
-    static Writes Writes;
+    ArrayVisualizer arrayVisualizer;
+    Reads Reads;
+    Writes Writes;
 
     int[] internal;
     double growFactor;
@@ -38,11 +38,9 @@ public class ArrayVList extends AbstractList<Integer> implements RandomAccess, C
     }
 
     public ArrayVList(int capacity, double growFactor) {
-        if (arrayVisualizer == null) {
-            arrayVisualizer = ArrayVisualizer.getInstance();
-            Reads = arrayVisualizer.getReads();
-            Writes = arrayVisualizer.getWrites();
-        }
+        this.arrayVisualizer = ArrayVisualizer.getInstance();
+        this.Reads = arrayVisualizer.getReads();
+        this.Writes = arrayVisualizer.getWrites();
         this.internal = new int[capacity];
         arrayVisualizer.getArrays().add(internal);
         this.count = 0;
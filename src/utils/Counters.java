@@ -0,0 +1,155 @@
+package utils;
+
+import java.text.DecimalFormat;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The operation counters behind {@link Reads} and {@link Writes}.
+ *
+ * Every counter is striped ({@link LongAdder}/{@link LongAccumulator}): an uncontended update is a single CAS on
+ * a base cell, and when several sorting threads count at once each of them gets its own cell instead of fighting
+ * over one volatile field. Increments are never lost, so the statistics of parallel sorts are exact once their
+ * threads have finished. Readers should take a {@link #snapshot()} and work from that rather than querying
+ * the counters one by one, so every statistic shown together comes from one pass over the counters.
+ */
+public final class Counters {
+    private final LongAdder comparisons = new LongAdder();
+    private final LongAdder swaps = new LongAdder();
+    private final LongAdder reversals = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder auxWrites = new LongAdder();
+    private final LongAdder recursions = new LongAdder();
+    private final LongAccumulator depth = new LongAccumulator(Math::max, 0);
+
+    // The current amount has to be known exactly to track the peak, so it is a plain atomic.
+    // Allocations are rare next to reads and writes.
+    private final AtomicLong allocAmount = new AtomicLong();
+    private final LongAccumulator maxAllocAmount = new LongAccumulator(Math::max, 0);
+
+    /**
+     * The counters read one after another. The writers take no lock, so while a sort is still counting the
+     * values are not read at one instant: each is exact when read, but e.g. {@code swaps} may include a swap
+     * whose comparison {@code comparisons} missed. Once the sorting threads have finished, a snapshot is
+     * exact.
+     */
+    public static final class Snapshot {
+        public final long comparisons;
+        public final long swaps;
+        public final long reversals;
+        public final long mainWrites;
+        public final long auxWrites;
+        public final long allocAmount;
+        public final long maxAllocAmount;
+        public final long recursions;
+        public final long depth;
+
+        private Snapshot(Counters counters) {
+            this.comparisons = counters.comparisons.sum();
+            this.swaps = counters.swaps.sum();
+            this.reversals = counters.reversals.sum();
+            this.mainWrites = counters.writes.sum();
+            this.auxWrites = counters.auxWrites.sum();
+            this.allocAmount = counters.allocAmount.get();
+            this.maxAllocAmount = counters.maxAllocAmount.get();
+            this.recursions = counters.recursions.sum();
+            this.depth = counters.depth.get();
+        }
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(this);
+    }
+
+    public static String format(DecimalFormat formatter, long value, String singular, String plural) {
+        if (value < 0) {
+            return "Over " + formatter.format(Long.MAX_VALUE) + " " + plural;
+        } else {
+            if (value == 1) return value + " " + singular;
+            else            return formatter.format(value) + " " + plural;
+        }
+    }
+
+    public void addComparison() {
+        this.comparisons.increment();
+    }
+    public void setComparisons(long value) {
+        this.comparisons.reset();
+        this.comparisons.add(value);
+    }
+    public long getComparisons() {
+        return this.comparisons.sum();
+    }
+
+    public void addSwap() {
+        this.swaps.increment();
+    }
+    public long getSwaps() {
+        return this.swaps.sum();
+    }
+
+    public void addReversals(long value) {
+        this.reversals.add(value);
+    }
+    public long getReversals() {
+        return this.reversals.sum();
+    }
+
+    public void addWrites(long value) {
+        this.writes.add(value);
+    }
+    public long getWrites() {
+        return this.writes.sum();
+    }
+
+    public void addAuxWrites(long value) {
+        this.auxWrites.add(value);
+    }
+    public long getAuxWrites() {
+        return this.auxWrites.sum();
+    }
+
+    public void changeAllocAmount(long value) {
+        long amount = this.allocAmount.addAndGet(value);
+        if (value > 0) this.maxAllocAmount.accumulate(amount);
+    }
+    public void clearAllocAmount() {
+        this.allocAmount.set(0);
+    }
+    public long getAllocAmount() {
+        return this.allocAmount.get();
+    }
+    public long getMaxAllocAmount() {
+        return this.maxAllocAmount.get();
+    }
+
+    public void addRecursions(long value) {
+        this.recursions.add(value);
+    }
+    public long getRecursions() {
+        return this.recursions.sum();
+    }
+
+    public void recordDepth(long value) {
+        this.depth.accumulate(value);
+    }
+    public long getDepth() {
+        return this.depth.get();
+    }
+
+    public void resetReads() {
+        this.comparisons.reset();
+    }
+
+    public void resetWrites() {
+        this.swaps.reset();
+        this.reversals.reset();
+        this.writes.reset();
+        this.auxWrites.reset();
+        this.recursions.reset();
+        this.depth.reset();
+        this.allocAmount.set(0);
+        this.maxAllocAmount.reset();
+    }
+}
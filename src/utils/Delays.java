@@ -1,9 +1,11 @@
 package utils;
 
 import java.text.DecimalFormat;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
 
 import main.ArrayVisualizer;
-import panes.JErrorPane;
 
 /*
  *
@@ -31,32 +33,72 @@ SOFTWARE.
  *
  */
 
+/**
+ * Slows sorts down to the speed picked in the window.
+ *
+ * Delays are not slept one by one. Each one moves the sleeping thread's own deadline further out, and the
+ * thread parks until that deadline, so delays far shorter than the OS timer still add up to the right
+ * speed instead of being rounded away, and the time a sort spends working counts against them (up to
+ * {@link #MAX_LAG_NANOS}). A park tends to wake up late by a fairly steady amount, so it is cut short by the
+ * lateness measured so far and whatever is left over carries into the next delay.
+ *
+ * Every thread keeps its own deadline, so the threads of a parallel sort sleep side by side rather than
+ * queueing behind each other. What affects all of them is shared: deadlines are kept on a clock that stands
+ * still while paused, a skip makes every thread drop what it still owes, and a speed change rescales what
+ * each of them owes. All three wake the parked threads at once, and a paused thread parks until it is
+ * resumed rather than waking up every millisecond to check.
+ */
 final public class Delays {
+    // How far behind its deadlines a slow sort may fall and then catch up by not sleeping
+    private static final long MAX_LAG_NANOS = 2_000_000;
+
     private ArrayVisualizer arrayVisualizer;
 
     private volatile double SLEEPRATIO;
     private volatile boolean SKIPPED;
+    private volatile boolean DELAYS;
+
+    // What one thread still has to sleep, and the shared changes it has caught up with
+    private static final class Debt {
+        long deadline;
+        long skips;
+        double speedScale;
+    }
 
-    private double addamt;
-    private double delay;
-    private double nanos;
+    private final ThreadLocal<Debt> debts;
+    private volatile long skips;
+    private volatile double speedScale; // Product of all speed changes so far
+    private volatile long pausedNanos;  // Total time spent paused, which the delay clock leaves out
+    private volatile long pausedAt;
+    private volatile long overshoot;
+    private final Set<Thread> sleepers;
 
     private volatile double currentDelay;
     private volatile boolean paused;
 
-    private DecimalFormat formatter;
+    private volatile VirtualClock VirtualClock;
 
-    private Sounds Sounds;
+    private DecimalFormat formatter;
 
     public Delays(ArrayVisualizer arrayVisualizer) {
         this.arrayVisualizer = arrayVisualizer;
 
         this.SLEEPRATIO = 1.0;
         this.SKIPPED = false;
-        this.addamt = 0;
+        this.DELAYS = true;
+
+        this.speedScale = 1;
+        this.debts = ThreadLocal.withInitial(() -> {
+            Debt debt = new Debt();
+            debt.deadline = this.clock();
+            debt.skips = this.skips;
+            debt.speedScale = this.speedScale;
+            return debt;
+        });
+        this.overshoot = 50_000;
+        this.sleepers = ConcurrentHashMap.newKeySet();
 
         this.formatter = arrayVisualizer.getNumberFormat();
-        this.Sounds = arrayVisualizer.getSounds();
     }
 
     public String displayCurrentDelay() {
@@ -82,23 +124,22 @@ final public class Delays {
     public void setDisplayedDelay(double value) {
         this.currentDelay = value;
     }
+    // Makes whatever delay the current thread still owes exactly this long
     public void setCurrentDelay(double value) {
-        this.delay = value;
+        Debt debt = this.debts.get();
+        this.catchUp(debt);
+        debt.deadline = this.clock() + (long) (Math.max(value, 0) * 1e6);
     }
-    public void updateCurrentDelay(double oldRatio, double newRatio) {
-        this.delay = (this.delay * oldRatio) / newRatio;
-        this.currentDelay = this.delay;
-        this.Sounds.changeNoteDelayAndFilter((int) this.currentDelay);
-        this.addamt = 0;
-
-        if (this.currentDelay < 0) {
-            this.delay = this.currentDelay = 0;
-        }
+    public synchronized void updateCurrentDelay(double oldRatio, double newRatio) {
+        this.speedScale *= oldRatio / newRatio;
+        this.currentDelay = Math.max(this.currentDelay * oldRatio / newRatio, 0);
+        this.arrayVisualizer.getSounds().changeNoteDelayAndFilter((int) this.currentDelay);
+        this.wakeSleepers();
     }
     //TODO: Remove when sorts receive ArrayVisualizer
     public void updateDelayForTimeSort(double value) {
         this.setDisplayedDelay(value);
-        this.Sounds.changeNoteDelayAndFilter((int) value);
+        this.arrayVisualizer.getSounds().changeNoteDelayAndFilter((int) value);
     }
 
     public double getSleepRatio() {
@@ -113,45 +154,123 @@ final public class Delays {
     }
     public void changeSkipped(boolean Bool) {
         this.SKIPPED = Bool;
-        if (this.SKIPPED) this.Sounds.changeNoteDelayAndFilter(1);
+        if (this.SKIPPED) {
+            this.skips++;
+            this.arrayVisualizer.getSounds().changeNoteDelayAndFilter(1);
+            this.wakeSleepers();
+        }
+    }
+
+    public boolean delaysEnabled() {
+        return this.DELAYS;
+    }
+    public void toggleDelays(boolean Bool) {
+        this.DELAYS = Bool;
     }
 
     public boolean paused() {
         return this.paused;
     }
-    public void changePaused(boolean Bool) {
+    public synchronized void changePaused(boolean Bool) {
+        if (Bool == this.paused) return;
+        if (Bool) {
+            this.pausedAt = System.nanoTime();
+        } else {
+            this.pausedNanos += System.nanoTime() - this.pausedAt;
+        }
         this.paused = Bool;
-        this.Sounds.toggleSound(!Bool);
+        this.arrayVisualizer.getSounds().toggleSound(!Bool);
+        this.wakeSleepers();
     }
     public void togglePaused() {
         this.changePaused(!this.paused);;
     }
 
+    public VirtualClock getVirtualClock() {
+        return this.VirtualClock;
+    }
+    // While a clock is set, delays advance it instead of sleeping (see RunExport)
+    public void setVirtualClock(VirtualClock clock) {
+        this.VirtualClock = clock;
+    }
+
+    // The time delays are measured in; it stands still while paused
+    private long clock() {
+        return System.nanoTime() - this.pausedNanos;
+    }
+
+    // Applies the skips and speed changes made since the thread last looked
+    private void catchUp(Debt debt) {
+        long skips = this.skips;
+        if (debt.skips != skips) {
+            debt.skips = skips;
+            debt.deadline = this.clock();
+        }
+        double speedScale = this.speedScale;
+        if (debt.speedScale != speedScale) {
+            long now = this.clock();
+            long remaining = Math.max(debt.deadline - now, 0);
+            debt.deadline = now + (long) (remaining * speedScale / debt.speedScale);
+            debt.speedScale = speedScale;
+        }
+    }
+
+    private void wakeSleepers() {
+        for (Thread thread : this.sleepers) {
+            LockSupport.unpark(thread);
+        }
+    }
+
     public void sleep(double millis) {
-        if (millis <= 0) {
+        if (millis <= 0 || !this.DELAYS) {
             return;
         }
 
-        this.delay += (millis * (1 / this.SLEEPRATIO));
         this.currentDelay = (millis * (1 / this.SLEEPRATIO));
 
-        this.Sounds.changeNoteDelayAndFilter((int) this.currentDelay);
+        this.arrayVisualizer.getSounds().changeNoteDelayAndFilter((int) this.currentDelay);
+
+        VirtualClock clock = this.VirtualClock;
+        if (clock != null) {
+            if (!this.SKIPPED) clock.advance(this.currentDelay);
+            this.currentDelay = 0;
+            return;
+        }
+
+        if (!this.SKIPPED) {
+            Debt debt = this.debts.get();
+            this.catchUp(debt);
+            debt.deadline = Math.max(debt.deadline, this.clock() - MAX_LAG_NANOS) + (long) (this.currentDelay * 1e6);
+            this.waitForDeadline(debt);
+        }
+
+        this.currentDelay = 0;
+    }
 
+    // With the loop, speed changes, skips and pauses take effect without waiting for the current delay to finish
+    private void waitForDeadline(Debt debt) {
+        Thread thread = Thread.currentThread();
+        this.sleepers.add(thread);
         try {
-            // With this for loop, you can change the speed of sorts without waiting for the current delay to finish.
-            if (!this.SKIPPED) {
-                while (this.paused || this.delay >= 1) {
-                    Thread.sleep(1);
-                    if (!this.paused)
-                        this.delay--;
+            while (!this.SKIPPED && !thread.isInterrupted()) {
+                if (this.paused) {
+                    LockSupport.park(this);
+                    continue;
                 }
-            } else {
-                this.delay = 0;
+
+                this.catchUp(debt);
+                long slice = debt.deadline - this.clock() - this.overshoot;
+                if (slice <= 0) break;
+
+                long start = System.nanoTime();
+                LockSupport.parkNanos(this, slice);
+                long late = System.nanoTime() - start - slice;
+                // Parks that were woken early say nothing about the timer, and one very late wake up (a GC
+                // pause, say) should not make every following park short
+                if (late >= 0) this.overshoot += (Math.min(late, 1_000_000) - this.overshoot) / 8;
             }
-        } catch (Exception ex) {
-            JErrorPane.invokeErrorMessage(ex);
+        } finally {
+            this.sleepers.remove(thread);
         }
-
-        this.currentDelay = 0;
     }
 }
\ No newline at end of file
@@ -0,0 +1,123 @@
+package utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+ *
+MIT License
+
+Copyright (c) 2021 ArrayV 4.0 Team
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ *
+ */
+
+/**
+ * Records which parts of the main array were written since the renderer last looked, without locking.
+ *
+ * The array is split into at most 65536 blocks, with one bit per block. A write sets its block's bit, and
+ * only pays for an atomic update the first time a block is touched in a frame; the visuals thread takes
+ * the bits away with {@link #drain(Visitor)}, which hands over runs of dirty blocks as single intervals.
+ */
+final public class DirtyRegions {
+    public interface Visitor {
+        void visit(int from, int to);
+    }
+
+    private static final int MAX_BLOCKS = 1 << 16;
+
+    private final AtomicLongArray words;
+    private final int shift;
+    private final int length;
+
+    private volatile boolean allDirty;
+
+    public DirtyRegions(int maximumLength) {
+        int shift = 0;
+        while ((((long) maximumLength - 1) >> shift) >= MAX_BLOCKS) {
+            shift++;
+        }
+        this.shift = shift;
+        this.length = maximumLength;
+        this.words = new AtomicLongArray((((maximumLength - 1) >> shift) >> 6) + 1);
+        this.allDirty = true;
+    }
+
+    public void add(int index) {
+        int block = index >>> this.shift;
+        int word = block >>> 6;
+        long bit = 1L << block;
+        if (word >= this.words.length()) return;
+
+        long bits = this.words.get(word);
+        while ((bits & bit) == 0 && !this.words.compareAndSet(word, bits, bits | bit)) {
+            bits = this.words.get(word);
+        }
+    }
+    // Marks [from, to)
+    public void add(int from, int to) {
+        if (from >= to) return;
+        int last = (to - 1) >>> this.shift;
+        for (int block = from >>> this.shift; block <= last; block++) {
+            this.add(block << this.shift);
+        }
+    }
+    // For changes that did not go through Writes, e.g. filling or resizing the array
+    public void addAll() {
+        this.allDirty = true;
+    }
+
+    /**
+     * Clears everything recorded so far, passing each run of dirty blocks to {@code visitor} as one interval
+     * of indices. Intervals may reach past the part of the array in use.
+     */
+    public void drain(Visitor visitor) {
+        if (this.allDirty) {
+            this.allDirty = false;
+            for (int i = 0; i < this.words.length(); i++) {
+                this.words.set(i, 0);
+            }
+            visitor.visit(0, this.length);
+            return;
+        }
+
+        int runStart = -1;
+        for (int word = 0; word < this.words.length(); word++) {
+            long bits = this.words.get(word) == 0 ? 0 : this.words.getAndSet(word, 0);
+            if (bits == 0 && runStart < 0) continue;
+            if (bits == -1L) {
+                if (runStart < 0) runStart = word << 6;
+                continue;
+            }
+
+            for (int b = 0; b < 64; b++) {
+                int block = (word << 6) + b;
+                if ((bits & (1L << b)) != 0) {
+                    if (runStart < 0) runStart = block;
+                } else if (runStart >= 0) {
+                    visitor.visit(runStart << this.shift, Math.min(block << this.shift, this.length));
+                    runStart = -1;
+                }
+            }
+        }
+        if (runStart >= 0) {
+            visitor.visit(runStart << this.shift, this.length);
+        }
+    }
+}
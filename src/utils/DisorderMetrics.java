@@ -0,0 +1,336 @@
+package utils;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ *
+MIT License
+
+Copyright (c) 2021 ArrayV 4.0 Team
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ *
+ */
+
+/**
+ * Measures of how far the main array is from sorted, for comparing what a sort costs with how much
+ * order its input already had.
+ *
+ * {@link #measure(int[], int)} takes the inversion count (with a Fenwick tree over the ranks of the
+ * values), the longest ascending subsequence and Rem, the number of elements outside it, Osc and the
+ * number of ascending runs, all in O(n log n). The array manager measures every shuffled input and keeps
+ * the result as {@link #getInput()}.
+ *
+ * Only the inversion count is kept up to date while a sort runs. A swap changes it by one plus the values
+ * between the two swapped ones, so swaps of nearby elements adjust it in place. Any other write, or a
+ * swap spanning more than {@value #MAX_SWAP_SPAN} elements, leaves the count stale until it is counted
+ * again in the background (see {@link #requestRecount(int[], int)}). The live count is only kept while it
+ * is shown ({@link #toggleLive(boolean)}). All counts are relative to ascending order.
+ */
+final public class DisorderMetrics {
+    public static final class Measures {
+        public final int length;
+        public final long inversions;
+        public final int lis;
+        public final int rem;
+        public final long osc;
+        public final int runs;
+
+        private Measures(int length, long inversions, int lis, long osc, int runs) {
+            this.length = length;
+            this.inversions = inversions;
+            this.lis = lis;
+            this.rem = length - lis;
+            this.osc = osc;
+            this.runs = runs;
+        }
+    }
+
+    private static final int MAX_SWAP_SPAN = 1024;
+    private static final int MAX_RECOUNT_LENGTH = 1 << 20;
+    private static final int RECOUNT_REST = 4;
+
+    private static final ExecutorService RECOUNTER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "InversionCountThread");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Measures input;
+
+    private volatile boolean LIVE;
+
+    // Written by the sorting threads without locking: a write only marks the count dirty, and a swap
+    // adjusts it atomically. The recount thread clears dirty when it starts and only calls its result
+    // exact if nothing marked it again in the meantime.
+    private final AtomicLong inversions;
+    private volatile boolean exact;
+    private volatile boolean dirty;
+
+    private final AtomicBoolean counting;
+    private volatile int recounts; // Only written by the recount thread
+    private volatile long nextRecount;
+
+    public DisorderMetrics() {
+        this.input = new Measures(0, 0, 0, 0, 0);
+        this.LIVE = false;
+        this.inversions = new AtomicLong();
+        this.exact = false;
+        this.dirty = true;
+        this.counting = new AtomicBoolean();
+    }
+
+    public static Measures measure(int[] array, int length) {
+        if (length <= 0) return new Measures(0, 0, 0, 0, 0);
+
+        int[] ranks = ranks(array, length);
+        return new Measures(length, countInversions(ranks, length), longestAscending(array, length),
+                            countOscillation(array, length), countRuns(array, length));
+    }
+
+    // Equal values share the rank of the first of them, so ranks are in [0, length)
+    private static int[] ranks(int[] array, int length) {
+        int min = array[0], max = array[0];
+        for (int i = 1; i < length; i++) {
+            min = Math.min(min, array[i]);
+            max = Math.max(max, array[i]);
+        }
+        // Arrays here usually hold values in about [0, length), which can be ranked by counting
+        if ((long) max - min < 4L * length) {
+            int[] below = new int[max - min + 2];
+            for (int i = 0; i < length; i++) {
+                below[array[i] - min + 1]++;
+            }
+            for (int v = 1; v < below.length; v++) {
+                below[v] += below[v - 1];
+            }
+            int[] ranks = new int[length];
+            for (int i = 0; i < length; i++) {
+                ranks[i] = below[array[i] - min];
+            }
+            return ranks;
+        }
+
+        int[] sorted = Arrays.copyOf(array, length);
+        Arrays.sort(sorted);
+        int[] ranks = new int[length];
+        for (int i = 0; i < length; i++) {
+            ranks[i] = lowerBound(sorted, length, array[i]);
+        }
+        return ranks;
+    }
+
+    private static long countInversions(int[] ranks, int length) {
+        int[] tree = new int[length + 1];
+        long inversions = 0;
+        for (int i = 0; i < length; i++) {
+            int notGreater = 0;
+            for (int k = ranks[i] + 1; k > 0; k -= k & -k) {
+                notGreater += tree[k];
+            }
+            inversions += i - notGreater;
+            for (int k = ranks[i] + 1; k <= length; k += k & -k) {
+                tree[k]++;
+            }
+        }
+        return inversions;
+    }
+
+    // Longest non-decreasing subsequence, by patience sorting
+    private static int longestAscending(int[] array, int length) {
+        int[] tails = new int[length];
+        int size = 0;
+        for (int i = 0; i < length; i++) {
+            int pos = upperBound(tails, size, array[i]);
+            tails[pos] = array[i];
+            if (pos == size) size++;
+        }
+        return size;
+    }
+
+    // The sum over all elements of how many neighbouring pairs strictly straddle them. Pairs of equal
+    // values straddle nothing, and for the rest an element v is inside (lo, hi) exactly when lo < v
+    // without hi <= v.
+    private static long countOscillation(int[] array, int length) {
+        int[] lows = new int[Math.max(length - 1, 0)];
+        int[] highs = new int[lows.length];
+        int pairs = 0;
+        for (int i = 0; i < length - 1; i++) {
+            if (array[i] != array[i + 1]) {
+                lows[pairs] = Math.min(array[i], array[i + 1]);
+                highs[pairs] = Math.max(array[i], array[i + 1]);
+                pairs++;
+            }
+        }
+        Arrays.sort(lows, 0, pairs);
+        Arrays.sort(highs, 0, pairs);
+
+        long osc = 0;
+        for (int i = 0; i < length; i++) {
+            osc += lowerBound(lows, pairs, array[i]) - upperBound(highs, pairs, array[i]);
+        }
+        return osc;
+    }
+
+    private static int countRuns(int[] array, int length) {
+        int runs = 1;
+        for (int i = 0; i < length - 1; i++) {
+            if (array[i] > array[i + 1]) runs++;
+        }
+        return runs;
+    }
+
+    private static int lowerBound(int[] array, int size, int value) {
+        int lo = 0, hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (array[mid] < value) lo = mid + 1;
+            else                    hi = mid;
+        }
+        return lo;
+    }
+    private static int upperBound(int[] array, int size, int value) {
+        int lo = 0, hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (array[mid] <= value) lo = mid + 1;
+            else                     hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * Measures a freshly shuffled array, keeping the result as the input measures and restarting the live
+     * inversion count from it.
+     */
+    public Measures measureInput(int[] array, int length) {
+        Measures measures = measure(array, length);
+        this.input = measures;
+        this.inversions.set(measures.inversions);
+        this.dirty = false;
+        this.exact = true;
+        return measures;
+    }
+
+    public Measures getInput() {
+        return this.input;
+    }
+
+    public boolean liveEnabled() {
+        return this.LIVE;
+    }
+    // Only kept up to date while the count is shown; otherwise the write hooks return at once
+    public void toggleLive(boolean Bool) {
+        this.LIVE = Bool;
+        this.markStale();
+    }
+
+    private void markStale() {
+        this.dirty = true;
+        this.exact = false;
+    }
+
+    /**
+     * Called after {@code array[a]} and {@code array[b]} were swapped.
+     */
+    public void swapped(int[] array, int a, int b, int length) {
+        if (!this.LIVE) return;
+
+        // A recount that overlaps this swap may or may not have seen it, so it must not be trusted
+        int epoch = this.recounts;
+        if (this.counting.get()) {
+            this.markStale();
+            return;
+        }
+        if (!this.exact || a == b) return;
+
+        int lo = Math.min(a, b), hi = Math.max(a, b);
+        if (lo < 0 || hi >= length || hi - lo > MAX_SWAP_SPAN) {
+            this.markStale();
+            return;
+        }
+
+        int left = array[lo], right = array[hi];
+        if (left == right) return;
+
+        // The pair itself, plus two pairs for every value strictly between the swapped ones and one for
+        // every value equal to either of them
+        int min = Math.min(left, right), max = Math.max(left, right);
+        long delta = 1;
+        for (int i = lo + 1; i < hi; i++) {
+            int value = array[i];
+            if (value > min && value < max)         delta += 2;
+            else if (value == min || value == max)  delta++;
+        }
+        this.inversions.addAndGet(left > right ? delta : -delta);
+
+        if (this.recounts != epoch || this.counting.get()) this.markStale();
+    }
+
+    // Any other write to the main array
+    public void written() {
+        if (this.LIVE) this.markStale();
+    }
+    public void invalidate() {
+        this.written();
+    }
+
+    /**
+     * Has the inversions counted again on a background thread if the live count is stale. Only one count
+     * runs at a time, and after each the thread rests for {@value #RECOUNT_REST} times as long as the count
+     * took, so it never takes more than a fifth of a CPU away from the sort and the visuals.
+     */
+    public void requestRecount(int[] array, int length) {
+        if (!this.LIVE || this.exact || length > MAX_RECOUNT_LENGTH || System.nanoTime() < this.nextRecount) return;
+        if (!this.counting.compareAndSet(false, true)) return;
+
+        RECOUNTER.execute(() -> {
+            long startTime = System.nanoTime();
+            try {
+                this.recount(array, length);
+            } finally {
+                long endTime = System.nanoTime();
+                this.nextRecount = endTime + RECOUNT_REST * (endTime - startTime);
+                this.counting.set(false);
+            }
+        });
+    }
+
+    // Any write during the count leaves it an estimate, which is still shown (with "~") until the next one
+    private void recount(int[] array, int length) {
+        this.recounts++;
+        this.dirty = false;
+        long count = length <= 0 ? 0 : countInversions(ranks(array, length), length);
+        this.inversions.set(count);
+        if (this.dirty) return;
+        this.exact = true;
+        if (this.dirty) this.exact = false;
+    }
+
+    public long getInversions() {
+        return this.inversions.get();
+    }
+    public boolean isStale() {
+        return !this.exact;
+    }
+}
@@ -4,8 +4,8 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 import java.util.Scanner;
+import java.util.SplittableRandom;
 
 import dialogs.LoadCustomDistributionDialog;
 import main.ArrayVisualizer;
@@ -57,7 +57,7 @@ public enum Distributions {
         @Override
         public void initializeArray(int[] array, ArrayVisualizer ArrayVisualizer) {
             int currentLen = ArrayVisualizer.getCurrentLength();
-            Random random = new Random();
+            SplittableRandom random = ArrayVisualizer.getRandomSource().split();
 
             int l = 0, r, t = Math.min(currentLen, 8);
             for (int i = 0; i < t; i++)
@@ -91,7 +91,7 @@ public enum Distributions {
         @Override
         public void initializeArray(int[] array, ArrayVisualizer ArrayVisualizer) {
             int currentLen = ArrayVisualizer.getCurrentLength();
-            Random random = new Random();
+            SplittableRandom random = ArrayVisualizer.getRandomSource().split();
 
             for (int i = 0; i < currentLen; i++)
                 array[i] = random.nextInt(currentLen);
@@ -220,7 +220,7 @@ public enum Distributions {
         @Override
         public void initializeArray(int[] array, ArrayVisualizer ArrayVisualizer) {
             int currentLen = ArrayVisualizer.getCurrentLength();
-            Random random = new Random();
+            SplittableRandom random = ArrayVisualizer.getRandomSource().split();
 
             int[] perlinNoise = new int[currentLen];
 
@@ -455,7 +455,7 @@ public enum Distributions {
         @Override
         public void initializeArray(int[] array, ArrayVisualizer ArrayVisualizer) {
             int currentLen = ArrayVisualizer.getCurrentLength();
-            Random random = new Random();
+            SplittableRandom random = ArrayVisualizer.getRandomSource().split();
 
             for (int i = 0; i < currentLen; i++){
                 int r = random.nextInt(currentLen - i) + i;
@@ -0,0 +1,185 @@
+package utils;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+
+/*
+ *
+MIT License
+
+Copyright (c) 2021 ArrayV 4.0 Team
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ *
+ */
+
+/**
+ * Nanosecond timings of the phases of each rendered frame, so a slow frame can be traced to the visual, the
+ * statistics text or the copy to the window.
+ *
+ * Every phase keeps log-linear histograms (16 buckets per power of two, so a value is off by at most
+ * 1/16): a rolling one over the last two to four seconds for the statistics line, and one over the whole
+ * session for {@link #report()}, which is printed when the program exits.
+ */
+final public class FrameProfiler {
+    public enum Phase {
+        START("Start"),
+        VISUAL("Visual"),
+        STATS("Stats"),
+        BLIT("Blit"),
+        FRAME("Frame");
+
+        private final String label;
+
+        private Phase(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return this.label;
+        }
+    }
+
+    private static final int SUB_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS) * SUB_BUCKETS;
+
+    private static final long WINDOW_NANOS = 2_000_000_000L;
+
+    private static final class Histogram {
+        private final long[] counts = new long[BUCKETS];
+        private long count;
+        private long max;
+
+        void record(long nanos) {
+            this.counts[bucketOf(nanos)]++;
+            this.count++;
+            this.max = Math.max(this.max, nanos);
+        }
+
+        void clear() {
+            Arrays.fill(this.counts, 0);
+            this.count = 0;
+            this.max = 0;
+        }
+    }
+
+    private final EnumMap<Phase, Histogram> recent;
+    private final EnumMap<Phase, Histogram> previous;
+    private final EnumMap<Phase, Histogram> total;
+    private long windowStart;
+
+    public FrameProfiler() {
+        this.recent = new EnumMap<>(Phase.class);
+        this.previous = new EnumMap<>(Phase.class);
+        this.total = new EnumMap<>(Phase.class);
+        for (Phase phase : Phase.values()) {
+            this.recent.put(phase, new Histogram());
+            this.previous.put(phase, new Histogram());
+            this.total.put(phase, new Histogram());
+        }
+        this.windowStart = System.nanoTime();
+    }
+
+    private static int bucketOf(long nanos) {
+        if (nanos < SUB_BUCKETS) return (int) Math.max(nanos, 0);
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        int sub = (int) (nanos >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+    // The largest value that lands in the bucket
+    private static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+        long width = 1L << (exponent - SUB_BITS);
+        return (1L << exponent) + (bucket % SUB_BUCKETS) * width + width - 1;
+    }
+
+    private static long percentile(double fraction, Histogram... histograms) {
+        long count = 0, max = 0;
+        for (Histogram histogram : histograms) {
+            count += histogram.count;
+            max = Math.max(max, histogram.max);
+        }
+        if (count == 0) return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(fraction * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            for (Histogram histogram : histograms) {
+                seen += histogram.counts[bucket];
+            }
+            if (seen >= rank) return Math.min(upperBound(bucket), max);
+        }
+        return max;
+    }
+
+    public synchronized void record(Phase phase, long nanos) {
+        this.recent.get(phase).record(nanos);
+        this.total.get(phase).record(nanos);
+    }
+
+    // Called once the last phase of a frame is recorded; starts a new rolling window every two seconds
+    public synchronized void endFrame() {
+        long now = System.nanoTime();
+        if (now - this.windowStart >= WINDOW_NANOS) {
+            for (Phase phase : Phase.values()) {
+                Histogram oldest = this.previous.get(phase);
+                oldest.clear();
+                this.previous.put(phase, this.recent.get(phase));
+                this.recent.put(phase, oldest);
+            }
+            this.windowStart = now;
+        }
+    }
+
+    /**
+     * @return The given percentile (0 to 1) of the phase over the last few seconds, in nanoseconds
+     */
+    public synchronized long getRecentPercentile(Phase phase, double fraction) {
+        return percentile(fraction, this.recent.get(phase), this.previous.get(phase));
+    }
+    public synchronized long getRecentMax(Phase phase) {
+        return Math.max(this.recent.get(phase).max, this.previous.get(phase).max);
+    }
+    public synchronized long getTotalFrames() {
+        return this.total.get(Phase.FRAME).count;
+    }
+
+    public static String formatMillis(long nanos) {
+        return String.format("%.2f", nanos / 1e6);
+    }
+
+    /**
+     * @return One line per phase with the p50, p99 and maximum over the whole session
+     */
+    public synchronized String report() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Frame profile (%d frames, ms):%n", this.getTotalFrames()));
+        report.append(String.format("  %-8s %8s %8s %8s%n", "", "p50", "p99", "max"));
+        for (Phase phase : Phase.values()) {
+            Histogram histogram = this.total.get(phase);
+            report.append(String.format("  %-8s %8s %8s %8s%n", phase.getLabel(),
+                                        formatMillis(percentile(0.5, histogram)),
+                                        formatMillis(percentile(0.99, histogram)),
+                                        formatMillis(histogram.max)));
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,164 @@
+package utils;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import javax.imageio.ImageIO;
+
+/*
+ *
+MIT License
+
+Copyright (c) 2021 ArrayV 4.0 Team
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ *
+ */
+
+/**
+ * Where offline frames go: numbered PNG files, numbered raw RGB files, or the standard input of an encoder.
+ *
+ * Raw frames are {@code width * height * 3} bytes, red, green and blue for each pixel, row by row from the
+ * top left; this is what e.g. {@code ffmpeg -f rawvideo -pix_fmt rgb24 -s WxH -r FPS -i -} reads.
+ */
+public abstract class FrameWriter implements Closeable {
+    public abstract void write(BufferedImage frame, long index) throws IOException;
+
+    public static FrameWriter png(File directory) throws IOException {
+        return new PngWriter(makeDirectory(directory));
+    }
+    public static FrameWriter raw(File directory) throws IOException {
+        return new RawFileWriter(makeDirectory(directory));
+    }
+    /**
+     * Starts {@code command}, split on spaces, and writes raw frames to its standard input. Its output goes
+     * to ours.
+     */
+    public static FrameWriter pipe(String command) throws IOException {
+        Process process = new ProcessBuilder(command.trim().split("\\s+"))
+                          .redirectOutput(ProcessBuilder.Redirect.INHERIT)
+                          .redirectError(ProcessBuilder.Redirect.INHERIT)
+                          .start();
+        return new PipeWriter(process);
+    }
+
+    private static File makeDirectory(File directory) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create directory " + directory);
+        }
+        return directory;
+    }
+
+    private static String fileName(long index, String extension) {
+        return String.format("frame_%06d.%s", index, extension);
+    }
+
+    private static int[] pixelsOf(BufferedImage frame) {
+        return ((DataBufferInt) frame.getRaster().getDataBuffer()).getData();
+    }
+
+    private static byte[] toRGB(int[] pixels, byte[] bytes) {
+        if (bytes == null || bytes.length != pixels.length * 3) {
+            bytes = new byte[pixels.length * 3];
+        }
+        for (int i = 0, j = 0; i < pixels.length; i++, j += 3) {
+            int rgb = pixels[i];
+            bytes[j]     = (byte) (rgb >> 16);
+            bytes[j + 1] = (byte) (rgb >> 8);
+            bytes[j + 2] = (byte) rgb;
+        }
+        return bytes;
+    }
+
+    private static final class PngWriter extends FrameWriter {
+        private final File directory;
+
+        PngWriter(File directory) {
+            this.directory = directory;
+        }
+
+        @Override
+        public void write(BufferedImage frame, long index) throws IOException {
+            ImageIO.write(frame, "png", new File(this.directory, fileName(index, "png")));
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class RawFileWriter extends FrameWriter {
+        private final File directory;
+        private byte[] bytes;
+
+        RawFileWriter(File directory) {
+            this.directory = directory;
+        }
+
+        @Override
+        public void write(BufferedImage frame, long index) throws IOException {
+            this.bytes = toRGB(pixelsOf(frame), this.bytes);
+            try (OutputStream out = new FileOutputStream(new File(this.directory, fileName(index, "rgb")))) {
+                out.write(this.bytes);
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class PipeWriter extends FrameWriter {
+        private final Process process;
+        private final OutputStream out;
+        private byte[] bytes;
+
+        PipeWriter(Process process) {
+            this.process = process;
+            this.out = new BufferedOutputStream(process.getOutputStream(), 1 << 20);
+        }
+
+        @Override
+        public void write(BufferedImage frame, long index) throws IOException {
+            this.bytes = toRGB(pixelsOf(frame), this.bytes);
+            this.out.write(this.bytes);
+        }
+
+        // Waits for the encoder to finish the file
+        @Override
+        public void close() throws IOException {
+            this.out.close();
+            try {
+                int exitCode = this.process.waitFor();
+                if (exitCode != 0) {
+                    throw new IOException("Encoder exited with code " + exitCode);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for the encoder", e);
+            }
+        }
+    }
+}
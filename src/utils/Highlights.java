@@ -55,6 +55,11 @@ final public class Highlights {
 
     private volatile int markCount;
 
+    // Every position marked, for the PCM sound engine to pick its notes from
+    private final AccessQueue accesses;
+
+    private volatile boolean MARKING;
+
     private boolean FANCYFINISH;
     private volatile boolean fancyFinish;
     private volatile int trackFinish;
@@ -71,14 +76,23 @@ final public class Highlights {
             JErrorPane.invokeCustomErrorMessage("Failed to allocate mark arrays. The program will now exit.");
             System.exit(1);
         }
+        this.MARKING = true;
         this.FANCYFINISH = true;
         this.maxHighlightMarked = 0;
         this.markCount = 0;
+        this.accesses = new AccessQueue(1024);
 
         Arrays.fill(highlights, -1);
         Arrays.fill(markCounts, (byte)0);
     }
 
+    public boolean markingEnabled() {
+        return this.MARKING;
+    }
+    public void toggleMarking(boolean Bool) {
+        this.MARKING = Bool;
+    }
+
     public boolean fancyFinishEnabled() {
         return this.FANCYFINISH;
     }
@@ -145,11 +159,20 @@ final public class Highlights {
     public int[] highlightList() {
         return this.highlights;
     }
+    public AccessQueue getAccesses() {
+        return this.accesses;
+    }
     public boolean containsPosition(int arrayPosition) {
         if (arrayPosition >= markCounts.length) return false;
         return this.markCounts[arrayPosition] != 0;
     }
-    public synchronized void markArray(int marker, int markPosition) {
+    public void markArray(int marker, int markPosition) {
+        if (this.MARKING) {
+            if (markPosition >= 0 && this.accesses.hasReader()) this.accesses.offer(markPosition);
+            this.setMark(marker, markPosition);
+        }
+    }
+    private synchronized void setMark(int marker, int markPosition) {
         try {
             if (markPosition < 0) {
                 if (markPosition == -1) throw new Exception("Highlights.markArray(): Invalid position! -1 is reserved for the clearMark method.");
@@ -0,0 +1,143 @@
+package utils;
+
+import main.ArrayVisualizer;
+import main.SortContext;
+
+/**
+ * Decides how much bookkeeping {@link Reads} and {@link Writes} do around every array access.
+ *
+ * The level is picked once per {@link SortContext} (see {@link ArrayVisualizer#setInstrumentationLevel(Level)}) and Reads and Writes
+ * then call the hooks of the matching instance unconditionally. Since only one implementation is in use for a
+ * whole run, the JIT sees a monomorphic call site and the empty hooks of the cheaper levels compile to nothing.
+ */
+public abstract class Instrumentation {
+    public enum Level {
+        COUNTING, // Operation counters only
+        TIMED,    // Operation counters and the "Sort Time" estimate
+        VISUAL    // Counters, timing, highlights, delays, bounds warnings and repaints
+    }
+
+    public static Instrumentation create(Level level, SortContext context) {
+        switch (level) {
+            case COUNTING: return new Counting();
+            case TIMED:    return new Timed(context);
+            default:       return new Visual(context);
+        }
+    }
+
+    public abstract Level getLevel();
+
+    public void checkIndex(int index) {
+    }
+    public void mark(int marker, int position) {
+    }
+    public void sleep(double millis) {
+    }
+    public void update() {
+    }
+    public void written(int[] array, int index) {
+    }
+    public void written(int[] array, int from, int to) {
+    }
+    public void swapped(int[] array, int a, int b) {
+    }
+    public void startLap(Timer.Category category) {
+    }
+    public void stopLap() {
+    }
+
+    private static class Counting extends Instrumentation {
+        @Override
+        public Level getLevel() {
+            return Level.COUNTING;
+        }
+    }
+
+    private static class Timed extends Instrumentation {
+        protected Timer Timer;
+
+        Timed(SortContext context) {
+            this.Timer = context.getTimer();
+        }
+
+        @Override
+        public Level getLevel() {
+            return Level.TIMED;
+        }
+
+        @Override
+        public void startLap(Timer.Category category) {
+            Timer.startLap(category);
+        }
+        @Override
+        public void stopLap() {
+            Timer.stopLap();
+        }
+    }
+
+    private static class Visual extends Timed {
+        private ArrayVisualizer arrayVisualizer;
+        private SortContext context;
+        private Delays Delays;
+        private DirtyRegions DirtyRegions;
+        private DisorderMetrics DisorderMetrics;
+        private Highlights Highlights;
+
+        Visual(SortContext context) {
+            super(context);
+            this.arrayVisualizer = context.getArrayVisualizer();
+            this.context = context;
+            this.Delays = context.getDelays();
+            this.DirtyRegions = context.getDirtyRegions();
+            this.DisorderMetrics = context.getDisorderMetrics();
+            this.Highlights = context.getHighlights();
+        }
+
+        @Override
+        public Level getLevel() {
+            return Level.VISUAL;
+        }
+
+        @Override
+        public void checkIndex(int index) {
+            if (index >= context.getCurrentLength()) {
+                System.err.println("Warning: write to index " + index + ", which is out of bounds for the current length (" + context.getCurrentLength() + ")");
+            }
+        }
+        @Override
+        public void mark(int marker, int position) {
+            Highlights.markArray(marker, position);
+        }
+        @Override
+        public void sleep(double millis) {
+            Delays.sleep(millis);
+        }
+        @Override
+        public void update() {
+            arrayVisualizer.updateNow();
+        }
+        // Only the main array is tracked; the renderer summarizes external arrays again every frame
+        @Override
+        public void written(int[] array, int index) {
+            if (array == context.getArray()) {
+                DirtyRegions.add(index);
+                DisorderMetrics.written();
+            }
+        }
+        @Override
+        public void written(int[] array, int from, int to) {
+            if (array == context.getArray()) {
+                DirtyRegions.add(from, to);
+                DisorderMetrics.written();
+            }
+        }
+        @Override
+        public void swapped(int[] array, int a, int b) {
+            if (array == context.getArray()) {
+                DirtyRegions.add(a);
+                DirtyRegions.add(b);
+                DisorderMetrics.swapped(array, a, b, context.getCurrentLength());
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package utils;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of primitive ints used as a bucket ("register") by the distribution sorts.
+ *
+ * Like {@link ArrayVList} it keeps its values in {@code int[]} storage instead of boxing them, but it grows by
+ * adding segments of doubling size rather than copying into a bigger array, so a pass over millions of elements
+ * never moves what was already written. Clearing keeps the segments, which lets radix sorts reuse their buckets
+ * across passes without reallocating.
+ *
+ * The bucket itself does no bookkeeping; use {@link Writes#bucketAdd(IntBucket, int, boolean, double)},
+ * {@link Writes#bucketClear(IntBucket)} and {@link Writes#deleteBuckets(IntBucket[])} so writes, allocation
+ * and highlights are counted the same way as for the other auxiliary structures. Those are the visualization
+ * hooks a bucket gets: its adds count as aux writes and sleep like mock writes, and the transcribe overloads
+ * highlight and time every value written back.
+ *
+ * Unlike an {@link ArrayVList}, a bucket is not added to the external arrays that get drawn. Its segments
+ * are separate arrays, so each would be drawn as a strip of its own, and a radix pass over a few buckets
+ * would take up more strips than the renderer shows. The {@code ArrayList<Integer>} registers this replaces
+ * were not drawn either, so the sorts look the same as before.
+ */
+public final class IntBucket {
+    private static final int FIRST_SEGMENT_SHIFT = 4;
+
+    private int[][] segments;
+    private int segmentCount;
+
+    private int[] tail;
+    private int tailIndex;
+    private int tailSize;
+
+    private int count;
+
+    public IntBucket() {
+        this.segments = new int[4][];
+    }
+
+    public static IntBucket[] createArray(int length) {
+        IntBucket[] buckets = new IntBucket[length];
+        for (int i = 0; i < length; i++) {
+            buckets[i] = new IntBucket();
+        }
+        return buckets;
+    }
+
+    public int size() {
+        return this.count;
+    }
+
+    public boolean isEmpty() {
+        return this.count == 0;
+    }
+
+    public void add(int value) {
+        if (this.tail == null || this.tailSize == this.tail.length) {
+            this.nextSegment();
+        }
+        this.tail[this.tailSize++] = value;
+        this.count++;
+    }
+
+    public int get(int index) {
+        this.rangeCheck(index);
+        int segment = segmentOf(index);
+        return this.segments[segment][index - segmentStart(segment)];
+    }
+
+    public int set(int index, int value) {
+        this.rangeCheck(index);
+        int segment = segmentOf(index);
+        int[] storage = this.segments[segment];
+        int offset = index - segmentStart(segment);
+        int old = storage[offset];
+        storage[offset] = value;
+        return old;
+    }
+
+    /**
+     * Copies the contents into {@code dest} starting at {@code destPos}, without any bookkeeping.
+     */
+    public void copyTo(int[] dest, int destPos) {
+        int remaining = this.count;
+        for (int i = 0; remaining > 0; i++) {
+            int length = Math.min(remaining, this.segments[i].length);
+            System.arraycopy(this.segments[i], 0, dest, destPos, length);
+            destPos += length;
+            remaining -= length;
+        }
+    }
+
+    public void clear() {
+        this.count = 0;
+        this.tailIndex = 0;
+        this.tailSize = 0;
+        this.tail = this.segmentCount > 0 ? this.segments[0] : null;
+    }
+
+    /**
+     * Clears the bucket and drops its storage.
+     */
+    public void release() {
+        Arrays.fill(this.segments, 0, this.segmentCount, null);
+        this.segmentCount = 0;
+        this.tail = null;
+        this.clear();
+    }
+
+    private void nextSegment() {
+        int next = this.tail == null ? 0 : this.tailIndex + 1;
+        if (next == this.segmentCount) {
+            if (next == this.segments.length) {
+                this.segments = Arrays.copyOf(this.segments, next * 2);
+            }
+            this.segments[next] = new int[1 << (next + FIRST_SEGMENT_SHIFT)];
+            this.segmentCount++;
+        }
+        this.tail = this.segments[next];
+        this.tailIndex = next;
+        this.tailSize = 0;
+    }
+
+    // Segment k holds 16 << k values and starts at index 16 * (2^k - 1)
+    private static int segmentOf(int index) {
+        return 31 - Integer.numberOfLeadingZeros((index >>> FIRST_SEGMENT_SHIFT) + 1);
+    }
+
+    private static int segmentStart(int segment) {
+        return ((1 << segment) - 1) << FIRST_SEGMENT_SHIFT;
+    }
+
+    private void rangeCheck(int index) {
+        if (index < 0 || index >= this.count)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.count);
+    }
+}
@@ -16,7 +16,8 @@ final public class MultipleScript {
     public static class ScriptCommand {
         public static enum CommandType {
             SortCall,
-            SetCategory
+            SetCategory,
+            SetSeed
         }
 
         public CommandType type;
@@ -128,6 +129,10 @@ final public class MultipleScript {
             if (commandLabel.compareTo("setcategory") == 0) {
                 commandType = ScriptCommand.CommandType.SetCategory;
                 argument = commands.length > 1 ? commands[1] : "Scripted Sorts";
+            } else if (commandLabel.compareTo("setseed") == 0) {
+                // "setseed <number>" fixes the seed of the following sorts, "setseed" alone goes back to random seeds
+                commandType = ScriptCommand.CommandType.SetSeed;
+                argument = commands.length > 1 && commands[1].length() > 0 ? Long.valueOf(commands[1]) : null;
             } else {
                 String sortName = commandLabel;
                 if (!sortNames.containsKey(sortName)) {
@@ -0,0 +1,246 @@
+package utils;
+
+import java.util.Arrays;
+
+import javax.sound.sampled.AudioFormat;
+
+/*
+ *
+MIT License
+
+Copyright (c) 2021 ArrayV 4.0 Team
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ *
+ */
+
+/**
+ * A small software synthesizer for the sound effects, as an alternative to driving a MIDI synthesizer.
+ *
+ * Notes are played by a fixed pool of voices, each reading a single-cycle wavetable ({@link Waveform})
+ * under a short attack and an exponential release. {@link #renderBlock(byte[])} mixes all voices into
+ * one block of {@value #BLOCK_FRAMES} frames of 16-bit mono PCM at a time. Whoever writes the blocks out
+ * sets the pace: a {@code SourceDataLine} blocks until there is room in its buffer, so the latency is
+ * bounded by the size of that buffer, and a file can take blocks as fast as they are made.
+ *
+ * Not thread-safe; notes are started and blocks rendered by one audio thread.
+ */
+final public class PcmSynth {
+    public enum Waveform {
+        SINE("Sine"),
+        TRIANGLE("Triangle"),
+        ORGAN("Organ (drawbars 1, 2, 3, 4, 6, 8)");
+
+        private static final int TABLE_SIZE = 2048;
+        private static final double[] ORGAN_HARMONICS = {1, 2, 3, 4, 6, 8};
+        private static final double[] ORGAN_LEVELS    = {1, 0.6, 0.4, 0.3, 0.2, 0.15};
+
+        private final String name;
+        private float[] table;
+
+        private Waveform(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        // One cycle plus a copy of the first sample, so interpolation never wraps
+        private synchronized float[] getTable() {
+            if (this.table != null) return this.table;
+
+            double[] cycle = new double[TABLE_SIZE + 1];
+            double peak = 0;
+            for (int i = 0; i <= TABLE_SIZE; i++) {
+                double phase = (double) (i % TABLE_SIZE) / TABLE_SIZE;
+                switch (this) {
+                    case SINE:
+                        cycle[i] = Math.sin(2 * Math.PI * phase);
+                        break;
+                    case TRIANGLE:
+                        cycle[i] = 1 - 4 * Math.abs(phase - 0.5);
+                        break;
+                    default:
+                        for (int h = 0; h < ORGAN_HARMONICS.length; h++) {
+                            cycle[i] += ORGAN_LEVELS[h] * Math.sin(2 * Math.PI * ORGAN_HARMONICS[h] * phase);
+                        }
+                }
+                peak = Math.max(peak, Math.abs(cycle[i]));
+            }
+
+            float[] table = new float[TABLE_SIZE + 1];
+            for (int i = 0; i <= TABLE_SIZE; i++) {
+                table[i] = (float) (cycle[i] / peak);
+            }
+            return this.table = table;
+        }
+    }
+
+    public static final int DEFAULT_SAMPLE_RATE = 44100;
+    public static final int BLOCK_FRAMES = 256;
+
+    private static final double ATTACK_MILLIS = 2;
+    private static final double RELEASE_MILLIS = 40;
+    private static final double SILENCE = 1e-4;
+
+    private final int sampleRate;
+    private final double attackSamples;
+    private final double releaseFactor;
+
+    // One entry per voice
+    private final double[] phase;
+    private final double[] increment;
+    private final double[] amplitude;
+    private final double[] level;
+    private final int[] gate;     // Samples left before the release starts
+    private final long[] started; // When the note began, for stealing the oldest voice
+    private final boolean[] active;
+
+    private final float[] mix;
+    private long notes;
+
+    private volatile Waveform waveform;
+
+    public PcmSynth(int voices, Waveform waveform) {
+        this(voices, waveform, DEFAULT_SAMPLE_RATE);
+    }
+    public PcmSynth(int voices, Waveform waveform, int sampleRate) {
+        this.sampleRate = sampleRate;
+        this.attackSamples = ATTACK_MILLIS * sampleRate / 1000;
+        this.releaseFactor = Math.pow(SILENCE, 1000 / (RELEASE_MILLIS * sampleRate));
+        this.phase = new double[voices];
+        this.increment = new double[voices];
+        this.amplitude = new double[voices];
+        this.level = new double[voices];
+        this.gate = new int[voices];
+        this.started = new long[voices];
+        this.active = new boolean[voices];
+        this.mix = new float[BLOCK_FRAMES];
+        this.waveform = waveform;
+    }
+
+    public int getSampleRate() {
+        return this.sampleRate;
+    }
+    public AudioFormat getFormat() {
+        return new AudioFormat(this.sampleRate, 16, 1, true, false);
+    }
+    public static int getBlockBytes() {
+        return BLOCK_FRAMES * 2;
+    }
+
+    public Waveform getWaveform() {
+        return this.waveform;
+    }
+    public void setWaveform(Waveform waveform) {
+        this.waveform = waveform;
+    }
+
+    /**
+     * Starts a note on a free voice, or on the one playing the oldest note if none is free. A stolen voice
+     * keeps its phase and level and glides to the new note, so it does not click.
+     *
+     * @param pitch  MIDI note number; fractions are allowed
+     * @param volume Peak amplitude, where 1 is full scale
+     * @param millis How long the note is held before it starts to fade
+     */
+    public void noteOn(double pitch, double volume, double millis) {
+        int voice = 0;
+        for (int v = 0; v < this.active.length; v++) {
+            if (!this.active[v]) {
+                voice = v;
+                break;
+            }
+            if (this.started[v] < this.started[voice]) voice = v;
+        }
+
+        if (!this.active[voice]) {
+            this.phase[voice] = 0;
+            this.level[voice] = 0;
+        }
+        this.increment[voice] = 440 * Math.pow(2, (pitch - 69) / 12) / this.sampleRate;
+        this.amplitude[voice] = volume;
+        this.gate[voice] = (int) Math.max(millis * this.sampleRate / 1000, 1);
+        this.started[voice] = this.notes++;
+        this.active[voice] = true;
+    }
+
+    public boolean isSilent() {
+        for (boolean active : this.active) {
+            if (active) return false;
+        }
+        return true;
+    }
+
+    // Lets every note fade out
+    public void allNotesOff() {
+        for (int v = 0; v < this.gate.length; v++) {
+            this.gate[v] = 0;
+        }
+    }
+
+    /**
+     * Mixes the next {@value #BLOCK_FRAMES} frames into {@code out} as signed 16-bit little-endian samples.
+     */
+    public void renderBlock(byte[] out) {
+        float[] table = this.waveform.getTable();
+        int tableSize = table.length - 1;
+        Arrays.fill(this.mix, 0);
+
+        for (int v = 0; v < this.active.length; v++) {
+            if (!this.active[v]) continue;
+
+            double phase = this.phase[v], increment = this.increment[v];
+            double amplitude = this.amplitude[v], level = this.level[v];
+            double attackStep = amplitude / this.attackSamples;
+            int gate = this.gate[v];
+
+            int i = 0;
+            for (; i < BLOCK_FRAMES; i++) {
+                if (gate > 0) {
+                    gate--;
+                    level = level < amplitude ? Math.min(level + attackStep, amplitude) : amplitude;
+                } else {
+                    level *= this.releaseFactor;
+                    if (level < SILENCE) break;
+                }
+
+                double position = phase * tableSize;
+                int index = (int) position;
+                double fraction = position - index;
+                this.mix[i] += (float) (level * (table[index] + fraction * (table[index + 1] - table[index])));
+
+                phase += increment;
+                if (phase >= 1) phase -= 1;
+            }
+
+            this.phase[v] = phase;
+            this.level[v] = level;
+            this.gate[v] = gate;
+            if (i < BLOCK_FRAMES) this.active[v] = false;
+        }
+
+        for (int i = 0; i < BLOCK_FRAMES; i++) {
+            int sample = (int) (Math.max(-1f, Math.min(1f, this.mix[i])) * 32767);
+            out[2 * i]     = (byte) sample;
+            out[2 * i + 1] = (byte) (sample >> 8);
+        }
+    }
+}
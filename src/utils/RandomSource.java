@@ -0,0 +1,111 @@
+package utils;
+
+import java.util.SplittableRandom;
+
+/*
+ *
+MIT License
+
+Copyright (c) 2021 ArrayV 4.0 Team
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ *
+ */
+
+/**
+ * Hands out the random numbers used by distributions, shuffles and randomized sorts.
+ *
+ * Every run starts from a single seed (see {@link #startRun()}), and each consumer takes its own stream
+ * with {@link #split()}. As long as the consumers ask in the same order, which they do when the array is
+ * filled, shuffled and then sorted on one thread, the same seed gives the same input and the same
+ * random choices inside the sort, so a run can be repeated exactly.
+ */
+final public class RandomSource {
+    private volatile boolean FIXEDSEED;
+    private volatile long fixedSeed;
+
+    private volatile long seed;
+    private SplittableRandom master;
+    private volatile SplittableRandom shared;
+
+    public RandomSource() {
+        this.FIXEDSEED = false;
+        this.startRun(newSeed());
+    }
+
+    public static long newSeed() {
+        return new SplittableRandom().nextLong();
+    }
+
+    /**
+     * Makes every following run start from this seed.
+     */
+    public void setSeed(long seed) {
+        this.fixedSeed = seed;
+        this.FIXEDSEED = true;
+    }
+    // Goes back to a new seed for every run
+    public void clearSeed() {
+        this.FIXEDSEED = false;
+    }
+    public boolean seedFixed() {
+        return this.FIXEDSEED;
+    }
+    public long getFixedSeed() {
+        return this.fixedSeed;
+    }
+
+    /**
+     * @return The seed the current run started from
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Restarts the streams from the fixed seed, or from a new one if none was set.
+     *
+     * @return The seed of the new run
+     */
+    public long startRun() {
+        return this.startRun(this.FIXEDSEED ? this.fixedSeed : newSeed());
+    }
+    public synchronized long startRun(long seed) {
+        this.seed = seed;
+        this.master = new SplittableRandom(seed);
+        this.shared = this.master.split();
+        return seed;
+    }
+
+    /**
+     * @return A new stream for one consumer, independent of the others. Not safe to share between threads;
+     *         split again instead.
+     */
+    public synchronized SplittableRandom split() {
+        return this.master.split();
+    }
+
+    /**
+     * @return The stream of the current run kept for small helpers that cannot hold on to one of their own
+     *         (e.g. static methods). Only deterministic while one thread uses it.
+     */
+    public SplittableRandom shared() {
+        return this.shared;
+    }
+}
@@ -4,6 +4,8 @@ import java.text.DecimalFormat;
 import java.util.ArrayList;
 
 import main.ArrayVisualizer;
+import main.SortContext;
+import utils.Timer.Category;
 
 /*
  *
@@ -32,54 +34,48 @@ SOFTWARE.
  */
 
 final public class Reads {
-    private volatile long comparisons;
     public volatile ArrayList<Integer> networkIndices;
 
     private ArrayVisualizer ArrayVisualizer;
 
     private DecimalFormat formatter;
 
-    private Delays Delays;
-    private Highlights Highlights;
-    private Timer Timer;
+    private Counters Counters;
+    private Instrumentation Instrumentation;
 
-    public Reads(ArrayVisualizer arrayVisualizer) {
-        this.ArrayVisualizer = arrayVisualizer;
+    public Reads(SortContext context) {
+        this.ArrayVisualizer = context.getArrayVisualizer();
 
-        this.comparisons = 0;
         this.networkIndices = new ArrayList<>();
 
-        this.Delays = ArrayVisualizer.getDelays();
-        this.Highlights = ArrayVisualizer.getHighlights();
-        this.Timer = ArrayVisualizer.getTimer();
+        this.Counters = context.getCounters();
+        this.Instrumentation = context.getInstrumentation();
 
         this.formatter = ArrayVisualizer.getNumberFormat();
     }
 
+    public void setInstrumentation(Instrumentation instrumentation) {
+        this.Instrumentation = instrumentation;
+    }
+
     public void resetStatistics() {
-        this.comparisons = 0;
+        this.Counters.resetReads();
     }
 
     public void addComparison() {
-        this.comparisons++;
+        this.Counters.addComparison();
     }
 
     public String getStats() {
-        if (this.comparisons < 0) {
-            this.comparisons = Long.MIN_VALUE;
-            return "Over " + this.formatter.format(Long.MAX_VALUE) + " Comparisons";
-        } else {
-            if (this.comparisons == 1) return this.comparisons + " Comparison";
-            else                       return this.formatter.format(this.comparisons) + " Comparisons";
-        }
+        return utils.Counters.format(this.formatter, this.Counters.getComparisons(), "Comparison", "Comparisons");
     }
 
     public long getComparisons() {
-        return this.comparisons;
+        return this.Counters.getComparisons();
     }
 
     public void setComparisons(long value) {
-        this.comparisons = value;
+        this.Counters.setComparisons(value);
     }
 
     public int compareValues(int left, int right) {
@@ -93,13 +89,13 @@ final public class Reads {
 
         int cmpVal = 0;
 
-        Timer.startLap("Compare");
+        Instrumentation.startLap(Category.COMPARE);
 
         if (left > right)      cmpVal =  1;
         else if (left < right) cmpVal = -1;
         else                   cmpVal =  0;
 
-        Timer.stopLap();
+        Instrumentation.stopLap();
 
         if (!ArrayVisualizer.useAntiQSort()) {
             if (ArrayVisualizer.reversedComparator()) {
@@ -117,22 +113,22 @@ final public class Reads {
 
         int cmpVal = 0;
 
-        Timer.startLap("Compare");
+        Instrumentation.startLap(Category.COMPARE);
 
         if (left > right)      cmpVal =  1;
         else if (left < right) cmpVal = -1;
         else                  cmpVal =  0;
 
-        Timer.stopLap();
+        Instrumentation.stopLap();
 
         return cmpVal;
     }
 
     public int compareIndices(int[] array, int left, int right, double sleep, boolean mark) {
         if (mark) {
-            Highlights.markArray(1, left);
-            Highlights.markArray(2, right);
-            Delays.sleep(sleep);
+            Instrumentation.mark(1, left);
+            Instrumentation.mark(2, right);
+            Instrumentation.sleep(sleep);
         }
         if (ArrayVisualizer.generateSortingNetworks()) {
             networkIndices.add(left);
@@ -143,41 +139,41 @@ final public class Reads {
 
     public int compareOriginalIndices(int[] array, int left, int right, double sleep, boolean mark) {
         if (mark) {
-            Highlights.markArray(1, left);
-            Highlights.markArray(2, right);
-            Delays.sleep(sleep);
+            Instrumentation.mark(1, left);
+            Instrumentation.mark(2, right);
+            Instrumentation.sleep(sleep);
         }
         return this.compareOriginalValues(array[left], array[right]);
     }
 
     public int compareIndexValue(int[] array, int index, int value, double sleep, boolean mark) {
         if (mark) {
-            Highlights.markArray(1, index);
-            Delays.sleep(sleep);
+            Instrumentation.mark(1, index);
+            Instrumentation.sleep(sleep);
         }
         return this.compareValues(array[index], value);
     }
 
     public int compareOriginalIndexValue(int[] array, int index, int value, double sleep, boolean mark) {
         if (mark) {
-            Highlights.markArray(1, index);
-            Delays.sleep(sleep);
+            Instrumentation.mark(1, index);
+            Instrumentation.sleep(sleep);
         }
         return this.compareOriginalValues(array[index], value);
     }
 
     public int compareValueIndex(int[] array, int value, int index, double sleep, boolean mark) {
         if (mark) {
-            Highlights.markArray(1, index);
-            Delays.sleep(sleep);
+            Instrumentation.mark(1, index);
+            Instrumentation.sleep(sleep);
         }
         return this.compareValues(value, array[index]);
     }
 
     public int compareOriginalValueIndex(int[] array, int value, int index, double sleep, boolean mark) {
         if (mark) {
-            Highlights.markArray(1, index);
-            Delays.sleep(sleep);
+            Instrumentation.mark(1, index);
+            Instrumentation.sleep(sleep);
         }
         return this.compareOriginalValues(value, array[index]);
     }
@@ -195,15 +191,15 @@ final public class Reads {
             if (ArrayVisualizer.doingStabilityCheck())
                 val = ArrayVisualizer.getStabilityValue(val);
 
-            Timer.startLap("Analysis");
+            Instrumentation.startLap(Category.ANALYSIS);
 
             if (val > max) max = val;
 
-            Timer.stopLap();
+            Instrumentation.stopLap();
 
             if (mark) {
-                Highlights.markArray(1, i);
-                Delays.sleep(sleep);
+                Instrumentation.mark(1, i);
+                Instrumentation.sleep(sleep);
             }
         }
 
@@ -226,15 +222,15 @@ final public class Reads {
             if (ArrayVisualizer.doingStabilityCheck())
                 val = ArrayVisualizer.getStabilityValue(val);
 
-            Timer.startLap("Analysis");
+            Instrumentation.startLap(Category.ANALYSIS);
 
             if (val < min) min = val;
 
-            Timer.stopLap();
+            Instrumentation.stopLap();
 
             if (mark) {
-                Highlights.markArray(1, i);
-                Delays.sleep(sleep);
+                Instrumentation.mark(1, i);
+                Instrumentation.sleep(sleep);
             }
         }
 
@@ -257,15 +253,15 @@ final public class Reads {
             if (ArrayVisualizer.doingStabilityCheck())
                 val = ArrayVisualizer.getStabilityValue(val);
 
-            Timer.startLap("Analysis");
+            Instrumentation.startLap(Category.ANALYSIS);
 
             if (val > max) max = val;
 
-            Timer.stopLap();
+            Instrumentation.stopLap();
 
             if (mark) {
-                Highlights.markArray(1, i);
-                Delays.sleep(sleep);
+                Instrumentation.mark(1, i);
+                Instrumentation.sleep(sleep);
             }
         }
 
@@ -288,15 +284,15 @@ final public class Reads {
             if (ArrayVisualizer.doingStabilityCheck())
                 val = ArrayVisualizer.getStabilityValue(val);
 
-            Timer.startLap("Analysis");
+            Instrumentation.startLap(Category.ANALYSIS);
 
             if (val > max) max = val;
 
-            Timer.stopLap();
+            Instrumentation.stopLap();
 
             if (mark) {
-                Highlights.markArray(1, i);
-                Delays.sleep(sleep);
+                Instrumentation.mark(1, i);
+                Instrumentation.sleep(sleep);
             }
         }
 
@@ -320,23 +316,23 @@ final public class Reads {
             if (ArrayVisualizer.doingStabilityCheck())
                 val = ArrayVisualizer.getStabilityValue(val);
 
-            Timer.startLap("Analysis");
+            Instrumentation.startLap(Category.ANALYSIS);
 
             if (val > max) max = val;
 
-            Timer.stopLap();
+            Instrumentation.stopLap();
 
-            Highlights.markArray(1, i);
-            Delays.sleep(0.75);
+            Instrumentation.mark(1, i);
+            Instrumentation.sleep(0.75);
         }
 
         int analysis;
 
-        Timer.startLap();
+        Instrumentation.startLap(Category.OTHER);
 
         analysis = 31 - Integer.numberOfLeadingZeros(max);
 
-        Timer.stopLap();
+        Instrumentation.stopLap();
 
         ArrayVisualizer.toggleAnalysis(false);
         ArrayVisualizer.updateNow();
@@ -348,9 +344,9 @@ final public class Reads {
             a = ArrayVisualizer.getStabilityValue(a);
 
         int digit;
-        Timer.startLap();
+        Instrumentation.startLap(Category.OTHER);
         digit = (int) (a / Math.pow(radix, power)) % radix;
-        Timer.stopLap();
+        Instrumentation.stopLap();
         return digit;
     }
 
@@ -360,9 +356,9 @@ final public class Reads {
 
         // Find boolean value of bit k in n
         boolean result;
-        Timer.startLap();
+        Instrumentation.startLap(Category.OTHER);
         result = ((n >> k) & 1) == 1;
-        Timer.stopLap();
+        Instrumentation.stopLap();
         return result;
     }
 }
@@ -0,0 +1,104 @@
+package utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ *
+MIT License
+
+Copyright (c) 2021 ArrayV 4.0 Team
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ *
+ */
+
+/**
+ * Paces the visuals thread at a fixed frame rate, apart from the threads asking for repaints.
+ *
+ * Sorts call {@link #request()} after every write or highlight, which only sets a flag (and bumps a
+ * counter) without locking. The visuals thread sleeps until the next frame is due with
+ * {@link #awaitFrame()} and draws at most one frame per tick, however many requests came in since the
+ * last one; how many that was is kept in {@link #getCoalescedUpdates()}.
+ */
+final public class RenderScheduler {
+    private volatile boolean dirty;
+    private final LongAdder requests;
+
+    private volatile int targetFPS;
+    private long nextFrame;
+
+    private volatile long coalescedUpdates;
+
+    public RenderScheduler(int targetFPS) {
+        this.requests = new LongAdder();
+        this.setTargetFPS(targetFPS);
+        this.nextFrame = System.nanoTime();
+    }
+
+    public int getTargetFPS() {
+        return this.targetFPS;
+    }
+    public void setTargetFPS(int fps) {
+        this.targetFPS = Math.max(1, fps);
+    }
+
+    // Called on the sort's hot path; the flag is only written when it actually changes
+    public void request() {
+        this.requests.increment();
+        if (!this.dirty) this.dirty = true;
+    }
+    public void request(int count) {
+        this.requests.add(count);
+        if (!this.dirty) this.dirty = true;
+    }
+
+    /**
+     * Sleeps until the next frame is due, then takes the pending requests.
+     *
+     * @return Whether anything asked for a repaint since the last frame
+     */
+    public boolean awaitFrame() {
+        long frameNanos = TimeUnit.SECONDS.toNanos(1) / this.targetFPS;
+        long now = System.nanoTime();
+        if (now - this.nextFrame > frameNanos) {
+            // Fell behind (a slow frame, or nothing to draw for a while); don't try to catch up
+            this.nextFrame = now;
+        }
+        this.nextFrame += frameNanos;
+
+        long remaining;
+        while ((remaining = this.nextFrame - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(this, remaining);
+        }
+
+        if (!this.dirty) return false;
+        this.dirty = false;
+        this.coalescedUpdates = this.requests.sumThenReset();
+        return true;
+    }
+
+    /**
+     * @return How many repaint requests the last drawn frame stood for
+     */
+    public long getCoalescedUpdates() {
+        return this.coalescedUpdates;
+    }
+}
@@ -1,6 +1,9 @@
 package utils;
 
 import main.ArrayVisualizer;
+import visuals.CircleTable;
+import visuals.HighlightMask;
+import visuals.LevelOfDetail;
 import visuals.VisualStyles;
 
 /*
@@ -58,6 +61,13 @@ final public class Renderer {
     public volatile boolean auxActive;
 
     private volatile int length;
+    private volatile int columns;
+
+    // One per array slot: the main array first, then the external arrays
+    private LevelOfDetail[] details = new LevelOfDetail[7];
+    private int slot;
+
+    private HighlightMask highlights;
 
     private volatile int amt;
 
@@ -94,6 +104,29 @@ final public class Renderer {
     public int getArrayLength() {
         return this.length;
     }
+    /**
+     * @return Per-column summaries of the array being drawn, brought up to date, or null if the array is no
+     *         longer than the window is wide and should be drawn element by element.
+     */
+    public LevelOfDetail getLevelOfDetail(int[] array) {
+        if (this.length <= this.columns) return null;
+
+        LevelOfDetail detail = this.details[this.slot];
+        if (detail == null) {
+            detail = this.details[this.slot] = new LevelOfDetail();
+        }
+        // Only writes to the main array are recorded (see updateVisualsStart)
+        if (this.slot != 0) detail.invalidateAll();
+        detail.update(array, this.length, this.columns, this.highlights);
+        return detail;
+    }
+    /**
+     * @return The positions highlighted in the frame being drawn, read once from {@link Highlights} when the
+     *         frame started.
+     */
+    public HighlightMask getHighlightMask() {
+        return this.highlights;
+    }
     public int getDotWidth() {
         return this.dotw;
     }
@@ -173,11 +206,19 @@ final public class Renderer {
             if (WindowState.resized()) {
                 ArrayVisualizer.updateDimensions();
                 updateGraphics(ArrayVisualizer);
+                CircleTable.clearPoints();
             }
         }
 
         ArrayVisualizer.renderBackground();
 
+        final LevelOfDetail mainDetail = this.details[0];
+        final SegmentTracker segments = ArrayVisualizer.getSegmentTracker();
+        ArrayVisualizer.getDirtyRegions().drain((from, to) -> {
+            if (mainDetail != null) mainDetail.invalidate(from, to);
+            segments.invalidate(from, to);
+        });
+
         //CURRENT = WINDOW
         //WINDOW = C VARIABLES
 
@@ -189,12 +230,14 @@ final public class Renderer {
         this.yoffset = 96;
     }
 
-    private void updateVisualsPerArray(ArrayVisualizer ArrayVisualizer, int[] array, int length) {
+    private void updateVisualsPerArray(ArrayVisualizer ArrayVisualizer, int[] array, int length, int slot) {
 
         //CURRENT = WINDOW
         //WINDOW = C VARIABLES
 
         this.xScale = (double) (ArrayVisualizer.currentWidth() - 40) / length;
+        this.columns = ArrayVisualizer.currentWidth() - 40;
+        this.slot = slot;
 
         this.amt = 0; //TODO: rename to barCount
 
@@ -210,18 +253,23 @@ final public class Renderer {
     }
 
     public void drawVisual(VisualStyles VisualStyles, int[][] arrays, ArrayVisualizer ArrayVisualizer, Highlights Highlights) {
+        if (this.highlights == null) {
+            this.highlights = new HighlightMask(ArrayVisualizer.getMaximumLength());
+        }
+        this.highlights.update(Highlights, ArrayVisualizer.getCurrentLength());
+
         if (ArrayVisualizer.externalArraysEnabled()) {
             this.auxActive = true;
             for (int i = Math.min(arrays.length - 1, 6); i > 0; i--) {
                 if (arrays[i] != null) {
-                    this.updateVisualsPerArray(ArrayVisualizer, arrays[i], arrays[i].length);
+                    this.updateVisualsPerArray(ArrayVisualizer, arrays[i], arrays[i].length, i);
                     VisualStyles.drawVisual(arrays[i], ArrayVisualizer, this, Highlights);
                     this.yoffset += this.vsize;
                 }
             }
             this.auxActive = false;
         }
-        this.updateVisualsPerArray(ArrayVisualizer, arrays[0], ArrayVisualizer.getCurrentLength());
+        this.updateVisualsPerArray(ArrayVisualizer, arrays[0], ArrayVisualizer.getCurrentLength(), 0);
         VisualStyles.drawVisual(arrays[0], ArrayVisualizer, this, Highlights);
     }
 }
\ No newline at end of file
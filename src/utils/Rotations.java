@@ -3,38 +3,43 @@ package utils;
 import main.ArrayVisualizer;
 
 public final class Rotations {
-    private static Writes Writes = ArrayVisualizer.getInstance().getWrites();
-    private static Highlights Highlights = ArrayVisualizer.getInstance().getHighlights();
+    // Looked up on every call so rotations are counted by the instance running the current sort
+    private static Writes writes() {
+        return ArrayVisualizer.getInstance().getWrites();
+    }
+    private static Highlights highlights() {
+        return ArrayVisualizer.getInstance().getHighlights();
+    }
 
     // utility functions
     private static void swapBlocksBackwards(int[] array, int a, int b, int len, double pause, boolean mark, boolean auxwrite) {
         for (int i = 0; i < len; i++) {
-            Writes.swap(array, a + len - i - 1, b + len - i - 1, pause, mark, auxwrite);
+            writes().swap(array, a + len - i - 1, b + len - i - 1, pause, mark, auxwrite);
         }
     }
 
     private static void blockSwap(int[] array, int a, int b, int len, double pause, boolean mark, boolean auxwrite) {
         for (int i = 0; i < len; i++) {
-            Writes.swap(array, a + i, b + i, pause, mark, auxwrite);
+            writes().swap(array, a + i, b + i, pause, mark, auxwrite);
         }
     }
 
     private static void shiftForwards(int[] array, int start, int length, double pause, boolean mark, boolean auxwrite) {
         int temp = array[start];
-        if (mark) Highlights.clearMark(2);
+        if (mark) highlights().clearMark(2);
         for (int i = 0; i < length; i++) {
-            Writes.write(array, start + i, array[start + i + 1], pause, mark, auxwrite);
+            writes().write(array, start + i, array[start + i + 1], pause, mark, auxwrite);
         }
-        Writes.write(array, start + length, temp, pause, mark, auxwrite);
+        writes().write(array, start + length, temp, pause, mark, auxwrite);
     }
 
     private static void shiftBackwards(int[] array, int start, int length, double pause, boolean mark, boolean auxwrite) {
         int temp = array[start + length];
-        if (mark) Highlights.clearMark(2);
+        if (mark) highlights().clearMark(2);
         for (int i = length; i > 0; i--) {
-            Writes.write(array, start + i, array[start + i - 1], pause, mark, auxwrite);
+            writes().write(array, start + i, array[start + i - 1], pause, mark, auxwrite);
         }
-        Writes.write(array, start, temp, pause, mark, auxwrite);
+        writes().write(array, start, temp, pause, mark, auxwrite);
     }
 
     private static int mapIndex(int index, int n, int length) {
@@ -43,7 +48,7 @@ public final class Rotations {
 
     private static int swap(int[] arr, int a, int v, double pause, boolean mark, boolean auxwrite) {
         int old = arr[a];
-        Writes.write(arr, a, v, pause, mark, auxwrite);
+        writes().write(arr, a, v, pause, mark, auxwrite);
         return old;
     }
 
@@ -63,9 +68,9 @@ public final class Rotations {
     }
 
     public static void threeReversal(int[] array, int pos, int lenA, int lenB, double pause, boolean mark, boolean auxwrite) {
-        Writes.reversal(array, pos, pos + lenA - 1, pause, mark, auxwrite);
-        Writes.reversal(array, pos + lenA, pos + lenA + lenB - 1, pause, mark, auxwrite);
-        Writes.reversal(array, pos, pos + lenA + lenB - 1, pause, mark, auxwrite);
+        writes().reversal(array, pos, pos + lenA - 1, pause, mark, auxwrite);
+        writes().reversal(array, pos + lenA, pos + lenA + lenB - 1, pause, mark, auxwrite);
+        writes().reversal(array, pos, pos + lenA + lenB - 1, pause, mark, auxwrite);
     }
 
     public static void holyGriesMills(int[] array, int pos, int lenA, int lenB, double pause, boolean mark, boolean auxwrite) {
@@ -120,26 +125,26 @@ public final class Rotations {
 
         while (a < b && c < d) {
             swap = array[b];
-            Writes.write(array, b--, array[a], pause/2d, mark, auxwrite);
-            Writes.write(array, a++, array[c], pause/2d, mark, auxwrite);
-            Writes.write(array, c++, array[d], pause/2d, mark, auxwrite);
-            Writes.write(array, d--, swap,     pause/2d, mark, auxwrite);
+            writes().write(array, b--, array[a], pause/2d, mark, auxwrite);
+            writes().write(array, a++, array[c], pause/2d, mark, auxwrite);
+            writes().write(array, c++, array[d], pause/2d, mark, auxwrite);
+            writes().write(array, d--, swap,     pause/2d, mark, auxwrite);
         }
         while (a < b) {
             swap = array[b];
-            Writes.write(array, b--, array[a], pause/2d, mark, auxwrite);
-            Writes.write(array, a++, array[d], pause/2d, mark, auxwrite);
-            Writes.write(array, d--, swap,     pause/2d, mark, auxwrite);
+            writes().write(array, b--, array[a], pause/2d, mark, auxwrite);
+            writes().write(array, a++, array[d], pause/2d, mark, auxwrite);
+            writes().write(array, d--, swap,     pause/2d, mark, auxwrite);
         }
         while (c < d) {
             swap = array[c];
-            Writes.write(array, c++, array[d], pause/2d, mark, auxwrite);
-            Writes.write(array, d--, array[a], pause/2d, mark, auxwrite);
-            Writes.write(array, a++, swap,     pause/2d, mark, auxwrite);
+            writes().write(array, c++, array[d], pause/2d, mark, auxwrite);
+            writes().write(array, d--, array[a], pause/2d, mark, auxwrite);
+            writes().write(array, a++, swap,     pause/2d, mark, auxwrite);
         }
         if (a < d) { //dont count reversals that dont do anything
-            Writes.reversal(array, a, d, pause, mark, auxwrite);
-            Highlights.clearMark(2);
+            writes().reversal(array, a, d, pause, mark, auxwrite);
+            highlights().clearMark(2);
         }
     }
 
@@ -181,23 +186,23 @@ public final class Rotations {
 
                 int[] swap = new int[bridge];
                 alloc = bridge;
-                Writes.changeAllocAmount(alloc);
+                writes().changeAllocAmount(alloc);
 
-                Writes.arraycopy(array, ptb, swap, 0, bridge, pause, mark, true);
+                writes().arraycopy(array, ptb, swap, 0, bridge, pause, mark, true);
 
                 while (loop-- > 0) {
-                    Writes.write(array, --ptc, array[--ptd], pause/2d, mark, auxwrite);
-                    Writes.write(array,   ptd, array[--ptb], pause/2d, mark, auxwrite);
+                    writes().write(array, --ptc, array[--ptd], pause/2d, mark, auxwrite);
+                    writes().write(array,   ptd, array[--ptb], pause/2d, mark, auxwrite);
                 }
-                Writes.arraycopy(swap, 0, array, pta, bridge, pause, mark, auxwrite);
+                writes().arraycopy(swap, 0, array, pta, bridge, pause, mark, auxwrite);
             } else {
                 int[] swap = new int[left];
                 alloc = left;
-                Writes.changeAllocAmount(alloc);
+                writes().changeAllocAmount(alloc);
 
-                Writes.arraycopy(array, pta, swap, 0, left, pause, mark, true);
-                Writes.arraycopy(array, ptb, array, pta, right, pause, mark, auxwrite);
-                Writes.arraycopy(swap, 0, array, ptc, left, pause, mark, auxwrite);
+                writes().arraycopy(array, pta, swap, 0, left, pause, mark, true);
+                writes().arraycopy(array, ptb, array, pta, right, pause, mark, auxwrite);
+                writes().arraycopy(swap, 0, array, ptc, left, pause, mark, auxwrite);
             }
         } else if (right < left) {
             int bridge = left - right;
@@ -207,33 +212,33 @@ public final class Rotations {
 
                 int[] swap = new int[bridge];
                 alloc = bridge;
-                Writes.changeAllocAmount(alloc);
+                writes().changeAllocAmount(alloc);
 
-                Writes.arraycopy(array, ptc, swap, 0, bridge, pause, mark, true);
+                writes().arraycopy(array, ptc, swap, 0, bridge, pause, mark, true);
 
                 while (loop-- > 0) {
-                    Writes.write(array, ptc++, array[pta],   pause/2d, mark, auxwrite);
-                    Writes.write(array, pta++, array[ptb++], pause/2d, mark, auxwrite);
+                    writes().write(array, ptc++, array[pta],   pause/2d, mark, auxwrite);
+                    writes().write(array, pta++, array[ptb++], pause/2d, mark, auxwrite);
                 }
-                Writes.arraycopy(swap, 0, array, ptd - bridge, bridge, pause, mark, auxwrite);
+                writes().arraycopy(swap, 0, array, ptd - bridge, bridge, pause, mark, auxwrite);
             } else {
                 int[] swap = new int[right];
                 alloc = right;
-                Writes.changeAllocAmount(alloc);
+                writes().changeAllocAmount(alloc);
 
-                Writes.arraycopy(array, ptb, swap, 0, right, pause, mark, true);
+                writes().arraycopy(array, ptb, swap, 0, right, pause, mark, true);
                 while (left-- > 0)
-                    Writes.write(array, --ptd, array[--ptb], pause, mark, auxwrite);
-                Writes.arraycopy(swap, 0, array, pta, right, pause, mark, auxwrite);
+                    writes().write(array, --ptd, array[--ptb], pause, mark, auxwrite);
+                writes().arraycopy(swap, 0, array, pta, right, pause, mark, auxwrite);
             }
         } else {
             alloc = 0;
 
             while (left-- > 0)
-                Writes.swap(array, pta++, ptb++, pause, mark, auxwrite);
-            Highlights.clearMark(2);
+                writes().swap(array, pta++, ptb++, pause, mark, auxwrite);
+            highlights().clearMark(2);
         }
-        Writes.changeAllocAmount(-alloc);
+        writes().changeAllocAmount(-alloc);
     }
     
     public static void adaptable(int[] array, int pos, int lenA, int lenB, double pause, boolean mark, boolean auxwrite) {
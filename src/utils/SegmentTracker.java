@@ -0,0 +1,127 @@
+package utils;
+
+import java.util.Arrays;
+
+/*
+ *
+MIT License
+
+Copyright (c) 2021 ArrayV 4.0 Team
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ *
+ */
+
+/**
+ * Keeps the number of sorted segments of the main array up to date without scanning all of it every frame.
+ *
+ * One bit per neighbouring pair records whether the pair is out of order. The renderer passes on the
+ * ranges that {@link DirtyRegions} saw written, and {@link #update} only looks at the pairs touching
+ * those, adjusting the count as their bits flip. Anything else (a new array, length or comparator
+ * direction, or too many ranges piling up while the statistics are hidden) means one full pass.
+ */
+final public class SegmentTracker {
+    private static final int MAX_PENDING = 4096;
+
+    private int[] array;
+    private int length;
+    private boolean reversed;
+
+    private long[] outOfOrder;
+    private int count;
+
+    // Written ranges not looked at yet, as [from, to) pairs
+    private int[] pending;
+    private int pendingCount;
+    private boolean allDirty;
+
+    public SegmentTracker() {
+        this.length = -1;
+        this.outOfOrder = new long[0];
+        this.pending = new int[64];
+        this.allDirty = true;
+    }
+
+    public void invalidate(int from, int to) {
+        if (this.allDirty) return;
+        if (this.pendingCount == MAX_PENDING) {
+            this.invalidateAll();
+            return;
+        }
+        if (this.pendingCount * 2 == this.pending.length) {
+            this.pending = Arrays.copyOf(this.pending, this.pending.length * 2);
+        }
+        this.pending[this.pendingCount * 2] = from;
+        this.pending[this.pendingCount * 2 + 1] = to;
+        this.pendingCount++;
+    }
+    public void invalidateAll() {
+        this.allDirty = true;
+        this.pendingCount = 0;
+    }
+
+    /**
+     * Brings the count up to date with the first {@code length} elements of {@code array}.
+     */
+    public void update(int[] array, int length, boolean reversed) {
+        if (array != this.array || length != this.length || reversed != this.reversed) {
+            this.array = array;
+            this.length = length;
+            this.reversed = reversed;
+            if (this.outOfOrder.length < (length >> 6) + 1) {
+                this.outOfOrder = new long[(length >> 6) + 1];
+            }
+            this.allDirty = true;
+        }
+
+        if (this.allDirty) {
+            Arrays.fill(this.outOfOrder, 0);
+            this.count = 0;
+            this.recheck(0, length - 1);
+            this.allDirty = false;
+        } else {
+            // A write at i changes pairs (i - 1, i) and (i, i + 1)
+            for (int k = 0; k < this.pendingCount; k++) {
+                this.recheck(Math.max(this.pending[k * 2] - 1, 0), Math.min(this.pending[k * 2 + 1], length - 1));
+            }
+        }
+        this.pendingCount = 0;
+    }
+
+    // Pairs (i, i + 1) for i in [from, to)
+    private void recheck(int from, int to) {
+        for (int i = from; i < to; i++) {
+            boolean wrong = this.reversed ? this.array[i] < this.array[i + 1]
+                                          : this.array[i] > this.array[i + 1];
+            long bit = 1L << i;
+            if (wrong != ((this.outOfOrder[i >> 6] & bit) != 0)) {
+                this.outOfOrder[i >> 6] ^= bit;
+                this.count += wrong ? 1 : -1;
+            }
+        }
+    }
+
+    public int getSegments() {
+        return this.count + 1;
+    }
+    // Same rounding as Statistics.findSegments
+    public int getSortedPercent() {
+        return (int) ((((double) (this.length - 1 - this.count)) / (this.length - 1)) * 100);
+    }
+}
@@ -3,7 +3,7 @@ package utils;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.Queue;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 import main.ArrayVisualizer;
 
@@ -73,7 +73,7 @@ public enum Shuffles {
         @Override
         public void shuffleArray(int[] array, ArrayVisualizer ArrayVisualizer, Delays Delays, Highlights Highlights, Writes Writes) {
             int currentLen = ArrayVisualizer.getCurrentLength();
-            Random random = new Random();
+            SplittableRandom random = ArrayVisualizer.getRandomSource().split();
 
             for (int i = 0; i < Math.max(currentLen / 20, 1); i++){
                 Writes.swap(array, random.nextInt(currentLen), random.nextInt(currentLen), 0, true, false);
@@ -114,7 +114,7 @@ public enum Shuffles {
         public void shuffleArray(int[] array, ArrayVisualizer ArrayVisualizer, Delays Delays, Highlights Highlights, Writes Writes) {
             int currentLen = ArrayVisualizer.getCurrentLength();
             boolean delay = ArrayVisualizer.shuffleEnabled();
-            Random random = new Random();
+            SplittableRandom random = ArrayVisualizer.getRandomSource().split();
 
             for (int i = 0; i < currentLen; i++)
                 Writes.swap(array, i, random.nextInt(currentLen), delay ? 1 : 0, true, false);
@@ -129,7 +129,7 @@ public enum Shuffles {
             int currentLen = ArrayVisualizer.getCurrentLength();
             boolean delay = ArrayVisualizer.shuffleEnabled();
 
-            Random random = new Random();
+            SplittableRandom random = ArrayVisualizer.getRandomSource().split();
             int[] aux = new int[currentLen];
             int i = 0, j = 0, k = 0;
             while (i < currentLen) {
@@ -152,7 +152,7 @@ public enum Shuffles {
             int currentLen = ArrayVisualizer.getCurrentLength();
             boolean delay = ArrayVisualizer.shuffleEnabled();
 
-            Random random = new Random();
+            SplittableRandom random = ArrayVisualizer.getRandomSource().split();
             int[] aux = new int[currentLen];
             int i = currentLen - 1, j = currentLen - 1, k = 0;
             while (i >= 0) {
@@ -174,7 +174,7 @@ public enum Shuffles {
         public void shuffleArray(int[] array, ArrayVisualizer ArrayVisualizer, Delays Delays, Highlights Highlights, Writes Writes) {
             int currentLen = ArrayVisualizer.getCurrentLength();
             boolean delay = ArrayVisualizer.shuffleEnabled();
-            Random random = new Random();
+            SplittableRandom random = ArrayVisualizer.getRandomSource().split();
 
             int start = random.nextInt(currentLen);
             int dest = random.nextInt(currentLen);
@@ -193,7 +193,7 @@ public enum Shuffles {
         public void shuffleArray(int[] array, ArrayVisualizer ArrayVisualizer, Delays Delays, Highlights Highlights, Writes Writes) {
             int currentLen = ArrayVisualizer.getCurrentLength();
             boolean delay = ArrayVisualizer.shuffleEnabled();
-            Random random = new Random();
+            SplittableRandom random = ArrayVisualizer.getRandomSource().split();
 
             int i, size = Math.max(4, (int)(Math.sqrt(currentLen)/2));
             for (i = 0; i+size <= currentLen; i += random.nextInt(size-1)+1)
@@ -208,7 +208,7 @@ public enum Shuffles {
         @Override
         public void shuffleArray(int[] array, ArrayVisualizer ArrayVisualizer, Delays Delays, Highlights Highlights, Writes Writes) {
             int currentLen = ArrayVisualizer.getCurrentLength();
-            Random random = new Random();
+            SplittableRandom random = ArrayVisualizer.getRandomSource().split();
 
             for (int i = 1; i < currentLen; i += 2){
                 int randomIndex = (((random.nextInt(currentLen - i) / 2)) * 2) + i;
@@ -1348,6 +1348,7 @@ public enum Shuffles {
             
             int[] temp = Arrays.copyOf(array, currentLen);
             for (int i = 0; i < len; i++) array[i] = i;
+            Writes.changed(array, 0, len);
             
             int m = 0;
             int d1 = len >> 1, d2 = d1 + (d1 >> 1);
@@ -1396,7 +1397,7 @@ public enum Shuffles {
             boolean delay = ArrayVisualizer.shuffleEnabled();
             double sleep = delay ? 1 : 0;
 
-            Random random = new Random();
+            SplittableRandom random = ArrayVisualizer.getRandomSource().split();
             for (int i = 0; i < currentLen; i += blockSize) {
                 int randomIndex = random.nextInt((currentLen - i) / blockSize) * blockSize + i;
                 blockSwap(array, i, randomIndex, blockSize, Writes, sleep);
@@ -1507,7 +1508,7 @@ public enum Shuffles {
     }
 
     public void shuffle(int[] array, int start, int end, double sleep, Writes Writes) {
-        Random random = new Random();
+        SplittableRandom random = ArrayVisualizer.getInstance().getRandomSource().split();
         for (int i = start; i < end; i++){
             int randomIndex = random.nextInt(end - i) + i;
             Writes.swap(array, i, randomIndex, sleep, true, false);
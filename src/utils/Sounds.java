@@ -16,6 +16,8 @@ import javax.sound.midi.MidiChannel;
 import javax.sound.midi.MidiSystem;
 import javax.sound.midi.MidiUnavailableException;
 import javax.sound.midi.Synthesizer;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
 import javax.sound.sampled.SourceDataLine;
 import javax.swing.JOptionPane;
 
@@ -56,6 +58,9 @@ public final class Sounds {
     private static final boolean ALLOW_PERCUSSION_SOUNDS = Boolean.getBoolean("arrayv.allowPercussion");
     private static final boolean DISABLE_REFLECTION = Boolean.getBoolean("arrayv.disableSynthReflect");
     private static final boolean FORCE_REFLECTION = Boolean.getBoolean("arrayv.forceSynthReflect");
+    // sine, triangle or organ to synthesize the sounds with PcmSynth instead of playing them through MIDI
+    private static final String PCM_WAVEFORM = System.getProperty("arrayv.pcmSynth");
+    private static final int PCM_BUFFERED_BLOCKS = 4;
     private static final Class<?> SOFT_SYNTHESIZER_CLASS;
 
     static {
@@ -83,6 +88,10 @@ public final class Sounds {
     private volatile Synthesizer synth;
     private volatile MidiChannel[] channels;
 
+    private PcmSynth pcm;
+    private SourceDataLine line;
+    private volatile boolean pcmTest;
+
     private volatile int noteDelay;
 
     private boolean soundEnabled;
@@ -126,6 +135,17 @@ public final class Sounds {
 
         this.soundEnabled = true;
 
+        if (ArrayVisualizer.isHeadless()) {
+            this.soundEnabled = false;
+            return;
+        }
+
+        if (PCM_WAVEFORM != null) {
+            this.openPcmSynth();
+            this.AudioThread = this.createPcmThread();
+            return;
+        }
+
         try {
             MidiSystem.getSequencer(false);
             synth = MidiSystem.getSynthesizer();
@@ -189,22 +209,11 @@ public final class Sounds {
                                     playNoteCount++;
                                 }
 
-                                // PITCH
-                                double pitch = Sounds.this.array[Math.min(Math.max(i, 0), currentLen - 1)]
-                                        / (double) currentLen * (PITCHMAX - PITCHMIN) + PITCHMIN;
-                                /*
-                                double pitch = Math.min(Math.max(i, 0), currentLen - 1) / (double) currentLen
-                                        * (PITCHMAX - PITCHMIN) + PITCHMIN;
-                                 */
+                                double pitch = Sounds.this.pitchOf(i, currentLen);
                                 int pitchmajor = (int) pitch;
                                 int pitchminor = (int) ((pitch - ((int) pitch)) * 8192d) + 8192;
 
-                                int vel = (int) (Math.pow(PITCHMAX - pitchmajor, 2d) * (Math.pow(noteCount, -0.25))
-                                        * 64d * SOUNDMUL) / 2; // I'VE SOLVED IT!!
-
-                                if (SOUNDMUL >= 1 && vel < 256) {
-                                    vel *= vel;
-                                }
+                                int vel = Sounds.this.velocityOf(pitchmajor, noteCount);
 
                                 channels[channel].noteOn(pitchmajor, vel);
                                 channels[channel].setPitchBend(pitchminor);
@@ -229,6 +238,129 @@ public final class Sounds {
         };
     }
 
+    private double pitchOf(int index, int currentLen) {
+        return this.array[Math.min(Math.max(index, 0), currentLen - 1)]
+                / (double) currentLen * (PITCHMAX - PITCHMIN) + PITCHMIN;
+        /*
+        return Math.min(Math.max(index, 0), currentLen - 1) / (double) currentLen
+                * (PITCHMAX - PITCHMIN) + PITCHMIN;
+         */
+    }
+
+    private int velocityOf(int pitchmajor, int noteCount) {
+        int vel = (int) (Math.pow(PITCHMAX - pitchmajor, 2d) * (Math.pow(noteCount, -0.25))
+                * 64d * SOUNDMUL) / 2; // I'VE SOLVED IT!!
+
+        if (SOUNDMUL >= 1 && vel < 256) {
+            vel *= vel;
+        }
+        return vel;
+    }
+
+    private void openPcmSynth() {
+        PcmSynth.Waveform waveform;
+        try {
+            waveform = PcmSynth.Waveform.valueOf(PCM_WAVEFORM.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            JErrorPane.invokeCustomErrorMessage("Unknown PCM synth waveform \"" + PCM_WAVEFORM + "\"; expected sine, triangle or organ. Sine will be used instead.");
+            waveform = PcmSynth.Waveform.SINE;
+        }
+        this.pcm = new PcmSynth(this.NUMCHANNELS, waveform);
+        this.instrumentChoice = waveform.ordinal();
+        this.selectedSoundbank = "Built-in PCM synth";
+
+        try {
+            this.line = AudioSystem.getSourceDataLine(this.pcm.getFormat());
+            this.line.open(this.pcm.getFormat(), PCM_BUFFERED_BLOCKS * PcmSynth.getBlockBytes());
+            this.line.start();
+        } catch (LineUnavailableException | IllegalArgumentException e) {
+            JErrorPane.invokeCustomErrorMessage("The default audio output is unavailable, possibly because it is already being used by another application.");
+            this.soundEnabled = false;
+        } catch (SecurityException e) {
+            JErrorPane.invokeErrorMessage(e);
+            this.soundEnabled = false;
+        }
+    }
+
+    /**
+     * Starts a note on {@code synth} for each of the newest positions in {@code accesses} (as many as
+     * {@code positions} holds), with the pitch and loudness the sound effects would give it right now.
+     */
+    public void startNotes(PcmSynth synth, AccessQueue accesses, int[] positions) {
+        int currentLen = ArrayVisualizer.getCurrentLength();
+        int noteCount = accesses.poll(positions, positions.length);
+        for (int k = 0; k < noteCount; k++) {
+            double pitch = this.pitchOf(positions[k], currentLen);
+            // Velocity as the MIDI engine would send it, through the usual squared velocity curve
+            double vel = Math.min(this.velocityOf((int) pitch, noteCount), 127) / 127d;
+            synth.noteOn(pitch, vel * vel * 0.5 / Math.sqrt(noteCount), this.noteDelay);
+        }
+    }
+
+    public int getChannelCount() {
+        return this.NUMCHANNELS;
+    }
+
+    /*
+     * Instead of replaying the current highlights every noteDelay milliseconds, this thread starts a note
+     * for every position marked since the last block (the newest NUMCHANNELS of them) and renders the
+     * next block. Writing the block blocks until the line has room for it, which paces the loop without
+     * any sleeping; with PCM_BUFFERED_BLOCKS blocks queued, a note is heard at most ~25 ms after its mark.
+     */
+    private Thread createPcmThread() {
+        return new Thread("AudioThread") {
+            @Override
+            public void run() {
+                AccessQueue accesses = Highlights.getAccesses();
+                int[] positions = new int[NUMCHANNELS];
+                byte[] block = new byte[PcmSynth.getBlockBytes()];
+
+                accesses.attachReader();
+                try {
+                    this.play(accesses, positions, block);
+                } finally {
+                    accesses.detachReader();
+                }
+            }
+
+            private void play(AccessQueue accesses, int[] positions, byte[] block) {
+                while (Sounds.this.soundEnabled) {
+                    if (SOUND == false || MIDI == false || JErrorPane.errorMessageActive) {
+                        // Let the notes ring out before going quiet
+                        pcm.allNotesOff();
+                        while (!pcm.isSilent()) {
+                            pcm.renderBlock(block);
+                            line.write(block, 0, block.length);
+                        }
+                        accesses.detachReader();
+                        try {
+                            synchronized (Sounds.this) {
+                                Sounds.this.wait();
+                            }
+                        } catch (InterruptedException e) {
+                            break;
+                        } finally {
+                            accesses.attachReader();
+                        }
+                        accesses.clear();
+                        continue;
+                    }
+
+                    if (Sounds.this.pcmTest) {
+                        Sounds.this.pcmTest = false;
+                        for (int note : new int[] {60, 64, 67, 72}) {
+                            pcm.noteOn(note, 0.2, 500);
+                        }
+                    }
+
+                    Sounds.this.startNotes(pcm, accesses, positions);
+                    pcm.renderBlock(block);
+                    line.write(block, 0, block.length);
+                }
+            }
+        };
+    }
+
     public boolean isEnabled() {
         return this.soundEnabled;
     }
@@ -238,6 +370,10 @@ public final class Sounds {
     }
     public void setInstrumentChoice(int choice) {
         this.instrumentChoice = choice;
+        if (this.pcm != null) {
+            this.pcm.setWaveform(PcmSynth.Waveform.values()[choice]);
+            return;
+        }
         this.assignInstruments();
     }
 
@@ -247,6 +383,10 @@ public final class Sounds {
 
     //TODO: Make infoMsg into reusable class (including Custom Image)
     public void selectCustomSoundbank(SoundFrame menu) {
+        if (this.pcm != null) {
+            JOptionPane.showMessageDialog(menu, "Soundbanks are only used by the MIDI sound engine.", "Warning", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
         SoundbankDialog dialog = new SoundbankDialog();
         File soundbank = dialog.getFile();
 
@@ -267,6 +407,10 @@ public final class Sounds {
     }
 
     public void selectDefaultSoundbank(SoundFrame menu) {
+        if (this.pcm != null) {
+            JOptionPane.showMessageDialog(menu, "Soundbanks are only used by the MIDI sound engine.", "Warning", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
         this.infoMsg = new LoadingDialog("resources/soundfont/sfx.sf2", menu);
 
         this.prepareDefaultSoundbank();
@@ -312,6 +456,15 @@ public final class Sounds {
     }
 
     public String[] getInstrumentList() {
+        if (this.pcm != null) {
+            PcmSynth.Waveform[] waveforms = PcmSynth.Waveform.values();
+            String[] names = new String[waveforms.length];
+            for (int i = 0; i < waveforms.length; i++) {
+                names[i] = (i + 1) + ". " + waveforms[i].getName();
+            }
+            return names;
+        }
+
         ArrayList<String> instrumentNames = new ArrayList<String>();
         Instrument[] instruments = this.synth.getLoadedInstruments();
 
@@ -400,6 +553,11 @@ public final class Sounds {
     public void testInstrument(int programIndex) {
         this.testInstrumentChoice = programIndex;
 
+        if (this.pcm != null) {
+            this.testPcmWaveform(programIndex);
+            return;
+        }
+
         if (this.ArrayVisualizer.isActive()) {
             new Thread("TestInstrumentThread") {
                 @Override
@@ -554,6 +712,24 @@ public final class Sounds {
         }
     }
 
+    // Plays the waveform for a while; the chord is only needed when no sort is making any sound
+    private void testPcmWaveform(int choice) {
+        new Thread("TestInstrumentThread") {
+            @Override
+            public void run() {
+                PcmSynth.Waveform saved = PcmSynth.Waveform.values()[Sounds.this.instrumentChoice];
+                Sounds.this.pcm.setWaveform(PcmSynth.Waveform.values()[choice]);
+                Sounds.this.pcmTest = !Sounds.this.ArrayVisualizer.isActive();
+                try {
+                    sleep(Sounds.this.ArrayVisualizer.isActive() ? 2000 : 600);
+                } catch (InterruptedException e) {
+                    JErrorPane.invokeErrorMessage(e);
+                }
+                Sounds.this.pcm.setWaveform(saved);
+            }
+        }.start();
+    }
+
     public synchronized void toggleSounds(boolean val) {
         this.SOUND = val;
         this.notifyAll();
@@ -604,7 +780,8 @@ public final class Sounds {
     public void closeSynth() {
         if (this.soundEnabled) {
             this.soundEnabled = false;
-            this.synth.close();
+            if (this.pcm != null) this.line.close();
+            else                  this.synth.close();
         }
     }
 }
\ No newline at end of file
@@ -5,7 +5,7 @@ import java.text.DecimalFormat;
 import main.ArrayVisualizer;
 
 final public class Statistics {
-    public long frameTimeMillis;
+    public long frameTimeNanos;
 
     private String sortCategory;
     private String sortHeading;
@@ -13,6 +13,12 @@ final public class Statistics {
     private String arrayLength;
 
     private String framerate;
+    private String updatesPerFrame;
+    private String frameProfile;
+    private String phaseProfile;
+    // The profiles cost a few percentile scans each, so they are only built while shown
+    private volatile boolean PROFILE;
+    private volatile boolean PHASES;
     private String sortDelay;
     private String visualTime;
     private String estSortTime;
@@ -28,11 +34,55 @@ final public class Statistics {
 
     private String segments;
 
+    private String inversions;
+    private String inputLIS;
+    private String inputRem;
+    private String inputOsc;
+
     private String recCount;
     private String recDepth;
 
     private DecimalFormat formatter;
 
+    // A count is formatted again only on frames where it changed
+    private static final class CachedCount {
+        private final String singular;
+        private final String plural;
+        private long value;
+        private String text;
+
+        CachedCount(String singular, String plural) {
+            this.singular = singular;
+            this.plural = plural;
+        }
+
+        String format(DecimalFormat formatter, long value) {
+            if (this.text == null || value != this.value) {
+                this.value = value;
+                this.text = Counters.format(formatter, value, this.singular, this.plural);
+            }
+            return this.text;
+        }
+    }
+
+    private final CachedCount updates = new CachedCount("Update this Frame", "Updates this Frame");
+    private final CachedCount comparisons = new CachedCount("Comparison", "Comparisons");
+    private final CachedCount swaps = new CachedCount("Swap", "Swaps");
+    private final CachedCount reversals = new CachedCount("Reversal", "Reversals");
+    private final CachedCount recursions = new CachedCount("Recursion", "Recursions");
+    private final CachedCount depth = new CachedCount("Layer deep (at most)", "Layers deep (at most)");
+    private final CachedCount mainWrites = new CachedCount("Write to Main Array", "Writes to Main Array");
+    private final CachedCount auxWrites = new CachedCount("Write to Auxiliary Array(s)", "Writes to Auxiliary Array(s)");
+    private final CachedCount allocAmount = new CachedCount("Item in External Arrays", "Items in External Arrays");
+
+    private int shownLength = -1;
+    private int shownUnique = -1;
+    private int shownSegments = -1;
+    private int shownPercent = -1;
+    private DisorderMetrics.Measures shownInput;
+    private long shownInversions = -1;
+    private boolean shownStale;
+
     public Statistics(ArrayVisualizer ArrayVisualizer) {
         this.formatter = ArrayVisualizer.getNumberFormat();
         this.updateStats(ArrayVisualizer);
@@ -57,33 +107,84 @@ final public class Statistics {
         this.sortHeading = ArrayVisualizer.getHeading();
         this.sortExtraHeading = ArrayVisualizer.getExtraHeading();
         int showUnique = Math.min(ArrayVisualizer.getUniqueItems(), ArrayVisualizer.getCurrentLength());
-        this.arrayLength = this.formatter.format(ArrayVisualizer.getCurrentLength()) + " Numbers"
-        + ", " + this.formatter.format(showUnique) + " Unique";
+        if (ArrayVisualizer.getCurrentLength() != this.shownLength || showUnique != this.shownUnique) {
+            this.shownLength = ArrayVisualizer.getCurrentLength();
+            this.shownUnique = showUnique;
+            this.arrayLength = this.formatter.format(this.shownLength) + " Numbers"
+            + ", " + this.formatter.format(showUnique) + " Unique";
+        }
 
-        if (frameTimeMillis == 0) {
-            this.framerate = ">1000 FPS";
+        if (frameTimeNanos == 0) {
+            this.framerate = "-- FPS";
         } else {
-            this.framerate = (int)(1000.0 / frameTimeMillis) + " FPS";
+            this.framerate = this.formatter.format((long) (1e9 / frameTimeNanos)) + " FPS";
+        }
+        FrameProfiler profiler = ArrayVisualizer.getFrameProfiler();
+        if (this.PROFILE) {
+            this.frameProfile = "Frame: " + FrameProfiler.formatMillis(profiler.getRecentPercentile(FrameProfiler.Phase.FRAME, 0.5))
+                              + " / " + FrameProfiler.formatMillis(profiler.getRecentPercentile(FrameProfiler.Phase.FRAME, 0.99))
+                              + " / " + FrameProfiler.formatMillis(profiler.getRecentMax(FrameProfiler.Phase.FRAME)) + "ms (p50/p99/max)";
+        }
+        if (this.PHASES) {
+            StringBuilder phases = new StringBuilder();
+            for (FrameProfiler.Phase phase : FrameProfiler.Phase.values()) {
+                if (phase == FrameProfiler.Phase.FRAME) continue;
+                phases.append(phase.getLabel()).append(' ')
+                      .append(FrameProfiler.formatMillis(profiler.getRecentPercentile(phase, 0.99))).append(' ');
+            }
+            this.phaseProfile = phases.append("ms (p99)").toString();
         }
+        this.updatesPerFrame = this.updates.format(this.formatter, ArrayVisualizer.getRenderScheduler().getCoalescedUpdates());
         this.sortDelay = "Delay: " + ArrayVisualizer.getDelays().displayCurrentDelay();
         this.visualTime = "Visual Time: " + ArrayVisualizer.getTimer().getVisualTime();
         this.estSortTime = "Sort Time: " + ArrayVisualizer.getTimer().getRealTime();
 
-        this.comparisonCount = ArrayVisualizer.getReads().getStats();
-        this.swapCount = ArrayVisualizer.getWrites().getSwaps();
-        this.reversalCount = ArrayVisualizer.getWrites().getReversals();
-        this.recCount = ArrayVisualizer.getWrites().getRecursions();
-        this.recDepth = ArrayVisualizer.getWrites().getRecursionDepth();
+        Counters.Snapshot counts = ArrayVisualizer.getCounters().snapshot();
 
-        this.mainWriteCount = ArrayVisualizer.getWrites().getMainWrites();
-        this.auxWriteCount = ArrayVisualizer.getWrites().getAuxWrites();
+        this.comparisonCount = this.comparisons.format(this.formatter, counts.comparisons);
+        this.swapCount = this.swaps.format(this.formatter, counts.swaps);
+        this.reversalCount = this.reversals.format(this.formatter, counts.reversals);
+        this.recCount = this.recursions.format(this.formatter, counts.recursions);
+        this.recDepth = this.depth.format(this.formatter, counts.depth);
 
-        this.auxAllocAmount = ArrayVisualizer.getWrites().getAllocAmount();
+        this.mainWriteCount = this.mainWrites.format(this.formatter, counts.mainWrites);
+        this.auxWriteCount = this.auxWrites.format(this.formatter, counts.auxWrites);
 
-        int[] shadowarray    = ArrayVisualizer.getArray();
-        int[] rawSegments    = this.findSegments(shadowarray, ArrayVisualizer.getCurrentLength(), ArrayVisualizer.reversedComparator());
-        String plural = rawSegments[0] == 1 ? "" : "s";
-        this.segments        = String.valueOf(rawSegments[1]) + "% Sorted (" + String.valueOf(rawSegments[0]) + " Segment" + plural + ")";
+        this.auxAllocAmount = this.allocAmount.format(this.formatter, counts.allocAmount);
+
+        // Only the pairs around written elements are looked at again (see SegmentTracker)
+        SegmentTracker tracker = ArrayVisualizer.getSegmentTracker();
+        tracker.update(ArrayVisualizer.getArray(), ArrayVisualizer.getCurrentLength(), ArrayVisualizer.reversedComparator());
+        if (tracker.getSegments() != this.shownSegments || tracker.getSortedPercent() != this.shownPercent) {
+            this.shownSegments = tracker.getSegments();
+            this.shownPercent = tracker.getSortedPercent();
+            String plural = this.shownSegments == 1 ? "" : "s";
+            this.segments = String.valueOf(this.shownPercent) + "% Sorted (" + String.valueOf(this.shownSegments) + " Segment" + plural + ")";
+        }
+
+        this.updateDisorder(ArrayVisualizer);
+    }
+
+    // A stale inversion count is shown as an estimate ("~") until it could be counted again
+    private void updateDisorder(ArrayVisualizer ArrayVisualizer) {
+        DisorderMetrics metrics = ArrayVisualizer.getDisorderMetrics();
+        metrics.requestRecount(ArrayVisualizer.getArray(), ArrayVisualizer.getCurrentLength());
+
+        long inversions = metrics.getInversions();
+        boolean stale = metrics.isStale();
+        if (this.inversions == null || inversions != this.shownInversions || stale != this.shownStale) {
+            this.shownInversions = inversions;
+            this.shownStale = stale;
+            this.inversions = (stale ? "~" : "") + Counters.format(this.formatter, inversions, "Inversion", "Inversions");
+        }
+
+        DisorderMetrics.Measures input = metrics.getInput();
+        if (input != this.shownInput) {
+            this.shownInput = input;
+            this.inputLIS = "Input LIS: " + this.formatter.format(input.lis);
+            this.inputRem = "Input Rem: " + this.formatter.format(input.rem);
+            this.inputOsc = "Input Osc: " + this.formatter.format(input.osc);
+        }
     }
 
     public String getSortIdentity() {
@@ -95,6 +196,22 @@ final public class Statistics {
     public String getFramerate() {
         return this.framerate;
     }
+    public String getUpdatesPerFrame() {
+        return this.updatesPerFrame;
+    }
+    public void toggleProfile(boolean Bool) {
+        this.PROFILE = Bool;
+    }
+    public void togglePhases(boolean Bool) {
+        this.PHASES = Bool;
+    }
+
+    public String getFrameProfile() {
+        return this.frameProfile;
+    }
+    public String getPhaseProfile() {
+        return this.phaseProfile;
+    }
     public String getSortDelay() {
         return this.sortDelay;
     }
@@ -125,6 +242,18 @@ final public class Statistics {
     public String getSegments() {
         return this.segments;
     }
+    public String getInversions() {
+        return this.inversions;
+    }
+    public String getInputLIS() {
+        return this.inputLIS;
+    }
+    public String getInputRem() {
+        return this.inputRem;
+    }
+    public String getInputOsc() {
+        return this.inputOsc;
+    }
     
     public String getRecursionCount() {
         return this.recCount;
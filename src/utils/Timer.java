@@ -1,7 +1,10 @@
 package utils;
 
 import java.text.DecimalFormat;
-import java.util.Hashtable;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import main.ArrayVisualizer;
 
@@ -32,32 +35,71 @@ SOFTWARE.
  */
 
 final public class Timer {
+    /**
+     * The operations whose time is tracked separately in the "Sort Time" breakdown.
+     */
+    public enum Category {
+        OTHER("Other"),
+        ANALYSIS("Analysis"),
+        COMPARE("Compare"),
+        SWAP("Swap"),
+        WRITE("Write");
+
+        private final String label;
+
+        private Category(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return this.label;
+        }
+
+        static final Category[] VALUES = values();
+    }
+
+    // The lap state of one thread. Only the owning thread writes to it, so timing a lap is
+    // two nanoTime() calls and a primitive add, with no locking, hashing or boxing. A reset only
+    // bumps the timer's epoch; the owner clears its own times when it next sees the new epoch,
+    // and until then readers count them as zero.
+    private static final class Laps {
+        final Thread owner = Thread.currentThread();
+        final long[] times = new long[Category.VALUES.length];
+        volatile int epoch;
+        Category category = Category.OTHER;
+        long timeStart;
+    }
+
     private DecimalFormat formatter;
 
     private volatile String minuteFormat;
     private volatile String secondFormat;
 
     private volatile int elapsedTime;
-    private volatile double realTimer;
     private volatile boolean REALTIMER;
     private volatile double sortRunTime;
     private volatile boolean timerEnabled;
 
-    private String operation;
-    private Hashtable<String, Double> categoricalTimes;
+    // Added to the merged laps to get the total, so the total can be reset or set by hand
+    // without touching the per-category times.
+    private volatile long timeOffset;
 
-    private long timeStart;
-    private long timeStop;
+    private final ThreadLocal<Laps> laps;
+    private final Set<Laps> allLaps;
+    private volatile int epoch;
 
     public Timer(ArrayVisualizer ArrayVisualizer) {
         this.REALTIMER = true;
 
-        this.timeStart = 0;
-        this.timeStop = 0;
-
         this.formatter = ArrayVisualizer.getNumberFormat();
 
-        this.categoricalTimes = new Hashtable<>();
+        this.allLaps = ConcurrentHashMap.newKeySet();
+        this.laps = ThreadLocal.withInitial(() -> {
+            Laps laps = new Laps();
+            laps.epoch = this.epoch;
+            this.allLaps.add(laps);
+            return laps;
+        });
     }
 
     public String getVisualTime() {
@@ -90,7 +132,11 @@ final public class Timer {
     }
 
     public String getRealTime() {
-        return prettifyTime(this.realTimer);
+        return prettifyTime(this.getRealTimeNanos());
+    }
+
+    public double getRealTimeNanos() {
+        return this.sumLaps() + this.timeOffset;
     }
 
     public void toggleRealTimer(boolean Bool) {
@@ -100,7 +146,7 @@ final public class Timer {
     public void enableRealTimer() {
         if (REALTIMER) this.timerEnabled = true;
         this.sortRunTime = System.nanoTime();
-        this.realTimer = 0;
+        this.timeOffset = -this.sumLaps();
     }
 
     public void disableRealTimer() {
@@ -111,38 +157,76 @@ final public class Timer {
         return this.timerEnabled;
     }
 
-    public void startLap(String message) {
-        this.operation = message;
-        this.categoricalTimes.putIfAbsent(message, 0d);
-        if (this.timerEnabled) this.timeStart = System.nanoTime();
+    public void startLap(Category category) {
+        Laps laps = this.laps.get();
+        laps.category = category;
+        if (this.timerEnabled) laps.timeStart = System.nanoTime();
     }
 
     public void startLap() {
-        startLap("");
+        startLap(Category.OTHER);
     }
 
     public void stopLap() {
-        this.timeStop = System.nanoTime();
+        long timeStop = System.nanoTime();
         if (this.timerEnabled) {
-            double timeDiff = timeStop - timeStart;
-            this.realTimer += timeDiff;
-            this.categoricalTimes.put(this.operation, categoricalTimes.get(this.operation) + timeDiff);
+            Laps laps = this.laps.get();
+            int epoch = this.epoch;
+            if (laps.epoch != epoch) {
+                Arrays.fill(laps.times, 0);
+                laps.epoch = epoch;
+            }
+            laps.times[laps.category.ordinal()] += timeStop - laps.timeStart;
         }
     }
 
-    public Hashtable<String, Double> getCategoricalTimes() {
-        return this.categoricalTimes;
+    private long sumLaps() {
+        long total = 0;
+        int epoch = this.epoch;
+        for (Laps laps : this.allLaps) {
+            if (laps.epoch != epoch) continue;
+            for (long time : laps.times) {
+                total += time;
+            }
+        }
+        return total;
     }
-    
+
+    /**
+     * Merges the laps of every thread that has timed something since the last reset.
+     * Categories that were never timed are left out.
+     */
+    public EnumMap<Category, Long> getCategoricalTimes() {
+        long[] totals = new long[Category.VALUES.length];
+        boolean[] used = new boolean[Category.VALUES.length];
+        int epoch = this.epoch;
+        for (Laps laps : this.allLaps) {
+            if (laps.epoch != epoch) continue;
+            for (int i = 0; i < totals.length; i++) {
+                totals[i] += laps.times[i];
+                if (laps.times[i] != 0) used[i] = true;
+            }
+        }
+
+        EnumMap<Category, Long> result = new EnumMap<>(Category.class);
+        for (int i = 0; i < totals.length; i++) {
+            if (used[i]) result.put(Category.VALUES[i], totals[i]);
+        }
+        return result;
+    }
+
     public void resetCategoricalTimes() {
-        this.categoricalTimes.clear();
+        long total = this.sumLaps();
+        this.epoch++;
+        this.allLaps.removeIf(laps -> !laps.owner.isAlive());
+        this.timeOffset += total;
     }
 
     void manualAddTime(long milliseconds) {
-        this.realTimer += milliseconds;
+        this.timeOffset += milliseconds;
     }
 
     public void manualSetTime(long milliseconds) {
-        this.realTimer = milliseconds;
+        this.timeOffset = milliseconds - this.sumLaps();
     }
 }
\ No newline at end of file
@@ -0,0 +1,108 @@
+package utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/*
+ *
+MIT License
+
+Copyright (c) 2021 ArrayV 4.0 Team
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ *
+ */
+
+/**
+ * Simulated time for rendering a sort offline. While a clock is set on {@link Delays}, delays add to it
+ * instead of sleeping, and every time it passes the next frame boundary the frame is handed to the
+ * {@link FrameListener}, on the thread that slept. A {@link TimeListener} hears about every step of the
+ * clock, e.g. to render audio up to the new time.
+ *
+ * The frames only depend on the delays the sort asked for, not on how long anything really took, so a
+ * run that makes the same calls in the same order produces the same frames.
+ */
+final public class VirtualClock {
+    public interface FrameListener {
+        void frame(long index) throws IOException;
+    }
+    public interface TimeListener {
+        void advanced(double millis) throws IOException;
+    }
+
+    private final double frameMillis;
+    private final FrameListener listener;
+    private TimeListener timeListener;
+
+    private double time;
+    private long frames;
+
+    public VirtualClock(int fps, FrameListener listener) {
+        this.frameMillis = 1000d / Math.max(1, fps);
+        this.listener = listener;
+        this.time = 0;
+        this.frames = 0;
+    }
+
+    public synchronized double getTime() {
+        return this.time;
+    }
+    public synchronized long getFrameCount() {
+        return this.frames;
+    }
+    public double getFrameMillis() {
+        return this.frameMillis;
+    }
+
+    public synchronized void setTimeListener(TimeListener listener) {
+        this.timeListener = listener;
+    }
+
+    // Frame k is due at k * frameMillis; multiplying instead of summing keeps long runs from drifting
+    private void emitDueFrames() {
+        while (this.frames * this.frameMillis <= this.time) {
+            try {
+                this.listener.frame(this.frames);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            this.frames++;
+        }
+    }
+
+    /**
+     * Emits the frame at time zero, showing the array before anything has happened.
+     */
+    public synchronized void start() {
+        this.emitDueFrames();
+    }
+
+    public synchronized void advance(double millis) {
+        if (millis <= 0) return;
+        this.time += millis;
+        if (this.timeListener != null) {
+            try {
+                this.timeListener.advanced(this.time);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        this.emitDueFrames();
+    }
+}
@@ -0,0 +1,148 @@
+package utils;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+
+/*
+ *
+MIT License
+
+Copyright (c) 2021 ArrayV 4.0 Team
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ *
+ */
+
+/**
+ * Writes the sound effects of an offline run to a 16-bit mono WAV file, following a {@link VirtualClock}.
+ *
+ * Every time the clock moves, the positions marked since the last step are turned into notes the way
+ * {@link Sounds} would play them, and the {@link PcmSynth} renders whole blocks up to the new time. A
+ * note therefore starts at the first block boundary after its mark, at most
+ * {@value PcmSynth#BLOCK_FRAMES} samples late, and the track comes out the same on every run that makes
+ * the same marks and delays.
+ */
+final public class WavRenderer implements VirtualClock.TimeListener, Closeable {
+    private static final int HEADER_BYTES = 44;
+
+    private final File file;
+    private final OutputStream out;
+    private final Sounds Sounds;
+    private final AccessQueue accesses;
+    private final PcmSynth synth;
+
+    private final int[] positions;
+    private final byte[] block;
+    private long samples;
+
+    public WavRenderer(File file, Sounds sounds, AccessQueue accesses, PcmSynth synth) throws IOException {
+        this.file = file;
+        this.Sounds = sounds;
+        this.accesses = accesses;
+        this.synth = synth;
+        this.positions = new int[sounds.getChannelCount()];
+        this.block = new byte[PcmSynth.getBlockBytes()];
+
+        this.out = new BufferedOutputStream(new FileOutputStream(file), 1 << 16);
+        // The sizes are filled in on close
+        this.out.write(header(synth.getSampleRate(), 0));
+        this.accesses.clear();
+        this.accesses.attachReader();
+    }
+
+    private static byte[] header(int sampleRate, long dataBytes) {
+        byte[] header = new byte[HEADER_BYTES];
+        putAscii(header, 0, "RIFF");
+        putInt(header, 4, (int) (36 + dataBytes));
+        putAscii(header, 8, "WAVE");
+        putAscii(header, 12, "fmt ");
+        putInt(header, 16, 16);             // Size of the format chunk
+        putShort(header, 20, 1);            // PCM
+        putShort(header, 22, 1);            // Mono
+        putInt(header, 24, sampleRate);
+        putInt(header, 28, sampleRate * 2); // Bytes per second
+        putShort(header, 32, 2);            // Bytes per frame
+        putShort(header, 34, 16);           // Bits per sample
+        putAscii(header, 36, "data");
+        putInt(header, 40, (int) dataBytes);
+        return header;
+    }
+    private static void putAscii(byte[] bytes, int at, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            bytes[at + i] = (byte) text.charAt(i);
+        }
+    }
+    private static void putShort(byte[] bytes, int at, int value) {
+        bytes[at]     = (byte) value;
+        bytes[at + 1] = (byte) (value >> 8);
+    }
+    private static void putInt(byte[] bytes, int at, int value) {
+        putShort(bytes, at, value);
+        putShort(bytes, at + 2, value >> 16);
+    }
+
+    private long samplesAt(double millis) {
+        return (long) (millis * this.synth.getSampleRate() / 1000);
+    }
+
+    @Override
+    public void advanced(double millis) throws IOException {
+        this.Sounds.startNotes(this.synth, this.accesses, this.positions);
+
+        long target = this.samplesAt(millis);
+        while (this.samples + PcmSynth.BLOCK_FRAMES <= target) {
+            this.synth.renderBlock(this.block);
+            this.out.write(this.block);
+            this.samples += PcmSynth.BLOCK_FRAMES;
+        }
+    }
+
+    /**
+     * Renders the rest of the track up to exactly {@code millis}, e.g. the length of the video it goes with.
+     */
+    public void finish(double millis) throws IOException {
+        this.Sounds.startNotes(this.synth, this.accesses, this.positions);
+
+        long target = this.samplesAt(millis);
+        while (this.samples < target) {
+            this.synth.renderBlock(this.block);
+            int frames = (int) Math.min(PcmSynth.BLOCK_FRAMES, target - this.samples);
+            this.out.write(this.block, 0, frames * 2);
+            this.samples += frames;
+        }
+    }
+
+    public long getSampleCount() {
+        return this.samples;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.accesses.detachReader();
+        this.out.close();
+        try (RandomAccessFile raf = new RandomAccessFile(this.file, "rw")) {
+            raf.write(header(this.synth.getSampleRate(), this.samples * 2));
+        }
+    }
+}
@@ -6,6 +6,8 @@ import java.text.DecimalFormat;
 import java.util.ArrayList;
 
 import main.ArrayVisualizer;
+import main.SortContext;
+import utils.Timer.Category;
 
 /*
  *
@@ -38,197 +40,172 @@ SOFTWARE.
  * @author S630690
  */
 final public class Writes {
-    private volatile long reversals;
-    private volatile long swaps;
-    private volatile long auxWrites;
-    private volatile long writes;
-    private volatile long allocAmount;
-    public volatile long recursions;
-    public volatile long depth;
+    private volatile int[] mockArray;
 
     private DecimalFormat formatter;
 
     private ArrayVisualizer ArrayVisualizer;
-    private Delays Delays;
+    private List<int[]> arrays;
+    private Counters Counters;
     private Highlights Highlights;
+    private Instrumentation Instrumentation;
     private Timer Timer;
 
-    public Writes(ArrayVisualizer ArrayVisualizer) {
-        this.reversals = 0;
-        this.swaps = 0;
-        this.auxWrites = 0;
-        this.writes = 0;
-        this.allocAmount = 0;
-        this.recursions = 0;
-        this.depth = 0;
+    public Writes(SortContext context) {
+        this.mockArray = new int[16];
 
-        this.ArrayVisualizer = ArrayVisualizer;
-        this.Delays = ArrayVisualizer.getDelays();
-        this.Highlights = ArrayVisualizer.getHighlights();
-        this.Timer = ArrayVisualizer.getTimer();
+        this.ArrayVisualizer = context.getArrayVisualizer();
+        this.arrays = context.getArrays();
+        this.Counters = context.getCounters();
+        this.Highlights = context.getHighlights();
+        this.Instrumentation = context.getInstrumentation();
+        this.Timer = context.getTimer();
 
         this.formatter = ArrayVisualizer.getNumberFormat();
     }
 
+    public void setInstrumentation(Instrumentation instrumentation) {
+        this.Instrumentation = instrumentation;
+    }
+
     public void resetStatistics() {
-        this.reversals = 0;
-        this.swaps = 0;
-        this.auxWrites = 0;
-        this.writes = 0;
-        this.allocAmount = 0;
-        this.recursions = 0;
-        this.depth = 0;
+        this.Counters.resetWrites();
     }
 
     public String getReversals() {
-        if (this.reversals < 0) {
-            this.reversals = Long.MIN_VALUE;
-            return "Over " + this.formatter.format(Long.MAX_VALUE) + " Reversals";
-        } else {
-            if (reversals == 1) return this.reversals + " Reversal";
-            else                return this.formatter.format(this.reversals) + " Reversals";
-        }
+        return utils.Counters.format(this.formatter, this.Counters.getReversals(), "Reversal", "Reversals");
     }
 
     public String getSwaps() {
-        if (this.swaps < 0) {
-            this.swaps = Long.MIN_VALUE;
-            return "Over " + this.formatter.format(Long.MAX_VALUE) + " Swaps";
-        } else {
-            if (this.swaps == 1) return this.swaps + " Swap";
-            else                 return this.formatter.format(this.swaps) + " Swaps";
-        }
+        return utils.Counters.format(this.formatter, this.Counters.getSwaps(), "Swap", "Swaps");
     }
 
     public String getAuxWrites() {
-        if (this.auxWrites < 0) {
-            this.auxWrites = Long.MIN_VALUE;
-            return "Over " + this.formatter.format(Long.MAX_VALUE) + " Writes to Auxiliary Array(s)";
-        } else {
-            if (this.auxWrites == 1) return this.auxWrites + " Write to Auxiliary Array(s)";
-            else                     return this.formatter.format(this.auxWrites) + " Writes to Auxiliary Array(s)";
-        }
+        return utils.Counters.format(this.formatter, this.Counters.getAuxWrites(), "Write to Auxiliary Array(s)", "Writes to Auxiliary Array(s)");
     }
 
     public String getMainWrites() {
-        if (this.writes < 0) {
-            this.writes = Long.MIN_VALUE;
-            return "Over " + this.formatter.format(Long.MAX_VALUE) + " Writes to Main Array";
-        } else {
-            if (this.writes == 1) return this.writes + " Write to Main Array";
-            else                 return this.formatter.format(this.writes) + " Writes to Main Array";
-        }
+        return utils.Counters.format(this.formatter, this.Counters.getWrites(), "Write to Main Array", "Writes to Main Array");
     }
 
     public String getAllocAmount() {
-        if (this.allocAmount < 0) {
-            this.allocAmount = Long.MIN_VALUE;
-            return "Over " + this.formatter.format(Long.MAX_VALUE) + " Items in External Arrays";
-        } else {
-            if (this.allocAmount == 1) return this.allocAmount + " Item in External Arrays";
-            else                       return this.formatter.format(this.allocAmount) + " Items in External Arrays";
-        }
+        return utils.Counters.format(this.formatter, this.Counters.getAllocAmount(), "Item in External Arrays", "Items in External Arrays");
     }
-    
+
     public String getRecursions() {
-        if (this.recursions < 0) {
-            this.recursions = Long.MIN_VALUE;
-            return "Over " + this.formatter.format(Long.MAX_VALUE) + " Recursions";
-        }
-        else {
-            if (recursions == 1) return this.recursions + " Recursion";
-            else               return this.formatter.format(this.recursions) + " Recursions";
-        }
+        return utils.Counters.format(this.formatter, this.Counters.getRecursions(), "Recursion", "Recursions");
     }
 
     public String getRecursionDepth() {
-        if (this.depth < 0) {
-            this.depth = Long.MIN_VALUE;
-            return "Over " + this.formatter.format(Long.MAX_VALUE) + " Layers deep (at most)";
-        }
-        else {
-            if (depth == 1) return this.depth + " Layer deep (at most)";
-            else               return this.formatter.format(this.depth) + " Layers deep (at most)";
-        }
+        return utils.Counters.format(this.formatter, this.Counters.getDepth(), "Layer deep (at most)", "Layers deep (at most)");
+    }
+
+    public long getReversalCount() {
+        return this.Counters.getReversals();
+    }
+
+    public long getSwapCount() {
+        return this.Counters.getSwaps();
+    }
+
+    public long getAuxWriteCount() {
+        return this.Counters.getAuxWrites();
+    }
+
+    public long getMainWriteCount() {
+        return this.Counters.getWrites();
+    }
+
+    public long getAllocCount() {
+        return this.Counters.getAllocAmount();
+    }
+
+    // The largest number of items that were held in external arrays at once since the last reset
+    public long getMaxAllocCount() {
+        return this.Counters.getMaxAllocAmount();
+    }
+
+    public long getRecursionCount() {
+        return this.Counters.getRecursions();
     }
 
     public void changeAuxWrites(int value) {
-        this.auxWrites += value;
+        this.Counters.addAuxWrites(value);
     }
 
     public void changeWrites(int value) {
-        this.writes += value;
+        this.Counters.addWrites(value);
     }
 
     public void changeAllocAmount(int value) {
-        this.allocAmount += value;
+        this.Counters.changeAllocAmount(value);
     }
 
     public void clearAllocAmount() {
-        this.allocAmount = 0;
+        this.Counters.clearAllocAmount();
     }
 
     public void changeReversals(int value) {
-        this.reversals += value;
+        this.Counters.addReversals(value);
     }
-    
+
     public void recursion() {
-        this.recursions++;
+        this.Counters.addRecursions(1);
     }
 
     public void recursion(int k) {
-        this.recursions += k;
+        this.Counters.addRecursions(k);
     }
 
     public void recordDepth(int k) {
-        if (this.depth < k) this.depth = k;
+        this.Counters.recordDepth(k);
     }
 
     private void updateSwap(boolean auxwrite) {
-        this.swaps++;
-        if (auxwrite) this.auxWrites += 2;
-        else          this.writes += 2;
+        this.Counters.addSwap();
+        if (auxwrite) this.Counters.addAuxWrites(2);
+        else          this.Counters.addWrites(2);
     }
 
     private void markSwap(int a, int b) {
-        Highlights.markArray(1, a);
-        Highlights.markArray(2, b);
+        Instrumentation.mark(1, a);
+        Instrumentation.mark(2, b);
     }
 
     public void swap(int[] array, int a, int b, double pause, boolean mark, boolean auxwrite) {
         if (ArrayVisualizer.sortCanceled()) throw new StopSort();
-        if (!auxwrite && a >= ArrayVisualizer.getCurrentLength()) {
-            System.err.println("Warning: write to index " + a + ", which is out of bounds for the current length (" + ArrayVisualizer.getCurrentLength() + ")");
-        }
-        if (!auxwrite && b >= ArrayVisualizer.getCurrentLength()) {
-            System.err.println("Warning: write to index " + b + ", which is out of bounds for the current length (" + ArrayVisualizer.getCurrentLength() + ")");
+        if (!auxwrite) {
+            Instrumentation.checkIndex(a);
+            Instrumentation.checkIndex(b);
         }
 
         if (mark) this.markSwap(a, b);
 
-        Timer.startLap("Swap");
+        Instrumentation.startLap(Category.SWAP);
 
         int temp = array[a];
         array[a] = array[b];
         array[b] = temp;
 
-        Timer.stopLap();
+        Instrumentation.stopLap();
+
+        Instrumentation.swapped(array, a, b);
 
         this.updateSwap(auxwrite);
-        ArrayVisualizer.updateNow();
-        Delays.sleep(pause);
+        Instrumentation.update();
+        Instrumentation.sleep(pause);
     }
 
     public void multiSwap(int[] array, int pos, int to, double sleep, boolean mark, boolean auxwrite) {
         if (to - pos > 0) {
             for (int i = pos; i < to; i++) {
                 this.swap(array, i, i + 1, 0, mark, auxwrite);
-                Delays.sleep(sleep);
+                Instrumentation.sleep(sleep);
             }
         } else {
             for (int i = pos; i > to; i--) {
                 this.swap(array, i, i - 1, 0, mark, auxwrite);
-                Delays.sleep(sleep);
+                Instrumentation.sleep(sleep);
             }
         }
     }
@@ -238,22 +215,22 @@ final public class Writes {
         if (to - pos > 0) {
             for (int i = pos; i < to; i++) {
                 this.write(array, i, array[i + 1], 0, mark, auxwrite);
-                Delays.sleep(sleep);
+                Instrumentation.sleep(sleep);
             }
         } else if (to - pos < 0) {
             for (int i = pos; i > to; i--) {
                 this.write(array, i, array[i - 1], 0, mark, auxwrite);
-                Delays.sleep(sleep);
+                Instrumentation.sleep(sleep);
             }
         }
         if (pos != to) {
             this.write(array, to, temp, 0, mark, auxwrite);
-            Delays.sleep(sleep);
+            Instrumentation.sleep(sleep);
         }
     }
 
     public void reversal(int[] array, int start, int length, double sleep, boolean mark, boolean auxwrite) {
-        this.reversals++;
+        this.Counters.addReversals(1);
 
         for (int i = start; i < start + ((length - start + 1) / 2); i++) {
             this.swap(array, i, start + length - i, sleep, mark, auxwrite);
@@ -262,39 +239,44 @@ final public class Writes {
 
     public void write(int[] array, int at, int equals, double pause, boolean mark, boolean auxwrite) {
         if (ArrayVisualizer.sortCanceled()) throw new StopSort();
-        if (!auxwrite && at >= ArrayVisualizer.getCurrentLength()) {
-            System.err.println("Warning: write to index " + at + ", which is out of bounds for the current length (" + ArrayVisualizer.getCurrentLength() + ")");
-        }
+        if (!auxwrite) Instrumentation.checkIndex(at);
 
-        if (mark) Highlights.markArray(1, at);
+        if (mark) Instrumentation.mark(1, at);
 
-        if (auxwrite) auxWrites++;
-        else          writes++;
+        if (auxwrite) this.Counters.addAuxWrites(1);
+        else          this.Counters.addWrites(1);
 
-        Timer.startLap("Write");
+        Instrumentation.startLap(Category.WRITE);
 
         array[at] = equals;
 
-        Timer.stopLap();
+        Instrumentation.stopLap();
 
-        ArrayVisualizer.updateNow();
-        Delays.sleep(pause);
+        Instrumentation.written(array, at);
+        Instrumentation.update();
+        Instrumentation.sleep(pause);
     }
 
     public <T> void write(T[] array, int at, T equals, double pause, boolean mark) {
         if (ArrayVisualizer.sortCanceled()) throw new StopSort();
-        if (mark) Highlights.markArray(1, at);
+        if (mark) Instrumentation.mark(1, at);
 
-        auxWrites++;
+        this.Counters.addAuxWrites(1);
 
-        Timer.startLap("Write");
+        Instrumentation.startLap(Category.WRITE);
 
         array[at] = equals;
 
-        Timer.stopLap();
+        Instrumentation.stopLap();
 
-        ArrayVisualizer.updateNow();
-        Delays.sleep(pause);
+        Instrumentation.update();
+        Instrumentation.sleep(pause);
+    }
+
+    // For code that changed array[from, to) itself instead of through write or swap, so the renderer
+    // draws the new values. Nothing is counted.
+    public void changed(int[] array, int from, int to) {
+        Instrumentation.written(array, from, to);
     }
 
     public void visualClear(int[] array, int index) {
@@ -303,55 +285,63 @@ final public class Writes {
 
     public void visualClear(int[] array, int index, double delay) {
         array[index] = -1;
+        Instrumentation.written(array, index);
     }
 
     public void multiDimWrite(int[][] array, int x, int y, int equals, double pause, boolean mark, boolean auxwrite) {
         if (ArrayVisualizer.sortCanceled()) throw new StopSort();
-        if (mark) Highlights.markArray(1, x);
+        if (mark) Instrumentation.mark(1, x);
 
-        if (auxwrite) auxWrites++;
-        else          writes++;
+        if (auxwrite) this.Counters.addAuxWrites(1);
+        else          this.Counters.addWrites(1);
 
-        Timer.startLap();
+        Instrumentation.startLap(Category.OTHER);
 
         array[x][y] = equals;
 
-        Timer.stopLap();
+        Instrumentation.stopLap();
 
-        ArrayVisualizer.updateNow();
-        Delays.sleep(pause);
+        Instrumentation.update();
+        Instrumentation.sleep(pause);
     }
 
     public <T> void multiDimWrite(T[][] array, int x, int y, T equals, double pause, boolean mark) {
         if (ArrayVisualizer.sortCanceled()) throw new StopSort();
-        if (mark) Highlights.markArray(1, x);
+        if (mark) Instrumentation.mark(1, x);
 
-        auxWrites++;
+        this.Counters.addAuxWrites(1);
 
-        Timer.startLap();
+        Instrumentation.startLap(Category.OTHER);
 
         array[x][y] = equals;
 
-        Timer.stopLap();
+        Instrumentation.stopLap();
 
-        ArrayVisualizer.updateNow();
-        Delays.sleep(pause);
+        Instrumentation.update();
+        Instrumentation.sleep(pause);
     }
 
     //Simulates a write in order to better estimate time for values being written to an ArrayList
     public void mockWrite(int length, int pos, int val, double pause) {
         if (ArrayVisualizer.sortCanceled()) throw new StopSort();
-        int[] mockArray = new int[length];
 
-        this.auxWrites++;
+        // The scratch buffer is shared between calls and only ever grows, so this
+        // costs one store instead of allocating a new array of the list's length.
+        int[] mockArray = this.mockArray;
+        if (pos >= mockArray.length) {
+            mockArray = new int[Math.max(Math.max(length, pos + 1), mockArray.length * 2)];
+            this.mockArray = mockArray;
+        }
 
-        Timer.startLap();
+        this.Counters.addAuxWrites(1);
+
+        Instrumentation.startLap(Category.OTHER);
 
         mockArray[pos] = val;
 
-        Timer.stopLap();
+        Instrumentation.stopLap();
 
-        Delays.sleep(pause);
+        Instrumentation.sleep(pause);
     }
 
     public void transcribe(int[] array, ArrayList<Integer>[] registers, int start, boolean mark, boolean auxwrite) {
@@ -360,7 +350,7 @@ final public class Writes {
         for (int index = 0; index < registers.length; index++) {
             for (int i = 0; i < registers[index].size(); i++) {
                 this.write(array, total++, registers[index].get(i), 0, mark, auxwrite);
-                if (mark) Delays.sleep(1);
+                if (mark) Instrumentation.sleep(1);
             }
             this.arrayListClear(registers[index]);
         }
@@ -377,18 +367,61 @@ final public class Writes {
         for (int index = registers.length - 1; index >= 0; index--) {
             for (int i = registers[index].size() - 1; i >= 0; i--) {
                 this.write(array, total + min - temp++ - 1, registers[index].get(i), 0, mark, auxwrite);
-                if (mark) Delays.sleep(sleep);
+                if (mark) Instrumentation.sleep(sleep);
+            }
+        }
+    }
+
+    public void transcribe(int[] array, IntBucket[] registers, int start, boolean mark, boolean auxwrite) {
+        int total = start;
+
+        for (int index = 0; index < registers.length; index++) {
+            IntBucket register = registers[index];
+            for (int i = 0; i < register.size(); i++) {
+                this.write(array, total++, register.get(i), 0, mark, auxwrite);
+                if (mark) Instrumentation.sleep(1);
+            }
+            this.bucketClear(register);
+        }
+    }
+
+    public void transcribeMSD(int[] array, IntBucket[] registers, int start, int min, double sleep, boolean mark, boolean auxwrite) {
+        int total = start;
+        int temp = 0;
+
+        for (IntBucket register : registers) {
+            total += register.size();
+        }
+
+        for (int index = registers.length - 1; index >= 0; index--) {
+            IntBucket register = registers[index];
+            for (int i = register.size() - 1; i >= 0; i--) {
+                this.write(array, total + min - temp++ - 1, register.get(i), 0, mark, auxwrite);
+                if (mark) Instrumentation.sleep(sleep);
             }
         }
     }
 
     public void fancyTranscribe(int[] array, int length, ArrayList<Integer>[] registers, double sleep) {
         int[] tempArray = this.createExternalArray(length);
-        boolean[] tempWrite = new boolean[length];
-        int radix = registers.length;
 
         this.transcribe(tempArray, registers, 0, false, true);
-        auxWrites -= length;
+        this.Counters.addAuxWrites(-length);
+
+        this.fancyTranscribe(array, length, registers.length, tempArray, sleep);
+    }
+
+    public void fancyTranscribe(int[] array, int length, IntBucket[] registers, double sleep) {
+        int[] tempArray = this.createExternalArray(length);
+
+        this.transcribe(tempArray, registers, 0, false, true);
+        this.Counters.addAuxWrites(-length);
+
+        this.fancyTranscribe(array, length, registers.length, tempArray, sleep);
+    }
+
+    private void fancyTranscribe(int[] array, int length, int radix, int[] tempArray, double sleep) {
+        boolean[] tempWrite = new boolean[length];
 
         for (int i = 0; i < length; i++) {
             int register = i % radix;
@@ -399,8 +432,8 @@ final public class Writes {
                 tempWrite[pos] = true;
             }
 
-            Highlights.markArray(register, pos);
-            if (register == 0) Delays.sleep(sleep);
+            Instrumentation.mark(register, pos);
+            if (register == 0) Instrumentation.sleep(sleep);
         }
         for (int i = 0; i < length; i++) {
             if (!tempWrite[i]){
@@ -431,9 +464,9 @@ final public class Writes {
         for (int i = start; i != end; i += dir) {
             if (mark) {
                 if (aux) {
-                    Highlights.markArray(1, srcPos + i);
+                    Instrumentation.mark(1, srcPos + i);
                 } else {
-                    Highlights.markArray(1, destPos + i);
+                    Instrumentation.mark(1, destPos + i);
                 }
             }
             write(dest, destPos + i, src[srcPos + i], sleep, false, aux);
@@ -441,18 +474,18 @@ final public class Writes {
     }
 
     public int[] copyOfArray(int[] original, int newLength) {
-        this.allocAmount += newLength;
+        this.changeAllocAmount(newLength);
         int[] result = Arrays.copyOf(original, newLength);
-        ArrayVisualizer.getArrays().add(result);
-        ArrayVisualizer.updateNow();
+        this.arrays.add(result);
+        Instrumentation.update();
         return result;
     }
 
     public int[] copyOfRangeArray(int[] original, int from, int to) {
-        this.allocAmount += to - from;
+        this.changeAllocAmount(to - from);
         int[] result = Arrays.copyOfRange(original, from, to);
-        ArrayVisualizer.getArrays().add(result);
-        ArrayVisualizer.updateNow();
+        this.arrays.add(result);
+        Instrumentation.update();
         return result;
     }
 
@@ -475,28 +508,28 @@ final public class Writes {
     }
 
     public int[] createExternalArray(int length) {
-        this.allocAmount += length;
+        this.changeAllocAmount(length);
         int[] result = new int[length];
-        ArrayVisualizer.getArrays().add(result);
-        ArrayVisualizer.updateNow();
+        this.arrays.add(result);
+        Instrumentation.update();
         return result;
     }
 
     public void deleteExternalArray(int[] array) {
-        this.allocAmount -= array.length;
-        ArrayVisualizer.getArrays().remove(array);
-        ArrayVisualizer.updateNow();
+        this.Counters.changeAllocAmount(-array.length);
+        this.arrays.remove(array);
+        Instrumentation.update();
     }
 
     public void deleteExternalArrays(int[]... arrays) {
-        this.allocAmount -= Arrays.stream(arrays).reduce(0, (a, b) -> (a + b.length), (a, b) -> a + b);
-        List<int[]> visArrays = ArrayVisualizer.getArrays();
+        this.Counters.changeAllocAmount(-Arrays.stream(arrays).reduce(0, (a, b) -> (a + b.length), (a, b) -> a + b));
+        List<int[]> visArrays = this.arrays;
         Arrays.stream(arrays).forEach(visArrays::remove);
-        ArrayVisualizer.updateNow();
+        Instrumentation.update();
     }
 
     public void arrayListAdd(List<Integer> aList, int value) {
-        allocAmount++;
+        this.changeAllocAmount(1);
         aList.add(value);
     }
 
@@ -505,23 +538,23 @@ final public class Writes {
             ((ArrayVList)aList).add(value, sleep, false);
             return;
         }
-        allocAmount++;
+        this.changeAllocAmount(1);
         aList.add(value);
         if (mockWrite) {
             this.mockWrite(aList.size(), aList.size() - 1, value, sleep);
         } else {
-            Delays.sleep(sleep);
+            Instrumentation.sleep(sleep);
         }
     }
 
     public void arrayListRemoveAt(List<Integer> aList, int index) {
-        allocAmount--;
+        this.Counters.changeAllocAmount(-1);
         aList.remove(index);
     }
 
     public void arrayListClear(List<Integer> aList) {
         if (!(aList instanceof ArrayVList))
-            allocAmount -= aList.size();
+            this.Counters.changeAllocAmount(-aList.size());
         aList.clear();
     }
 
@@ -529,7 +562,7 @@ final public class Writes {
         if (aList instanceof ArrayVList) {
             ((ArrayVList)aList).delete();
         } else {
-            allocAmount -= aList.size();
+            this.Counters.changeAllocAmount(-aList.size());
         }
     }
 
@@ -539,6 +572,40 @@ final public class Writes {
         }
     }
 
+    public void bucketAdd(IntBucket bucket, int value) {
+        this.changeAllocAmount(1);
+        bucket.add(value);
+    }
+
+    public void bucketAdd(IntBucket bucket, int value, boolean mockWrite, double sleep) {
+        this.changeAllocAmount(1);
+        if (mockWrite) {
+            if (ArrayVisualizer.sortCanceled()) throw new StopSort();
+            this.Counters.addAuxWrites(1);
+
+            Instrumentation.startLap(Category.OTHER);
+
+            bucket.add(value);
+
+            Instrumentation.stopLap();
+        } else {
+            bucket.add(value);
+        }
+        Instrumentation.sleep(sleep);
+    }
+
+    public void bucketClear(IntBucket bucket) {
+        this.Counters.changeAllocAmount(-bucket.size());
+        bucket.clear();
+    }
+
+    public void deleteBuckets(IntBucket[] buckets) {
+        for (IntBucket bucket : buckets) {
+            this.Counters.changeAllocAmount(-bucket.size());
+            bucket.release();
+        }
+    }
+
     //TODO: These methods should be solely controlled by Timer class
     public void addTime(long milliseconds) {
         if (Timer.timerEnabled()) Timer.manualAddTime(milliseconds);
@@ -0,0 +1,141 @@
+package visuals;
+
+/*
+ *
+MIT License
+
+Copyright (c) 2021 ArrayV 4.0 Team
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ *
+ */
+
+/**
+ * The sines and cosines the circular visuals need, worked out once per array length. Index {@code i} of
+ * an array of length {@code n} sits at angle {@code PI * (2i/n - 0.5)}, i.e. clockwise from the top;
+ * {@link #cos(int)} and {@link #sin(int)} give the same values the visuals used to compute per element,
+ * and {@link #points(double, int, int)} goes one step further and keeps the pixel positions on a circle
+ * of a given radius.
+ *
+ * Like {@link Palette}, lengths past 65536 share entries between neighbouring indices; at the radii that
+ * fit on a screen the difference is a small fraction of a pixel.
+ */
+final public class CircleTable {
+    private static final int MAX_ENTRIES = 1 << 16;
+
+    private static CircleTable cache;
+
+    private final int length;
+    private final double[] cos;
+    private final double[] sin;
+    private final double[] turn;
+
+    private Points points;
+
+    /**
+     * The pixel positions of every index on one circle.
+     */
+    final public class Points {
+        private final double radius;
+        private final int centerX;
+        private final int centerY;
+        private final int[] x;
+        private final int[] y;
+
+        private Points(double radius, int centerX, int centerY) {
+            this.radius = radius;
+            this.centerX = centerX;
+            this.centerY = centerY;
+            this.x = new int[CircleTable.this.cos.length];
+            this.y = new int[CircleTable.this.sin.length];
+            for (int e = 0; e < this.x.length; e++) {
+                this.x[e] = centerX + (int) (radius * CircleTable.this.cos[e]);
+                this.y[e] = centerY + (int) (radius * CircleTable.this.sin[e]);
+            }
+        }
+
+        public int x(int i) {
+            return this.x[CircleTable.this.entry(i)];
+        }
+        public int y(int i) {
+            return this.y[CircleTable.this.entry(i)];
+        }
+    }
+
+    private CircleTable(int length) {
+        this.length = Math.max(length, 1);
+        int n = this.length;
+        int entries = Math.min(n, MAX_ENTRIES);
+
+        this.cos = new double[entries];
+        this.sin = new double[entries];
+        this.turn = new double[entries];
+        for (int e = 0; e < entries; e++) {
+            int i = n <= MAX_ENTRIES ? e : (int) ((long) e * n / MAX_ENTRIES);
+            this.cos[e] = Math.cos(Math.PI * (2d*i / n - 0.5));
+            this.sin[e] = Math.sin(Math.PI * (2d*i / n - 0.5));
+            this.turn[e] = Math.cos((Math.PI * i) / (n * 0.5));
+        }
+    }
+
+    public static CircleTable get(int length) {
+        CircleTable table = cache;
+        if (table == null || table.length != Math.max(length, 1)) {
+            table = new CircleTable(length);
+            cache = table;
+        }
+        return table;
+    }
+
+    // Drops the cached pixel positions, e.g. when the window is resized
+    public static void clearPoints() {
+        CircleTable table = cache;
+        if (table != null) table.points = null;
+    }
+
+    // Angles repeat every length indices, so any index (e.g. a value used as a position) is folded back in
+    private int entry(int i) {
+        if (i < 0 || i >= this.length) i = Math.floorMod(i, this.length);
+        if (this.length <= MAX_ENTRIES) return i;
+        return (int) ((long) i * MAX_ENTRIES / this.length);
+    }
+
+    public double cos(int i) {
+        return this.cos[this.entry(i)];
+    }
+    public double sin(int i) {
+        return this.sin[this.entry(i)];
+    }
+    /**
+     * @return {@code cos(2 * PI * d / length)}, how far apart two indices {@code d} positions apart are around
+     *         the circle, as used by the disparity visuals
+     */
+    public double turn(int d) {
+        return this.turn[this.entry(Math.abs(d))];
+    }
+
+    public Points points(double radius, int centerX, int centerY) {
+        Points points = this.points;
+        if (points == null || points.radius != radius || points.centerX != centerX || points.centerY != centerY) {
+            points = new Points(radius, centerX, centerY);
+            this.points = points;
+        }
+        return points;
+    }
+}
@@ -0,0 +1,102 @@
+package visuals;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.stream.IntStream;
+
+/*
+ *
+MIT License
+
+Copyright (c) 2021 ArrayV 4.0 Team
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ *
+ */
+
+/**
+ * An image that visuals paint whole, pixel by pixel, and then draw in one call. It is kept from frame to
+ * frame and only replaced when its size changes, and {@link #paintRows(RowPainter)} writes straight into
+ * its pixels, splitting the rows between cores once the image is large enough to be worth it.
+ */
+final public class FrameBuffer {
+    public interface RowPainter {
+        /**
+         * Fills row {@code y}, which starts at {@code pixels[offset]}. May be called for several rows at
+         * once from different threads.
+         */
+        void paintRow(int[] pixels, int offset, int y);
+    }
+
+    private static final int PARALLEL_THRESHOLD = 1 << 18;
+    private static final int ROWS_PER_TASK = 16;
+
+    private BufferedImage image;
+    private int[] pixels;
+    private int width;
+    private int height;
+
+    public FrameBuffer() {
+        this.width = 0;
+        this.height = 0;
+    }
+
+    public void ensureSize(int width, int height) {
+        width = Math.max(width, 1);
+        height = Math.max(height, 1);
+        if (this.image == null || width != this.width || height != this.height) {
+            this.image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            this.pixels = ((DataBufferInt) this.image.getRaster().getDataBuffer()).getData();
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    public BufferedImage getImage() {
+        return this.image;
+    }
+    public int[] getPixels() {
+        return this.pixels;
+    }
+    public int getWidth() {
+        return this.width;
+    }
+    public int getHeight() {
+        return this.height;
+    }
+
+    public void paintRows(RowPainter painter) {
+        int[] pixels = this.pixels;
+        int width = this.width, height = this.height;
+
+        if ((long) width * height < PARALLEL_THRESHOLD || Runtime.getRuntime().availableProcessors() == 1) {
+            for (int y = 0; y < height; y++) {
+                painter.paintRow(pixels, y * width, y);
+            }
+            return;
+        }
+
+        int tasks = (height + ROWS_PER_TASK - 1) / ROWS_PER_TASK;
+        IntStream.range(0, tasks).parallel().forEach(task -> {
+            for (int y = task * ROWS_PER_TASK, end = Math.min(y + ROWS_PER_TASK, height); y < end; y++) {
+                painter.paintRow(pixels, y * width, y);
+            }
+        });
+    }
+}
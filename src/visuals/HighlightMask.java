@@ -0,0 +1,147 @@
+package visuals;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+import utils.Highlights;
+
+/*
+ *
+MIT License
+
+Copyright (c) 2021 ArrayV 4.0 Team
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ *
+ */
+
+/**
+ * The highlighted positions of one frame, read from {@link Highlights} once by the renderer so the visuals
+ * don't have to ask about every element.
+ *
+ * The positions can be walked in order with {@link #size()} and {@link #get(int)} or {@link #forEach}, which
+ * lets a visual draw its highlights without going over the whole array. {@link #contains(int)} answers in
+ * O(1) and holds for exactly the highlighted positions, like {@link Highlights#containsPosition(int)}.
+ * {@link #containsNear(int)} is the thicker test of {@link visuals.Visual#colorMarkedBars}, which also holds
+ * for up to {@link #getRadius()} positions after each highlight on longer arrays.
+ */
+final public class HighlightMask {
+    private final int capacity;
+    private final long[] bits;
+
+    private int[] marked;
+    private int count;
+    private int radius;
+
+    public HighlightMask(int capacity) {
+        this.capacity = Math.max(capacity, 1);
+        this.bits = new long[((this.capacity - 1) >> 6) + 1];
+        this.marked = new int[16];
+        this.count = 0;
+        this.radius = 0;
+    }
+
+    //The longer the array length, the more bars marked. Makes the visual easier to see when bars are thinner.
+    public static int radiusFor(int length) {
+        int logOfLen = 31 - Integer.numberOfLeadingZeros(Math.max(length, 1));
+        switch (logOfLen) {
+            case 10: return 1;
+            case 11: return 2;
+            case 12: return 4;
+            case 13: return 7;
+            case 14: return 10;
+            case 15: return 15;
+            default: return 0;
+        }
+    }
+
+    public void update(Highlights Highlights, int length) {
+        for (int k = 0; k < this.count; k++) {
+            this.setBit(this.marked[k], false);
+        }
+        this.count = 0;
+
+        int[] list = Highlights.highlightList();
+        for (int i = 0, end = Math.min(Highlights.getMaxHighlight(), list.length); i < end; i++) {
+            int position = list[i];
+            if (position < 0 || position >= this.capacity) continue;
+            if (this.count == this.marked.length) {
+                this.marked = Arrays.copyOf(this.marked, this.count * 2);
+            }
+            this.marked[this.count++] = position;
+        }
+
+        Arrays.sort(this.marked, 0, this.count);
+        int unique = 0;
+        for (int k = 0; k < this.count; k++) {
+            if (unique == 0 || this.marked[k] != this.marked[unique - 1]) {
+                this.marked[unique++] = this.marked[k];
+            }
+        }
+        this.count = unique;
+
+        this.radius = radiusFor(length);
+        for (int k = 0; k < this.count; k++) {
+            this.setBit(this.marked[k], true);
+        }
+    }
+
+    private void setBit(int index, boolean value) {
+        if (value) this.bits[index >> 6] |=   1L << index;
+        else       this.bits[index >> 6] &= ~(1L << index);
+    }
+
+    public boolean contains(int index) {
+        if (index < 0 || index >= this.capacity) return false;
+        return (this.bits[index >> 6] & (1L << index)) != 0;
+    }
+
+    // Whether any of index - getRadius() through index is highlighted
+    public boolean containsNear(int index) {
+        for (int i = Math.max(index - this.radius, 0); i <= index; i++) {
+            if (this.contains(i)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Passes every highlighted position below {@code length} to {@code action}, once each and in increasing
+     * order.
+     */
+    public void forEach(int length, IntConsumer action) {
+        int end = Math.min(length, this.capacity);
+        for (int k = 0; k < this.count && this.marked[k] < end; k++) {
+            action.accept(this.marked[k]);
+        }
+    }
+
+    public int getRadius() {
+        return this.radius;
+    }
+
+    // Number of distinct highlighted positions
+    public int size() {
+        return this.count;
+    }
+
+    // The k-th highlighted position, in increasing order
+    public int get(int k) {
+        return this.marked[k];
+    }
+}
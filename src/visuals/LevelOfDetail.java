@@ -0,0 +1,150 @@
+package visuals;
+
+import java.util.Arrays;
+
+/*
+ *
+MIT License
+
+Copyright (c) 2021 ArrayV 4.0 Team
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ *
+ */
+
+/**
+ * Summaries of an array that is longer than the window is wide, one per pixel column: the smallest, largest
+ * and mean value of the elements that land on that column, and whether any of them is highlighted. Visuals
+ * that draw one primitive per column from these instead of one per element cost the same at any length.
+ *
+ * Element {@code i} lands on column {@code i * columns / length}. Columns are only summed again once they
+ * are invalidated; the highlights are taken from the frame's {@link HighlightMask} on every {@link #update}, since there are few of them.
+ */
+final public class LevelOfDetail {
+    private int[] array;
+    private int length;
+    private int columns;
+
+    private int[] min;
+    private int[] max;
+    private long[] sum;
+    private boolean[] highlighted;
+
+    private boolean[] dirty;
+    private boolean allDirty;
+
+    public LevelOfDetail() {
+        this.columns = 0;
+        this.allDirty = true;
+    }
+
+    public int getColumns() {
+        return this.columns;
+    }
+    public int getLength() {
+        return this.length;
+    }
+
+    public int getMin(int column) {
+        return this.min[column];
+    }
+    public int getMax(int column) {
+        return this.max[column];
+    }
+    public int getMean(int column) {
+        return (int) (this.sum[column] / (this.firstIndex(column + 1) - this.firstIndex(column)));
+    }
+    public boolean isHighlighted(int column) {
+        return this.highlighted[column];
+    }
+
+    public int firstIndex(int column) {
+        return (int) (((long) column * this.length + this.columns - 1) / this.columns);
+    }
+    public int lastIndex(int column) {
+        return this.firstIndex(column + 1) - 1;
+    }
+    public int columnOf(int index) {
+        return (int) ((long) index * this.columns / this.length);
+    }
+
+    /**
+     * Marks the columns holding elements {@code [from, to)} to be summed again on the next update.
+     */
+    public void invalidate(int from, int to) {
+        if (this.allDirty) return;
+        from = Math.max(from, 0);
+        to = Math.min(to, this.length);
+        if (from >= to) return;
+        Arrays.fill(this.dirty, this.columnOf(from), this.columnOf(to - 1) + 1, true);
+    }
+    public void invalidateAll() {
+        this.allDirty = true;
+    }
+
+    /**
+     * Brings the summaries up to date with the first {@code length} elements of {@code array}, spread over
+     * {@code columns} columns. Everything is summed again when any of the three changed.
+     */
+    public void update(int[] array, int length, int columns, HighlightMask highlights) {
+        if (array != this.array || length != this.length || columns != this.columns) {
+            this.array = array;
+            this.length = length;
+            if (columns != this.columns) {
+                this.columns = columns;
+                this.min = new int[columns];
+                this.max = new int[columns];
+                this.sum = new long[columns];
+                this.highlighted = new boolean[columns];
+                this.dirty = new boolean[columns];
+            }
+            this.allDirty = true;
+        }
+
+        for (int column = 0; column < this.columns; column++) {
+            if (this.allDirty || this.dirty[column]) {
+                this.summarize(column);
+                this.dirty[column] = false;
+            }
+        }
+        this.allDirty = false;
+
+        Arrays.fill(this.highlighted, false);
+        for (int k = 0; k < highlights.size(); k++) {
+            int position = highlights.get(k);
+            if (position >= this.length) break;
+            this.highlighted[this.columnOf(position)] = true;
+        }
+    }
+
+    private void summarize(int column) {
+        int start = this.firstIndex(column), end = this.firstIndex(column + 1);
+        int low = Integer.MAX_VALUE, high = Integer.MIN_VALUE;
+        long total = 0;
+        for (int i = start; i < end; i++) {
+            int value = this.array[i];
+            if (value < low) low = value;
+            if (value > high) high = value;
+            total += value;
+        }
+        this.min[column] = low;
+        this.max[column] = high;
+        this.sum[column] = total;
+    }
+}
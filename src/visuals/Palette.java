@@ -0,0 +1,113 @@
+package visuals;
+
+import java.awt.Color;
+
+/*
+ *
+MIT License
+
+Copyright (c) 2021 ArrayV 4.0 Team
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ *
+ */
+
+/**
+ * The colors the visuals give to values, worked out once per array length instead of once per element
+ * per frame. {@link #get(Type, int)} keeps the last palette of each type and only builds a new one when
+ * the length changes.
+ *
+ * Up to 65536 values get an entry each. Longer arrays share entries between neighbouring values, which
+ * is still finer than the hue steps 8-bit color channels can show. Values outside {@code [0, length)}
+ * (e.g. cleared slots) are computed on the spot.
+ */
+final public class Palette {
+    public enum Type {
+        HUE,  // The rainbow of Visual.getIntColor
+        GRAY  // Black to white
+    }
+
+    private static final int MAX_ENTRIES = 1 << 16;
+
+    private static final Palette[] CACHE = new Palette[Type.values().length];
+
+    private final Type type;
+    private final int length;
+    private final int[] rgb;
+    private final Color[] colors;
+
+    private Palette(Type type, int length) {
+        this.type = type;
+        this.length = Math.max(length, 1);
+
+        int entries = Math.min(this.length, MAX_ENTRIES);
+        this.rgb = new int[entries];
+        for (int i = 0; i < entries; i++) {
+            this.rgb[i] = this.compute(this.length <= MAX_ENTRIES ? i : (int) ((long) i * this.length / MAX_ENTRIES));
+        }
+        this.colors = new Color[entries];
+    }
+
+    public static Palette get(Type type, int length) {
+        Palette palette = CACHE[type.ordinal()];
+        if (palette == null || palette.length != Math.max(length, 1)) {
+            palette = new Palette(type, length);
+            CACHE[type.ordinal()] = palette;
+        }
+        return palette;
+    }
+
+    private int compute(int value) {
+        switch (this.type) {
+            case GRAY:
+                int c = (int) (255 * (double) Math.max(0, Math.min(value, this.length)) / this.length);
+                return 0xFF000000 | (c << 16) | (c << 8) | c;
+            default:
+                return Color.HSBtoRGB(((float) value / this.length), 0.8F, 0.8F);
+        }
+    }
+
+    private int entry(int value) {
+        if (this.length <= MAX_ENTRIES) return value;
+        return (int) ((long) value * MAX_ENTRIES / this.length);
+    }
+
+    /**
+     * @return The packed ARGB color of {@code value}
+     */
+    public int rgb(int value) {
+        if (value < 0 || value >= this.length) return this.compute(value);
+        return this.rgb[this.entry(value)];
+    }
+
+    /**
+     * @return The color of {@code value}, shared between calls, for visuals drawing through Graphics2D
+     */
+    public Color color(int value) {
+        if (value < 0 || value >= this.length) return new Color(this.compute(value));
+
+        int entry = this.entry(value);
+        Color color = this.colors[entry];
+        if (color == null) {
+            color = new Color(this.rgb[entry]);
+            this.colors[entry] = color;
+        }
+        return color;
+    }
+}
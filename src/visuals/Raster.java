@@ -0,0 +1,145 @@
+package visuals;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+/*
+ *
+MIT License
+
+Copyright (c) 2021 ArrayV 4.0 Team
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ *
+ */
+
+/**
+ * A window-sized {@code TYPE_INT_RGB} image that bar-style visuals paint by writing straight into its pixel
+ * array, instead of issuing one {@link Graphics2D#fillRect} per element. Each visual fills the rows of the
+ * band it owns (see {@link #beginBand(int, int)}) and copies that band onto the main render in one
+ * {@code drawImage} call when it is done.
+ *
+ * Bars are painted as they are added. The ones that cover a highlighted element are remembered along the
+ * way, so the highlights can be painted over them afterwards in a second pass that only touches those
+ * columns, rather than walking the whole array again.
+ */
+final public class Raster {
+    private final BufferedImage image;
+    private final int[] pixels;
+    private final int width;
+    private final int height;
+
+    private int bandTop;
+    private int bandBottom;
+
+    // Bars covering a highlighted element in the current band, in the order they were added
+    private int[] markedX;
+    private int[] markedWidth;
+    private int[] markedY;
+    private int[] markedHeight;
+    private int markedCount;
+
+    public Raster(int width, int height) {
+        this.width = Math.max(width, 1);
+        this.height = Math.max(height, 1);
+        this.image = new BufferedImage(this.width, this.height, BufferedImage.TYPE_INT_RGB);
+        this.pixels = ((DataBufferInt) this.image.getRaster().getDataBuffer()).getData();
+
+        this.markedX = new int[64];
+        this.markedWidth = new int[64];
+        this.markedY = new int[64];
+        this.markedHeight = new int[64];
+    }
+
+    public int getWidth() {
+        return this.width;
+    }
+    public int getHeight() {
+        return this.height;
+    }
+    public int[] getPixels() {
+        return this.pixels;
+    }
+
+    /**
+     * Clears rows {@code [top, bottom)} to black and clips every following fill to them.
+     */
+    public void beginBand(int top, int bottom) {
+        this.bandTop = Math.max(top, 0);
+        this.bandBottom = Math.min(bottom, this.height);
+        if (this.bandTop < this.bandBottom) {
+            Arrays.fill(this.pixels, this.bandTop * this.width, this.bandBottom * this.width, 0);
+        }
+        this.markedCount = 0;
+    }
+
+    public void fillRect(int x, int y, int width, int height, int rgb) {
+        int x0 = Math.max(x, 0), x1 = Math.min(x + width, this.width);
+        int y0 = Math.max(y, this.bandTop), y1 = Math.min(y + height, this.bandBottom);
+        if (x0 >= x1) return;
+
+        if (x1 - x0 == 1) {
+            for (int row = y0 * this.width + x0, end = y1 * this.width; row < end; row += this.width) {
+                this.pixels[row] = rgb;
+            }
+        } else {
+            for (int row = y0 * this.width, end = y1 * this.width; row < end; row += this.width) {
+                Arrays.fill(this.pixels, row + x0, row + x1, rgb);
+            }
+        }
+    }
+
+    /**
+     * Remembers a bar covering a highlighted element, to be painted over by {@link #fillMarkedBars(int)}.
+     * Bars that rounded down to no width are kept too, since highlights are drawn at least two pixels wide.
+     */
+    public void markBar(int x, int y, int width, int height) {
+        if (this.markedCount == this.markedX.length) {
+            int capacity = this.markedCount * 2;
+            this.markedX = Arrays.copyOf(this.markedX, capacity);
+            this.markedWidth = Arrays.copyOf(this.markedWidth, capacity);
+            this.markedY = Arrays.copyOf(this.markedY, capacity);
+            this.markedHeight = Arrays.copyOf(this.markedHeight, capacity);
+        }
+        this.markedX[this.markedCount] = x;
+        this.markedWidth[this.markedCount] = width;
+        this.markedY[this.markedCount] = y;
+        this.markedHeight[this.markedCount] = height;
+        this.markedCount++;
+    }
+
+    // Highlighted bars are at least two pixels wide so they stay visible when the bars are thinner than that
+    public void fillMarkedBars(int rgb) {
+        for (int i = 0; i < this.markedCount; i++) {
+            this.fillRect(this.markedX[i], this.markedY[i], Math.max(this.markedWidth[i], 2), this.markedHeight[i], rgb);
+        }
+    }
+
+    /**
+     * Copies the current band onto {@code render}, at the same position.
+     */
+    public void drawBand(Graphics2D render) {
+        if (this.bandTop < this.bandBottom) {
+            render.drawImage(this.image, 0, this.bandTop, this.width, this.bandBottom,
+                                         0, this.bandTop, this.width, this.bandBottom, null);
+        }
+    }
+}
@@ -11,6 +11,7 @@ import utils.Renderer;
 public abstract class Visual {
     protected Graphics2D mainRender;
     protected Graphics2D extraRender;
+    protected Raster raster;
 
     public Visual(ArrayVisualizer ArrayVisualizer) {
         this.updateRender(ArrayVisualizer);
@@ -19,10 +20,11 @@ public abstract class Visual {
     public void updateRender(ArrayVisualizer ArrayVisualizer) {
         this.mainRender = ArrayVisualizer.getMainRender();
         this.extraRender = ArrayVisualizer.getExtraRender();
+        this.raster = ArrayVisualizer.getRaster();
     }
 
     public static Color getIntColor(int i, int length) {
-        return Color.getHSBColor(((float) i / length), 0.8F, 0.8F);
+        return Palette.get(Palette.Type.HUE, length).color(i);
     }
 
     public static void markBar(Graphics2D bar, boolean color, boolean rainbow, boolean analysis) {
@@ -62,66 +64,23 @@ public abstract class Visual {
         else rect.setColor(Color.RED);
     }
 
-    //The longer the array length, the more bars marked. Makes the visual easier to see when bars are thinner.
-    public static void colorMarkedBars(int logOfLen, int index, Highlights Highlights, Graphics2D mainRender, boolean colorEnabled, boolean rainbowEnabled, boolean analysis) {
-        switch(logOfLen) {
-        case 15: if (Highlights.containsPosition(index - 15)) { markBar(mainRender, colorEnabled, rainbowEnabled, analysis); break; }
-                 if (Highlights.containsPosition(index - 14)) { markBar(mainRender, colorEnabled, rainbowEnabled, analysis); break; }
-                 if (Highlights.containsPosition(index - 13)) { markBar(mainRender, colorEnabled, rainbowEnabled, analysis); break; }
-                 if (Highlights.containsPosition(index - 12)) { markBar(mainRender, colorEnabled, rainbowEnabled, analysis); break; }
-                 if (Highlights.containsPosition(index - 11)) { markBar(mainRender, colorEnabled, rainbowEnabled, analysis); break; }
-        case 14: if (Highlights.containsPosition(index - 10)) { markBar(mainRender, colorEnabled, rainbowEnabled, analysis); break; }
-                 if (Highlights.containsPosition(index - 9))  { markBar(mainRender, colorEnabled, rainbowEnabled, analysis); break; }
-                 if (Highlights.containsPosition(index - 8))  { markBar(mainRender, colorEnabled, rainbowEnabled, analysis); break; }
-        case 13: if (Highlights.containsPosition(index - 7))  { markBar(mainRender, colorEnabled, rainbowEnabled, analysis); break; }
-                 if (Highlights.containsPosition(index - 6))  { markBar(mainRender, colorEnabled, rainbowEnabled, analysis); break; }
-                 if (Highlights.containsPosition(index - 5))  { markBar(mainRender, colorEnabled, rainbowEnabled, analysis); break; }
-        case 12: if (Highlights.containsPosition(index - 4))  { markBar(mainRender, colorEnabled, rainbowEnabled, analysis); break; }
-                 if (Highlights.containsPosition(index - 3))  { markBar(mainRender, colorEnabled, rainbowEnabled, analysis); break; }
-        case 11: if (Highlights.containsPosition(index - 2))  { markBar(mainRender, colorEnabled, rainbowEnabled, analysis); break; }
-        case 10: if (Highlights.containsPosition(index - 1))  { markBar(mainRender, colorEnabled, rainbowEnabled, analysis); break; }
-        default: if (Highlights.containsPosition(index))        markBar(mainRender, colorEnabled, rainbowEnabled, analysis);
-        }
+    //The longer the array length, the more bars marked (see HighlightMask#radiusFor). Makes the visual easier to see when bars are thinner.
+    public static void colorMarkedBars(HighlightMask mask, int index, Graphics2D mainRender, boolean colorEnabled, boolean rainbowEnabled, boolean analysis) {
+        if (mask.containsNear(index)) markBar(mainRender, colorEnabled, rainbowEnabled, analysis);
+    }
+
+    //Like the highlights, the fancy finish is drawn over more elements behind its position on longer arrays.
+    private static boolean inFancyFinish(int logOfLen, int index, int position) {
+        int reach = logOfLen >= 2 && logOfLen <= 15 ? logOfLen - 1 : 0;
+        return index <= position && index >= position - reach;
     }
 
     public static void drawFancyFinish(int logOfLen, int index, int position, Graphics2D mainRender, boolean colorEnabled, boolean rainbowEnabled) {
-        switch(logOfLen) {
-        case 15: if (index == position - 14) { markBarFancy(mainRender, colorEnabled, rainbowEnabled); break; }
-        case 14: if (index == position - 13) { markBarFancy(mainRender, colorEnabled, rainbowEnabled); break; }
-        case 13: if (index == position - 12) { markBarFancy(mainRender, colorEnabled, rainbowEnabled); break; }
-        case 12: if (index == position - 11) { markBarFancy(mainRender, colorEnabled, rainbowEnabled); break; }
-        case 11: if (index == position - 10) { markBarFancy(mainRender, colorEnabled, rainbowEnabled); break; }
-        case 10: if (index == position - 9)  { markBarFancy(mainRender, colorEnabled, rainbowEnabled); break; }
-        case 9:  if (index == position - 8)  { markBarFancy(mainRender, colorEnabled, rainbowEnabled); break; }
-        case 8:  if (index == position - 7)  { markBarFancy(mainRender, colorEnabled, rainbowEnabled); break; }
-        case 7:  if (index == position - 6)  { markBarFancy(mainRender, colorEnabled, rainbowEnabled); break; }
-        case 6:  if (index == position - 5)  { markBarFancy(mainRender, colorEnabled, rainbowEnabled); break; }
-        case 5:  if (index == position - 4)  { markBarFancy(mainRender, colorEnabled, rainbowEnabled); break; }
-        case 4:  if (index == position - 3)  { markBarFancy(mainRender, colorEnabled, rainbowEnabled); break; }
-        case 3:  if (index == position - 2)  { markBarFancy(mainRender, colorEnabled, rainbowEnabled); break; }
-        case 2:  if (index == position - 1)  { markBarFancy(mainRender, colorEnabled, rainbowEnabled); break; }
-        default: if (index == position)        markBarFancy(mainRender, colorEnabled, rainbowEnabled);
-        }
+        if (inFancyFinish(logOfLen, index, position)) markBarFancy(mainRender, colorEnabled, rainbowEnabled);
     }
 
     public static void drawFancyFinishLine(int logOfLen, int index, int position, Graphics2D mainRender, double width, boolean colorEnabled) {
-        switch(logOfLen) {
-        case 15: if (index == position - 14) { lineMark(mainRender, width, colorEnabled, false); break; }
-        case 14: if (index == position - 13) { lineMark(mainRender, width, colorEnabled, false); break; }
-        case 13: if (index == position - 12) { lineMark(mainRender, width, colorEnabled, false); break; }
-        case 12: if (index == position - 11) { lineMark(mainRender, width, colorEnabled, false); break; }
-        case 11: if (index == position - 10) { lineMark(mainRender, width, colorEnabled, false); break; }
-        case 10: if (index == position - 9)  { lineMark(mainRender, width, colorEnabled, false); break; }
-        case 9:  if (index == position - 8)  { lineMark(mainRender, width, colorEnabled, false); break; }
-        case 8:  if (index == position - 7)  { lineMark(mainRender, width, colorEnabled, false); break; }
-        case 7:  if (index == position - 6)  { lineMark(mainRender, width, colorEnabled, false); break; }
-        case 6:  if (index == position - 5)  { lineMark(mainRender, width, colorEnabled, false); break; }
-        case 5:  if (index == position - 4)  { lineMark(mainRender, width, colorEnabled, false); break; }
-        case 4:  if (index == position - 3)  { lineMark(mainRender, width, colorEnabled, false); break; }
-        case 3:  if (index == position - 2)  { lineMark(mainRender, width, colorEnabled, false); break; }
-        case 2:  if (index == position - 1)  { lineMark(mainRender, width, colorEnabled, false); break; }
-        default: if (index == position)        lineMark(mainRender, width, colorEnabled, false);
-        }
+        if (inFancyFinish(logOfLen, index, position)) lineMark(mainRender, width, colorEnabled, false);
     }
 
     public abstract void drawVisual(int[] array, ArrayVisualizer ArrayVisualizer, Renderer Renderer, Highlights Highlights);
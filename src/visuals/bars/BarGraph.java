@@ -5,6 +5,9 @@ import java.awt.Color;
 import main.ArrayVisualizer;
 import utils.Highlights;
 import utils.Renderer;
+import visuals.HighlightMask;
+import visuals.LevelOfDetail;
+import visuals.Palette;
 import visuals.Visual;
 
 final public class BarGraph extends Visual {
@@ -15,43 +18,63 @@ final public class BarGraph extends Visual {
 
     @Override
     public void drawVisual(int[] array, ArrayVisualizer ArrayVisualizer, Renderer Renderer, Highlights Highlights) {
-        for (int i = 0, j = 0; i < Renderer.getArrayLength(); i++) {
-            int width = (int) (Renderer.getXScale() * (i + 1)) - j;
-            if (width == 0) continue;
-
-            if (Highlights.fancyFinishActive() && i < Highlights.getFancyFinishPosition())
-                this.mainRender.setColor(Color.GREEN);
-            else if (ArrayVisualizer.colorEnabled()) {
-                int val = ArrayVisualizer.doingStabilityCheck() && ArrayVisualizer.colorEnabled() ? ArrayVisualizer.getIndexValue(array[i]): array[i];
-                this.mainRender.setColor(getIntColor(val, ArrayVisualizer.getCurrentLength()));
-            }
-            else this.mainRender.setColor(Color.WHITE);
+        HighlightMask marks = Renderer.getHighlightMask();
+        this.raster.beginBand(Renderer.getYOffset() - 20, Renderer.getYOffset() + Renderer.getViewSize() - 20);
+        Palette palette = Palette.get(Palette.Type.HUE, ArrayVisualizer.getCurrentLength());
+        LevelOfDetail detail = ArrayVisualizer.doingStabilityCheck() ? null : Renderer.getLevelOfDetail(array);
+        if (detail != null) {
+            // Each column shows the tallest of its bars, colored after their mean
+            for (int c = 0; c < detail.getColumns(); c++) {
+                int color;
+                if (Highlights.fancyFinishActive() && detail.lastIndex(c) < Highlights.getFancyFinishPosition())
+                    color = Color.GREEN.getRGB();
+                else if (ArrayVisualizer.colorEnabled())
+                    color = palette.rgb(detail.getMean(c));
+                else color = Color.WHITE.getRGB();
 
-            int val = ArrayVisualizer.doingStabilityCheck() && ArrayVisualizer.colorEnabled() ? ArrayVisualizer.getStabilityValue(array[i]): array[i];
-            int y = (int) (((Renderer.getViewSize() - 20)) - (val + 1) * Renderer.getYScale());
+                int val = detail.getMax(c);
+                int y = (int) (((Renderer.getViewSize() - 20)) - (val + 1) * Renderer.getYScale());
+                int height = (int) ((val + 1) * Renderer.getYScale());
 
-            this.mainRender.fillRect(j + 20, Renderer.getYOffset() + y, width, (int) ((val + 1) * Renderer.getYScale()));
-            j += width;
-        }
-        this.mainRender.setColor(ArrayVisualizer.getHighlightColor());
-        int length = Math.min(Renderer.getArrayLength(), ArrayVisualizer.getCurrentLength());
+                this.raster.fillRect(c + 20, Renderer.getYOffset() + y, 1, height, color);
+                if (detail.isHighlighted(c))
+                    this.raster.markBar(c + 20, Renderer.getYOffset() + y, 1, height);
+            }
+        } else {
+            int length = Math.min(Renderer.getArrayLength(), ArrayVisualizer.getCurrentLength());
+
+            // Highlights on bars too thin to draw are carried over to the next bar that is drawn
+            boolean mark = false;
+            for (int i = 0, j = 0; i < Renderer.getArrayLength(); i++) {
+                mark = mark || (i < length && marks.contains(i));
 
-        boolean mark = false;
-        for (int i = 0, j = 0; i < length; i++) {
-            mark = mark || Highlights.containsPosition(i);
+                int width = (int) (Renderer.getXScale() * (i + 1)) - j;
+                if (width == 0) continue;
 
-            int width = (int) (Renderer.getXScale() * (i + 1)) - j;
-            if (width == 0) continue;
+                int color;
+                if (Highlights.fancyFinishActive() && i < Highlights.getFancyFinishPosition())
+                    color = Color.GREEN.getRGB();
+                else if (ArrayVisualizer.colorEnabled()) {
+                    int val = ArrayVisualizer.doingStabilityCheck() && ArrayVisualizer.colorEnabled() ? ArrayVisualizer.getIndexValue(array[i]): array[i];
+                    color = palette.rgb(val);
+                }
+                else color = Color.WHITE.getRGB();
 
-            if (mark) {
                 int val = ArrayVisualizer.doingStabilityCheck() && ArrayVisualizer.colorEnabled() ? ArrayVisualizer.getStabilityValue(array[i]): array[i];
                 int y = (int) (((Renderer.getViewSize() - 20)) - (val + 1) * Renderer.getYScale());
+                int height = (int) ((val + 1) * Renderer.getYScale());
 
-                this.mainRender.fillRect(j + 20, Renderer.getYOffset() + y, Math.max(width, 2), (int) ((val + 1) * Renderer.getYScale()));
-                mark = false;
+                this.raster.fillRect(j + 20, Renderer.getYOffset() + y, width, height, color);
+                if (mark) {
+                    this.raster.markBar(j + 20, Renderer.getYOffset() + y, width, height);
+                    mark = false;
+                }
+                j += width;
             }
-            j += width;
         }
+        this.raster.fillMarkedBars(ArrayVisualizer.getHighlightColor().getRGB());
+        this.raster.drawBand(this.mainRender);
+
         if (ArrayVisualizer.externalArraysEnabled()) {
             this.mainRender.setColor(Color.BLUE);
             this.mainRender.fillRect(0, Renderer.getYOffset() + Renderer.getViewSize() - 20, ArrayVisualizer.currentWidth(), 1);
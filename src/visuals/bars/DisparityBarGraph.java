@@ -5,6 +5,8 @@ import java.awt.Color;
 import main.ArrayVisualizer;
 import utils.Highlights;
 import utils.Renderer;
+import visuals.HighlightMask;
+import visuals.Palette;
 import visuals.Visual;
 
 final public class DisparityBarGraph extends Visual {
@@ -15,37 +17,35 @@ final public class DisparityBarGraph extends Visual {
 
     @Override
     public void drawVisual(int[] array, ArrayVisualizer ArrayVisualizer, Renderer Renderer, Highlights Highlights) {
+        HighlightMask marks = Renderer.getHighlightMask();
+        this.raster.beginBand(Renderer.getYOffset() - 20, Renderer.getYOffset() + Renderer.getViewSize() - 20);
+        Palette palette = Palette.get(Palette.Type.HUE, ArrayVisualizer.getCurrentLength());
         for (int i = 0, j = 0; i < Renderer.getArrayLength(); i++) {
             int width = (int) (Renderer.getXScale() * (i + 1)) - j;
-            if (width == 0) continue;
-
-            if (Highlights.fancyFinishActive() && i < Highlights.getFancyFinishPosition())
-                this.mainRender.setColor(Color.GREEN);
-
-            else if (ArrayVisualizer.colorEnabled())
-                this.mainRender.setColor(getIntColor(array[i], ArrayVisualizer.getCurrentLength()));
-
-            else this.mainRender.setColor(Color.WHITE);
+            boolean mark = marks.contains(i);
+            if (width == 0 && !mark) continue;
 
             double disp = (1 + Math.sin((Math.PI * (array[i] - i)) / ArrayVisualizer.getCurrentLength())) * 0.5;
             int y = (int) (((Renderer.getViewSize() - 20)) - disp *  ArrayVisualizer.getCurrentLength() * Renderer.getYScale());
+            int height = (int) (disp *  ArrayVisualizer.getCurrentLength() * Renderer.getYScale());
 
-            this.mainRender.fillRect(j + 20, Renderer.getYOffset() + y, width, (int) (disp *  ArrayVisualizer.getCurrentLength() * Renderer.getYScale()));
-            j += width;
-        }
-        this.mainRender.setColor(ArrayVisualizer.getHighlightColor());
-
-        for (int i = 0, j = 0; i < Renderer.getArrayLength(); i++) {
-            int width = (int) (Renderer.getXScale() * (i + 1)) - j;
+            if (mark)
+                this.raster.markBar(j + 20, Renderer.getYOffset() + y, width, height);
+            if (width == 0) continue;
 
-            if (Highlights.containsPosition(i)) {
-                double disp = (1 + Math.sin((Math.PI * (array[i] - i)) / ArrayVisualizer.getCurrentLength())) * 0.5;
-                int y = (int) (((Renderer.getViewSize() - 20)) - disp * ArrayVisualizer.getCurrentLength() * Renderer.getYScale());
+            int color;
+            if (Highlights.fancyFinishActive() && i < Highlights.getFancyFinishPosition())
+                color = Color.GREEN.getRGB();
+            else if (ArrayVisualizer.colorEnabled())
+                color = palette.rgb(array[i]);
+            else color = Color.WHITE.getRGB();
 
-                this.mainRender.fillRect(j + 20, Renderer.getYOffset() + y, Math.max(width, 2), (int) (disp *  ArrayVisualizer.getCurrentLength() * Renderer.getYScale()));
-            }
+            this.raster.fillRect(j + 20, Renderer.getYOffset() + y, width, height, color);
             j += width;
         }
+        this.raster.fillMarkedBars(ArrayVisualizer.getHighlightColor().getRGB());
+        this.raster.drawBand(this.mainRender);
+
         if (ArrayVisualizer.externalArraysEnabled()) {
             this.mainRender.setColor(Color.BLUE);
             this.mainRender.fillRect(0, Renderer.getYOffset() + Renderer.getViewSize() - 20, ArrayVisualizer.currentWidth(), 1);
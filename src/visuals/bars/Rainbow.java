@@ -5,6 +5,9 @@ import java.awt.Color;
 import main.ArrayVisualizer;
 import utils.Highlights;
 import utils.Renderer;
+import visuals.HighlightMask;
+import visuals.LevelOfDetail;
+import visuals.Palette;
 import visuals.Visual;
 
 /*
@@ -40,30 +43,40 @@ final public class Rainbow extends Visual {
 
     @Override
     public void drawVisual(int[] array, ArrayVisualizer ArrayVisualizer, Renderer Renderer, Highlights Highlights) {
-        for (int i = 0, j = 0; i < Renderer.getArrayLength(); i++) {
-            int width = (int) (Renderer.getXScale() * (i + 1)) - j;
-            if (width == 0) continue;
+        HighlightMask marks = Renderer.getHighlightMask();
+        this.raster.beginBand(Renderer.getYOffset() - 20, Renderer.getYOffset() + Renderer.getViewSize() - 20);
+        Palette palette = Palette.get(Palette.Type.HUE, ArrayVisualizer.getCurrentLength());
+        LevelOfDetail detail = Renderer.getLevelOfDetail(array);
+        if (detail != null) {
+            for (int c = 0; c < detail.getColumns(); c++) {
+                int color;
+                if (Highlights.fancyFinishActive() && detail.lastIndex(c) < Highlights.getFancyFinishPosition())
+                    color = Color.GREEN.getRGB();
+                else color = palette.rgb(detail.getMean(c));
 
-            if (Highlights.fancyFinishActive() && i < Highlights.getFancyFinishPosition())
-                this.mainRender.setColor(Color.GREEN);
-            else this.mainRender.setColor(getIntColor(array[i], ArrayVisualizer.getCurrentLength()));
-
-            this.mainRender.fillRect(j + 20, Renderer.getYOffset() - 20, width, (int) (Renderer.getViewSize()));
-
-            j += width;
-        }
-        if (ArrayVisualizer.analysisEnabled()) this.mainRender.setColor(Color.LIGHT_GRAY);
-        else                                   this.mainRender.setColor(Color.WHITE);
-
-        for (int i = 0, j = 0; i < Renderer.getArrayLength(); i++) {
-            int width = (int) (Renderer.getXScale() * (i + 1)) - j;
+                this.raster.fillRect(c + 20, Renderer.getYOffset() - 20, 1, Renderer.getViewSize(), color);
+                if (detail.isHighlighted(c))
+                    this.raster.markBar(c + 20, Renderer.getYOffset() - 20, 1, Renderer.getViewSize());
+            }
+        } else {
+            for (int i = 0, j = 0; i < Renderer.getArrayLength(); i++) {
+                int width = (int) (Renderer.getXScale() * (i + 1)) - j;
+                if (marks.contains(i))
+                    this.raster.markBar(j + 20, Renderer.getYOffset() - 20, width, Renderer.getViewSize());
+                if (width == 0) continue;
 
-            if (Highlights.containsPosition(i)) {
+                int color;
+                if (Highlights.fancyFinishActive() && i < Highlights.getFancyFinishPosition())
+                    color = Color.GREEN.getRGB();
+                else color = palette.rgb(array[i]);
 
-                this.mainRender.fillRect(j + 20, Renderer.getYOffset() - 20, Math.max(width, 2), (int) (Renderer.getViewSize()));
+                this.raster.fillRect(j + 20, Renderer.getYOffset() - 20, width, Renderer.getViewSize(), color);
+                j += width;
             }
-            j += width;
         }
+        this.raster.fillMarkedBars((ArrayVisualizer.analysisEnabled() ? Color.LIGHT_GRAY : Color.WHITE).getRGB());
+        this.raster.drawBand(this.mainRender);
+
         if (ArrayVisualizer.externalArraysEnabled()) {
             this.mainRender.setColor(Color.BLUE);
             this.mainRender.fillRect(0, Renderer.getYOffset() + Renderer.getViewSize() - 20, ArrayVisualizer.currentWidth(), 1);
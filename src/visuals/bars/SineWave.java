@@ -5,6 +5,8 @@ import java.awt.Color;
 import main.ArrayVisualizer;
 import utils.Highlights;
 import utils.Renderer;
+import visuals.HighlightMask;
+import visuals.Palette;
 import visuals.Visual;
 
 /*
@@ -42,33 +44,28 @@ final public class SineWave extends Visual {
 
     @Override
     public void drawVisual(int[] array, ArrayVisualizer ArrayVisualizer, Renderer Renderer, Highlights Highlights) {
+        HighlightMask marks = Renderer.getHighlightMask();
+        this.raster.beginBand(Renderer.getYOffset() - 20, Renderer.getYOffset() + Renderer.getViewSize() - 20);
+        Palette palette = Palette.get(Palette.Type.HUE, ArrayVisualizer.getCurrentLength());
         for (int i = 0, j = 0; i < Renderer.getArrayLength(); i++) {
+            int color;
             if (Highlights.fancyFinishActive() && i < Highlights.getFancyFinishPosition())
-                this.mainRender.setColor(Color.GREEN);
-
+                color = Color.GREEN.getRGB();
             else if (ArrayVisualizer.colorEnabled())
-                this.mainRender.setColor(getIntColor(array[i], ArrayVisualizer.getCurrentLength()));
-
-            else this.mainRender.setColor(Color.WHITE);
+                color = palette.rgb(array[i]);
+            else color = Color.WHITE.getRGB();
 
             int width = (int) (Renderer.getXScale() * (i + 1)) - j;
-
             int y = (int) (((Renderer.getViewSize() - 20) / 2.5) * Math.sin((2 * Math.PI * ((double) array[i] / Renderer.getArrayLength()))) + Renderer.halfViewSize() - 20);
-            this.mainRender.fillRect(j + 20, Renderer.getYOffset() + y, Math.max(width, 1), 20);
 
+            this.raster.fillRect(j + 20, Renderer.getYOffset() + y, Math.max(width, 1), 20, color);
+            if (marks.contains(i))
+                this.raster.markBar(j + 20, Renderer.getYOffset() + y, width, 20);
             j += width;
         }
-        this.mainRender.setColor(ArrayVisualizer.getHighlightColor());
-
-        for (int i = 0, j = 0; i < Renderer.getArrayLength(); i++) {
-            int width = (int) (Renderer.getXScale() * (i + 1)) - j;
+        this.raster.fillMarkedBars(ArrayVisualizer.getHighlightColor().getRGB());
+        this.raster.drawBand(this.mainRender);
 
-            if (Highlights.containsPosition(i)) {
-                int y = (int) (((Renderer.getViewSize() - 20) / 2.5) * Math.sin((2 * Math.PI * ((double) array[i] / Renderer.getArrayLength()))) + Renderer.halfViewSize() - 20);
-                this.mainRender.fillRect(j + 20, Renderer.getYOffset() + y, Math.max(width, 2), 20);
-            }
-            j += width;
-        }
         if (ArrayVisualizer.externalArraysEnabled()) {
             this.mainRender.setColor(Color.BLUE);
             this.mainRender.fillRect(0, Renderer.getYOffset() + Renderer.getViewSize() - 20, ArrayVisualizer.currentWidth(), 1);
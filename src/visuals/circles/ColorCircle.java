@@ -5,6 +5,8 @@ import java.awt.Color;
 import main.ArrayVisualizer;
 import utils.Highlights;
 import utils.Renderer;
+import visuals.CircleTable;
+import visuals.HighlightMask;
 import visuals.Visual;
 
 /*
@@ -44,6 +46,7 @@ final public class ColorCircle extends Visual {
     public void drawVisual(int[] array, ArrayVisualizer ArrayVisualizer, Renderer Renderer, Highlights Highlights) {
         if (Renderer.auxActive) return;
 
+        HighlightMask marks = Renderer.getHighlightMask();
         int width  = ArrayVisualizer.windowWidth();
         int height = ArrayVisualizer.windowHeight();
 
@@ -58,20 +61,22 @@ final public class ColorCircle extends Visual {
         int[] px = new int[3];
         int[] py = new int[3];
 
+        CircleTable.Points points = CircleTable.get(n).points(r, width/2, height/2);
+
         this.extraRender.setColor(Color.WHITE);
 
         x[0] =  width/2;
         y[0] = height/2;
 
-        x[2] =  width/2 + (int)(r * Math.cos(Math.PI * (2d*(n-1) / n - 0.5)));
-        y[2] = height/2 + (int)(r * Math.sin(Math.PI * (2d*(n-1) / n - 0.5)));
+        x[2] = points.x(n-1);
+        y[2] = points.y(n-1);
 
         for (int i = 0; i < n; i++) {
             x[1] = x[2];
             y[1] = y[2];
 
-            x[2] =  width/2 + (int)(r * Math.cos(Math.PI * (2d*i / n - 0.5)));
-            y[2] = height/2 + (int)(r * Math.sin(Math.PI * (2d*i / n - 0.5)));
+            x[2] = points.x(i);
+            y[2] = points.y(i);
 
             if (Highlights.fancyFinishActive() && i < Highlights.getFancyFinishPosition())
                 this.mainRender.setColor(Color.GREEN);
@@ -79,7 +84,7 @@ final public class ColorCircle extends Visual {
             else {
                 this.mainRender.setColor(getIntColor(array[i], ArrayVisualizer.getCurrentLength()));
 
-                if (Highlights.containsPosition(i)) {
+                if (marks.contains(i)) {
                     if (ArrayVisualizer.analysisEnabled()) this.extraRender.setColor(Color.LIGHT_GRAY);
                     else                                  this.extraRender.setColor(Color.WHITE);
 
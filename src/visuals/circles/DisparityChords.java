@@ -5,6 +5,8 @@ import java.awt.Color;
 import main.ArrayVisualizer;
 import utils.Highlights;
 import utils.Renderer;
+import visuals.CircleTable;
+import visuals.HighlightMask;
 import visuals.Visual;
 
 /*
@@ -44,47 +46,53 @@ final public class DisparityChords extends Visual {
     public void drawVisual(int[] array, ArrayVisualizer ArrayVisualizer, Renderer Renderer, Highlights Highlights) {
         if (Renderer.auxActive) return;
 
+        HighlightMask marks = Renderer.getHighlightMask();
         int width  = ArrayVisualizer.windowWidth();
         int height = ArrayVisualizer.windowHeight();
 
         int n = ArrayVisualizer.getCurrentLength();
         double r = Math.min(width, height)/2.5;
 
+        CircleTable.Points points = CircleTable.get(n).points(r, width/2, height/2);
+
         this.mainRender.setStroke(ArrayVisualizer.getThinStroke());
 
         for (int i = n-1; i >= 0; i--) {
             this.mainRender.setColor(getIntColor(array[i], ArrayVisualizer.getCurrentLength()));
 
-            int ax =  width/2 + (int)(r * Math.cos(Math.PI * (2d*i / n - 0.5)));
-            int ay = height/2 + (int)(r * Math.sin(Math.PI * (2d*i / n - 0.5)));
-            int bx =  width/2 + (int)(r * Math.cos(Math.PI * (2d*array[i] / n - 0.5)));
-            int by = height/2 + (int)(r * Math.sin(Math.PI * (2d*array[i] / n - 0.5)));
+            int ax = points.x(i);
+            int ay = points.y(i);
+            int bx = points.x(array[i]);
+            int by = points.y(array[i]);
 
             this.mainRender.drawLine(ax, ay, bx, by);
         }
         this.mainRender.setStroke(ArrayVisualizer.getDefaultStroke());
 
-        for (int i = 0; i < n; i++) {
-            if (Highlights.fancyFinishActive() && i < Highlights.getFancyFinishPosition()) {
-                this.mainRender.setColor(Color.GREEN);
+        int finished = Highlights.fancyFinishActive() ? Math.min(Highlights.getFancyFinishPosition(), n) : 0;
+        this.mainRender.setColor(Color.GREEN);
 
-                int ax =  width/2 + (int)(r * Math.cos(Math.PI * (2d*i / n - 0.5)));
-                int ay = height/2 + (int)(r * Math.sin(Math.PI * (2d*i / n - 0.5)));
-                int bx =  width/2 + (int)(r * Math.cos(Math.PI * (2d*array[i] / n - 0.5)));
-                int by = height/2 + (int)(r * Math.sin(Math.PI * (2d*array[i] / n - 0.5)));
+        for (int i = 0; i < finished; i++) {
+            int ax = points.x(i);
+            int ay = points.y(i);
+            int bx = points.x(array[i]);
+            int by = points.y(array[i]);
 
-                this.mainRender.drawLine(ax, ay, bx, by);
-            } else if (Highlights.containsPosition(i)) {
-                if (ArrayVisualizer.analysisEnabled()) this.mainRender.setColor(Color.LIGHT_GRAY);
-                else                                   this.mainRender.setColor(Color.WHITE);
+            this.mainRender.drawLine(ax, ay, bx, by);
+        }
 
-                int ax =  width/2 + (int)(r * Math.cos(Math.PI * (2d*i / n - 0.5)));
-                int ay = height/2 + (int)(r * Math.sin(Math.PI * (2d*i / n - 0.5)));
-                int bx =  width/2 + (int)(r * Math.cos(Math.PI * (2d*array[i] / n - 0.5)));
-                int by = height/2 + (int)(r * Math.sin(Math.PI * (2d*array[i] / n - 0.5)));
+        if (ArrayVisualizer.analysisEnabled()) this.mainRender.setColor(Color.LIGHT_GRAY);
+        else                                   this.mainRender.setColor(Color.WHITE);
 
-                this.mainRender.drawLine(ax, ay, bx, by);
-            }
-        }
+        marks.forEach(n, i -> {
+            if (i < finished) return;
+
+            int ax = points.x(i);
+            int ay = points.y(i);
+            int bx = points.x(array[i]);
+            int by = points.y(array[i]);
+
+            this.mainRender.drawLine(ax, ay, bx, by);
+        });
     }
 }
\ No newline at end of file
@@ -5,6 +5,8 @@ import java.awt.Color;
 import main.ArrayVisualizer;
 import utils.Highlights;
 import utils.Renderer;
+import visuals.CircleTable;
+import visuals.HighlightMask;
 import visuals.Visual;
 
 /*
@@ -44,11 +46,13 @@ final public class DisparityCircle extends Visual {
     public void drawVisual(int[] array, ArrayVisualizer ArrayVisualizer, Renderer Renderer, Highlights Highlights) {
         if (Renderer.auxActive) return;
 
+        HighlightMask marks = Renderer.getHighlightMask();
         int width  = ArrayVisualizer.windowWidth();
         int height = ArrayVisualizer.windowHeight();
 
         int n = ArrayVisualizer.getCurrentLength();
         double r = Math.min(width, height)/2.5;
+        CircleTable table = CircleTable.get(n);
 
         this.extraRender.setStroke(ArrayVisualizer.getThickStroke());
         this.extraRender.setColor(ArrayVisualizer.getHighlightColor());
@@ -56,21 +60,21 @@ final public class DisparityCircle extends Visual {
         int[] x =  {width/2, 0, 0};
         int[] y = {height/2, 0, 0};
 
-        double disp = (1 + Math.cos((Math.PI * (array[n-1] - (n-1))) / (ArrayVisualizer.getCurrentLength() * 0.5))) * 0.5;
-        x[2] =  width/2 + (int)(disp * r * Math.cos(Math.PI * (2d*(n-1) / n - 0.5)));
-        y[2] = height/2 + (int)(disp * r * Math.sin(Math.PI * (2d*(n-1) / n - 0.5)));
+        double disp = (1 + table.turn(array[n-1] - (n-1))) * 0.5;
+        x[2] =  width/2 + (int)(disp * r * table.cos(n-1));
+        y[2] = height/2 + (int)(disp * r * table.sin(n-1));
 
         for (int i = 0; i < n; i++) {
             x[1] = x[2];
             y[1] = y[2];
 
-            disp = (1 + Math.cos((Math.PI * (array[i] - i)) / (ArrayVisualizer.getCurrentLength() * 0.5))) * 0.5;
-            x[2] =  width/2 + (int)(disp * r * Math.cos(Math.PI * (2d*i / n - 0.5)));
-            y[2] = height/2 + (int)(disp * r * Math.sin(Math.PI * (2d*i / n - 0.5)));
+            disp = (1 + table.turn(array[i] - i)) * 0.5;
+            x[2] =  width/2 + (int)(disp * r * table.cos(i));
+            y[2] = height/2 + (int)(disp * r * table.sin(i));
 
             if (Highlights.fancyFinishActive() && i < Highlights.getFancyFinishPosition())
                 this.mainRender.setColor(Color.GREEN);
-            else if (Highlights.containsPosition(i)) {
+            else if (marks.contains(i)) {
                 this.mainRender.setColor(ArrayVisualizer.getHighlightColor());
                 this.extraRender.drawPolygon(x, y, 3);
             }
@@ -5,6 +5,8 @@ import java.awt.Color;
 import main.ArrayVisualizer;
 import utils.Highlights;
 import utils.Renderer;
+import visuals.CircleTable;
+import visuals.HighlightMask;
 import visuals.Visual;
 
 /*
@@ -44,11 +46,13 @@ final public class Spiral extends Visual {
     public void drawVisual(int[] array, ArrayVisualizer ArrayVisualizer, Renderer Renderer, Highlights Highlights) {
         if (Renderer.auxActive) return;
 
+        HighlightMask marks = Renderer.getHighlightMask();
         int width  = ArrayVisualizer.windowWidth();
         int height = ArrayVisualizer.windowHeight();
 
         int n = ArrayVisualizer.getCurrentLength();
         double r = Math.min(width, height)/2.5;
+        CircleTable table = CircleTable.get(n);
 
         this.extraRender.setStroke(ArrayVisualizer.getThickStroke());
         this.extraRender.setColor(ArrayVisualizer.getHighlightColor());
@@ -59,8 +63,8 @@ final public class Spiral extends Visual {
         double mult = (double) array[n-1] / ArrayVisualizer.getCurrentLength() - 1;
         mult = 1 - mult*mult;
 
-        x[2] =  width/2 + (int)(mult * r * Math.cos(Math.PI * (2d*(n-1) / n - 0.5)));
-        y[2] = height/2 + (int)(mult * r * Math.sin(Math.PI * (2d*(n-1) / n - 0.5)));
+        x[2] =  width/2 + (int)(mult * r * table.cos(n-1));
+        y[2] = height/2 + (int)(mult * r * table.sin(n-1));
 
         for (int i = 0; i < n; i++) {
             x[1] = x[2];
@@ -69,13 +73,13 @@ final public class Spiral extends Visual {
             mult = (double) array[i] / ArrayVisualizer.getCurrentLength() - 1;
             mult = 1 - mult*mult;
 
-            x[2] =  width/2 + (int)(mult * r * Math.cos(Math.PI * (2d*i / n - 0.5)));
-            y[2] = height/2 + (int)(mult * r * Math.sin(Math.PI * (2d*i / n - 0.5)));
+            x[2] =  width/2 + (int)(mult * r * table.cos(i));
+            y[2] = height/2 + (int)(mult * r * table.sin(i));
 
             if (Highlights.fancyFinishActive() && i < Highlights.getFancyFinishPosition())
                 this.mainRender.setColor(Color.GREEN);
 
-            else if (Highlights.containsPosition(i)) {
+            else if (marks.contains(i)) {
                 this.mainRender.setColor(ArrayVisualizer.getHighlightColor());
                 this.extraRender.drawPolygon(x, y, 3);
             }
@@ -5,6 +5,8 @@ import java.awt.Color;
 import main.ArrayVisualizer;
 import utils.Highlights;
 import utils.Renderer;
+import visuals.HighlightMask;
+import visuals.LevelOfDetail;
 import visuals.Visual;
 
 /*
@@ -40,6 +42,7 @@ final public class ScatterPlot extends Visual {
 
     @Override
     public void drawVisual(int[] array, ArrayVisualizer ArrayVisualizer, Renderer Renderer, Highlights Highlights) {
+        HighlightMask marks = Renderer.getHighlightMask();
         int offset = 20 + (int) (Renderer.getXScale()/2);
 
         if (ArrayVisualizer.linesEnabled()) {
@@ -51,7 +54,7 @@ final public class ScatterPlot extends Visual {
                 if (Highlights.fancyFinishActive() && i < Highlights.getFancyFinishPosition()) {
                     this.mainRender.setColor(Color.GREEN);
                     this.mainRender.setStroke(ArrayVisualizer.getCustomStroke(4));
-                } else if (Highlights.containsPosition(i)) {
+                } else if (marks.contains(i)) {
                     this.mainRender.setColor(ArrayVisualizer.getHighlightColor());
                     this.mainRender.setStroke(ArrayVisualizer.getCustomStroke(4));
                 } else if (ArrayVisualizer.colorEnabled()) {
@@ -77,34 +80,58 @@ final public class ScatterPlot extends Visual {
         } else {
             int dotS = Renderer.getDotDimensions();
 
-            for (int i = 0, j = 0; i < Renderer.getArrayLength(); i++) {
-                if (Highlights.fancyFinishActive() && i < Highlights.getFancyFinishPosition())
-                    this.mainRender.setColor(Color.GREEN);
-                else if (ArrayVisualizer.colorEnabled()) {
-                    int val = ArrayVisualizer.doingStabilityCheck() && ArrayVisualizer.colorEnabled() ? ArrayVisualizer.getIndexValue(array[i]): array[i];
-                    this.mainRender.setColor(getIntColor(val, ArrayVisualizer.getCurrentLength()));
+            LevelOfDetail detail = ArrayVisualizer.doingStabilityCheck() ? null : Renderer.getLevelOfDetail(array);
+            if (detail != null) {
+                // Each column is drawn as one span covering all of its dots, colored after their mean
+                for (int c = 0; c < detail.getColumns(); c++) {
+                    if (Highlights.fancyFinishActive() && detail.lastIndex(c) < Highlights.getFancyFinishPosition())
+                        this.mainRender.setColor(Color.GREEN);
+                    else if (ArrayVisualizer.colorEnabled())
+                        this.mainRender.setColor(getIntColor(detail.getMean(c), ArrayVisualizer.getCurrentLength()));
+                    else this.mainRender.setColor(Color.WHITE);
+
+                    int top = (int) (((Renderer.getViewSize() - 20)) - (detail.getMax(c) + 1) * Renderer.getYScale());
+                    int bottom = (int) (((Renderer.getViewSize() - 20)) - (detail.getMin(c) + 1) * Renderer.getYScale());
+
+                    this.mainRender.fillRect(c + offset, Renderer.getYOffset() + top, dotS, bottom - top + dotS);
                 }
-                else this.mainRender.setColor(Color.WHITE);
+                this.mainRender.setColor(ArrayVisualizer.getHighlightColor());
 
-                int val = ArrayVisualizer.doingStabilityCheck() && ArrayVisualizer.colorEnabled() ? ArrayVisualizer.getStabilityValue(array[i]): array[i];
-                int y = (int) (((Renderer.getViewSize() - 20)) - (val + 1) * Renderer.getYScale());
+                for (int c = 0; c < detail.getColumns(); c++) {
+                    if (detail.isHighlighted(c)) {
+                        int top = (int) (((Renderer.getViewSize() - 20)) - (detail.getMax(c) + 1) * Renderer.getYScale());
+                        int bottom = (int) (((Renderer.getViewSize() - 20)) - (detail.getMin(c) + 1) * Renderer.getYScale());
 
-                this.mainRender.fillRect(j + offset, Renderer.getYOffset() + y, dotS, dotS);
+                        this.mainRender.fillRect(c + offset - (int)(1.5*dotS), Renderer.getYOffset() + top - (int)(1.5*dotS), 4*dotS, bottom - top + 4*dotS);
+                    }
+                }
+            } else {
+                for (int i = 0, j = 0; i < Renderer.getArrayLength(); i++) {
+                    if (Highlights.fancyFinishActive() && i < Highlights.getFancyFinishPosition())
+                        this.mainRender.setColor(Color.GREEN);
+                    else if (ArrayVisualizer.colorEnabled()) {
+                        int val = ArrayVisualizer.doingStabilityCheck() && ArrayVisualizer.colorEnabled() ? ArrayVisualizer.getIndexValue(array[i]): array[i];
+                        this.mainRender.setColor(getIntColor(val, ArrayVisualizer.getCurrentLength()));
+                    }
+                    else this.mainRender.setColor(Color.WHITE);
 
-                int width = (int) (Renderer.getXScale() * (i + 1)) - j;
-                j += width;
-            }
-            this.mainRender.setColor(ArrayVisualizer.getHighlightColor());
+                    int val = ArrayVisualizer.doingStabilityCheck() && ArrayVisualizer.colorEnabled() ? ArrayVisualizer.getStabilityValue(array[i]): array[i];
+                    int y = (int) (((Renderer.getViewSize() - 20)) - (val + 1) * Renderer.getYScale());
+
+                    this.mainRender.fillRect(j + offset, Renderer.getYOffset() + y, dotS, dotS);
 
-            for (int i = 0, j = 0; i < Renderer.getArrayLength(); i++) {
-                if (Highlights.containsPosition(i)) {
+                    int width = (int) (Renderer.getXScale() * (i + 1)) - j;
+                    j += width;
+                }
+                this.mainRender.setColor(ArrayVisualizer.getHighlightColor());
+
+                marks.forEach(Renderer.getArrayLength(), i -> {
+                    int j = (int) (Renderer.getXScale() * i);
                     int val = ArrayVisualizer.doingStabilityCheck() && ArrayVisualizer.colorEnabled() ? ArrayVisualizer.getStabilityValue(array[i]): array[i];
                     int y = (int) (((Renderer.getViewSize() - 20)) - (val + 1) * Renderer.getYScale());
 
                     this.mainRender.fillRect(j + offset - (int)(1.5*dotS), Renderer.getYOffset() + y - (int)(1.5*dotS), 4*dotS, 4*dotS);
-                }
-                int width = (int) (Renderer.getXScale() * (i + 1)) - j;
-                j += width;
+                });
             }
         }
         if (ArrayVisualizer.externalArraysEnabled()) {
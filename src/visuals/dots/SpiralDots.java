@@ -5,6 +5,8 @@ import java.awt.Color;
 import main.ArrayVisualizer;
 import utils.Highlights;
 import utils.Renderer;
+import visuals.CircleTable;
+import visuals.HighlightMask;
 import visuals.Visual;
 
 /*
@@ -44,23 +46,25 @@ final public class SpiralDots extends Visual {
     public void drawVisual(int[] array, ArrayVisualizer ArrayVisualizer, Renderer Renderer, Highlights Highlights) {
         if (Renderer.auxActive) return;
 
+        HighlightMask marks = Renderer.getHighlightMask();
         int width  = ArrayVisualizer.windowWidth();
         int height = ArrayVisualizer.windowHeight();
 
         int n = ArrayVisualizer.getCurrentLength();
         double r = Math.min(width, height)/2.5;
+        CircleTable table = CircleTable.get(n);
 
         if (ArrayVisualizer.linesEnabled()) {
             double mult = (double) array[n-1] / ArrayVisualizer.getCurrentLength();
-            int lastX =  width/2 + (int)(mult * r * Math.cos(Math.PI * (2d*(n-1) / n - 0.5)));
-            int lastY = height/2 + (int)(mult * r * Math.sin(Math.PI * (2d*(n-1) / n - 0.5)));
+            int lastX =  width/2 + (int)(mult * r * table.cos(n-1));
+            int lastY = height/2 + (int)(mult * r * table.sin(n-1));
             this.mainRender.setStroke(ArrayVisualizer.getCustomStroke(2));
 
             for (int i = 0; i < n; i++) {
                 if (Highlights.fancyFinishActive() && i < Highlights.getFancyFinishPosition())
                     this.mainRender.setColor(Color.GREEN);
 
-                if (Highlights.containsPosition(i)) {
+                if (marks.contains(i)) {
                     this.mainRender.setColor(ArrayVisualizer.getHighlightColor());
                     this.mainRender.setStroke(ArrayVisualizer.getCustomStroke(4));
                 }
@@ -70,8 +74,8 @@ final public class SpiralDots extends Visual {
                 else this.mainRender.setColor(Color.WHITE);
 
                 mult = (double) array[i] / ArrayVisualizer.getCurrentLength();
-                int x =  width/2 + (int)(mult * r * Math.cos(Math.PI * (2d*i / n - 0.5)));
-                int y = height/2 + (int)(mult * r * Math.sin(Math.PI * (2d*i / n - 0.5)));
+                int x =  width/2 + (int)(mult * r * table.cos(i));
+                int y = height/2 + (int)(mult * r * table.sin(i));
 
                 this.mainRender.drawLine(lastX, lastY, x, y);
                 this.mainRender.setStroke(ArrayVisualizer.getCustomStroke(2));
@@ -93,22 +97,20 @@ final public class SpiralDots extends Visual {
                 else this.mainRender.setColor(Color.WHITE);
 
                 double mult = (double) array[i] / ArrayVisualizer.getCurrentLength();
-                int x =  width/2 + (int)(mult * r * Math.cos(Math.PI * (2d*i / n - 0.5)));
-                int y = height/2 + (int)(mult * r * Math.sin(Math.PI * (2d*i / n - 0.5)));
+                int x =  width/2 + (int)(mult * r * table.cos(i));
+                int y = height/2 + (int)(mult * r * table.sin(i));
 
                 this.mainRender.fillRect(x, y, dotS, dotS);
             }
             this.mainRender.setColor(ArrayVisualizer.getHighlightColor());
 
-            for (int i = 0; i < n; i++) {
-                if (Highlights.containsPosition(i)) {
-                    double mult = (double) array[i] / ArrayVisualizer.getCurrentLength();
-                    int x =  width/2 + (int)(mult * r * Math.cos(Math.PI * (2d*i / n - 0.5)));
-                    int y = height/2 + (int)(mult * r * Math.sin(Math.PI * (2d*i / n - 0.5)));
+            marks.forEach(n, i -> {
+                double mult = (double) array[i] / ArrayVisualizer.getCurrentLength();
+                int x =  width/2 + (int)(mult * r * table.cos(i));
+                int y = height/2 + (int)(mult * r * table.sin(i));
 
-                    this.mainRender.fillRect(x - 2*dotS, y - 2*dotS, 4*dotS, 4*dotS);
-                }
-            }
+                this.mainRender.fillRect(x - 2*dotS, y - 2*dotS, 4*dotS, 4*dotS);
+            });
         }
     }
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import java.awt.Color;
 import main.ArrayVisualizer;
 import utils.Highlights;
 import utils.Renderer;
+import visuals.HighlightMask;
 import visuals.Visual;
 
 /*
@@ -42,6 +43,7 @@ final public class WaveDots extends Visual {
 
     @Override
     public void drawVisual(int[] array, ArrayVisualizer ArrayVisualizer, Renderer Renderer, Highlights Highlights) {
+        HighlightMask marks = Renderer.getHighlightMask();
         int offset = 20 + (int) (Renderer.getXScale()/2);
 
         if (ArrayVisualizer.linesEnabled()) {
@@ -53,7 +55,7 @@ final public class WaveDots extends Visual {
                 if (Highlights.fancyFinishActive() && i < Highlights.getFancyFinishPosition()) {
                     this.mainRender.setColor(Color.GREEN);
                     this.mainRender.setStroke(ArrayVisualizer.getCustomStroke(4));
-                } else if (Highlights.containsPosition(i)) {
+                } else if (marks.contains(i)) {
                     this.mainRender.setColor(ArrayVisualizer.getHighlightColor());
                     this.mainRender.setStroke(ArrayVisualizer.getCustomStroke(4));
                 }
@@ -95,14 +97,11 @@ final public class WaveDots extends Visual {
             }
             this.mainRender.setColor(ArrayVisualizer.getHighlightColor());
 
-            for (int i = 0, j = 0; i < Renderer.getArrayLength(); i++) {
-                if (Highlights.containsPosition(i)) {
-                    int y = (int) (((Renderer.getViewSize() - 20) / 2.5) * Math.sin((2 * Math.PI * ((double) array[i] / Renderer.getArrayLength()))) + Renderer.halfViewSize() - 20);
-                    this.mainRender.fillRect(j + offset - (int)(1.5*dotS), Renderer.getYOffset() + y - (int)(1.5*dotS), 4*dotS, 4*dotS);
-                }
-                int width = (int) (Renderer.getXScale() * (i + 1)) - j;
-                j += width;
-            }
+            marks.forEach(Renderer.getArrayLength(), i -> {
+                int j = (int) (Renderer.getXScale() * i);
+                int y = (int) (((Renderer.getViewSize() - 20) / 2.5) * Math.sin((2 * Math.PI * ((double) array[i] / Renderer.getArrayLength()))) + Renderer.halfViewSize() - 20);
+                this.mainRender.fillRect(j + offset - (int)(1.5*dotS), Renderer.getYOffset() + y - (int)(1.5*dotS), 4*dotS, 4*dotS);
+            });
         }
         if (ArrayVisualizer.externalArraysEnabled()) {
             this.mainRender.setColor(Color.BLUE);
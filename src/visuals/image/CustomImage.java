@@ -20,6 +20,8 @@ import main.ArrayVisualizer;
 import panes.JErrorPane;
 import utils.Highlights;
 import utils.Renderer;
+import visuals.FrameBuffer;
+import visuals.HighlightMask;
 import visuals.Visual;
 
 /*
@@ -60,6 +62,10 @@ final public class CustomImage extends Visual {
     private volatile BufferedImage img;
     private volatile int imgHeight;
     private volatile int imgWidth;
+    private volatile int[] imgPixels;
+
+    private final FrameBuffer frame = new FrameBuffer();
+    private int[] sourceColumns;
 
     private boolean imgImported;
     private boolean imgScaled;
@@ -107,6 +113,7 @@ final public class CustomImage extends Visual {
     private void updateImageDims() throws Exception {
         this.imgHeight = this.img.getHeight();
         this.imgWidth = this.img.getWidth();
+        this.imgPixels = this.img.getRGB(0, 0, this.imgWidth, this.imgHeight, null, 0, this.imgWidth);
     }
 
     private void updateWindowDims(ArrayVisualizer ArrayVisualizer) {
@@ -253,32 +260,16 @@ final public class CustomImage extends Visual {
         bar.fillRect(Renderer.getOffset() + 20, 0, width, ArrayVisualizer.windowHeight());
     }
 
-    //The longer the array length, the more bars marked. Makes the visual easier to see when bars are thinner.
-    public static void colorCustomBars(int logOfLen, int index, Highlights Highlights, ArrayVisualizer ArrayVisualizer, Graphics2D bar, Renderer Renderer, int width, boolean analysis) {
-        switch(logOfLen) {
-        case 15: if (Highlights.containsPosition(index - 15)) { markCustomBar(ArrayVisualizer, bar, Renderer, width, analysis); break; }
-                 if (Highlights.containsPosition(index - 14)) { markCustomBar(ArrayVisualizer, bar, Renderer, width, analysis); break; }
-                 if (Highlights.containsPosition(index - 13)) { markCustomBar(ArrayVisualizer, bar, Renderer, width, analysis); break; }
-                 if (Highlights.containsPosition(index - 12)) { markCustomBar(ArrayVisualizer, bar, Renderer, width, analysis); break; }
-                 if (Highlights.containsPosition(index - 11)) { markCustomBar(ArrayVisualizer, bar, Renderer, width, analysis); break; }
-        case 14: if (Highlights.containsPosition(index - 10)) { markCustomBar(ArrayVisualizer, bar, Renderer, width, analysis); break; }
-                 if (Highlights.containsPosition(index - 9))  { markCustomBar(ArrayVisualizer, bar, Renderer, width, analysis); break; }
-                 if (Highlights.containsPosition(index - 8))  { markCustomBar(ArrayVisualizer, bar, Renderer, width, analysis); break; }
-        case 13: if (Highlights.containsPosition(index - 7))  { markCustomBar(ArrayVisualizer, bar, Renderer, width, analysis); break; }
-                 if (Highlights.containsPosition(index - 6))  { markCustomBar(ArrayVisualizer, bar, Renderer, width, analysis); break; }
-                 if (Highlights.containsPosition(index - 5))  { markCustomBar(ArrayVisualizer, bar, Renderer, width, analysis); break; }
-        case 12: if (Highlights.containsPosition(index - 4))  { markCustomBar(ArrayVisualizer, bar, Renderer, width, analysis); break; }
-                 if (Highlights.containsPosition(index - 3))  { markCustomBar(ArrayVisualizer, bar, Renderer, width, analysis); break; }
-        case 11: if (Highlights.containsPosition(index - 2))  { markCustomBar(ArrayVisualizer, bar, Renderer, width, analysis); break; }
-        case 10: if (Highlights.containsPosition(index - 1))  { markCustomBar(ArrayVisualizer, bar, Renderer, width, analysis); break; }
-        default: if (Highlights.containsPosition(index))        markCustomBar(ArrayVisualizer, bar, Renderer, width, analysis);
-        }
+    //The longer the array length, the more bars marked (see HighlightMask#radiusFor). Makes the visual easier to see when bars are thinner.
+    public static void colorCustomBars(HighlightMask mask, int index, ArrayVisualizer ArrayVisualizer, Graphics2D bar, Renderer Renderer, int width, boolean analysis) {
+        if (mask.containsNear(index)) markCustomBar(ArrayVisualizer, bar, Renderer, width, analysis);
     }
 
     @Override
     public void drawVisual(int[] array, ArrayVisualizer ArrayVisualizer, Renderer Renderer, Highlights Highlights) {
         if (Renderer.auxActive) return;
 
+        HighlightMask marks = Renderer.getHighlightMask();
         try {
             /*
              * Load the image on first use of the 'Custom Image' visual or if the program failed to read the image file previously.
@@ -315,42 +306,56 @@ final public class CustomImage extends Visual {
             return;
         }
 
-        for (int i = 0, j = 0; i < ArrayVisualizer.getCurrentLength(); i++) {
+        int columns = ArrayVisualizer.currentWidth() - 40;
+        int rows = ArrayVisualizer.windowHeight() - 50;
+        int length = ArrayVisualizer.getCurrentLength();
+        int imgWidth = this.imgWidth, imgHeight = this.imgHeight;
+        int[] imgPixels = this.imgPixels;
+        if (columns <= 0 || rows <= 0) return;
+
+        //Works out which column of the image each column of the screen shows, cutting the image in respect to each item in the array
+        if (this.sourceColumns == null || this.sourceColumns.length != columns) {
+            this.sourceColumns = new int[columns];
+        }
+        int[] sourceColumns = this.sourceColumns;
+        for (int i = 0, j = 0; i < length; i++) {
             int width = (int) (Renderer.getXScale() * (i + 1) - j);
             if (width == 0) continue;
 
-            //Cuts the image in respect to each item in the array
-            this.mainRender.drawImage(
-                this.img,
-
-                j + 20,
-                40,
-                j + 20 + width,
-                ArrayVisualizer.windowHeight()-10,
-
-                (int) ((double) this.imgWidth / ArrayVisualizer.getCurrentLength() * array[i]),
-                0,
-                (int) Math.ceil((double) this.imgWidth / ArrayVisualizer.getCurrentLength() * (array[i] + 1)),
-                this.imgHeight,
-
-                null
-            );
+            int start = (int) ((double) imgWidth / length * array[i]);
+            int end = (int) Math.ceil((double) imgWidth / length * (array[i] + 1));
+            for (int k = 0; k < width && j + k < columns; k++) {
+                int column = start + (int) ((k + 0.5) * (end - start) / width);
+                sourceColumns[j + k] = Math.max(0, Math.min(column, imgWidth - 1));
+            }
             j += width;
         }
-        for (int i = 0, j = 0; i < ArrayVisualizer.getCurrentLength(); i++) {
-            int width = (int) (Renderer.getXScale() * (i + 1)) - j;
-
-            if (Highlights.fancyFinishActive() && i < Highlights.getFancyFinishPosition()) {
-                this.mainRender.setColor(new Color(0, 1, 0, .5f));
 
-                if (width > 0) this.mainRender.fillRect(j + 20, 40, width, ArrayVisualizer.windowHeight()-10);
-            } else if (Highlights.containsPosition(i)) {
-                if (ArrayVisualizer.analysisEnabled()) this.mainRender.setColor(new Color(0, 0, 1, .5f));
-                else                                   this.mainRender.setColor(new Color(1, 0, 0, .5f));
-
-                this.mainRender.fillRect(j + 20, 40, Math.max(width, 2), ArrayVisualizer.windowHeight()-10);
+        this.frame.ensureSize(columns, rows);
+        this.frame.paintRows((pixels, offset, y) -> {
+            int source = Math.min((int) ((y + 0.5) * imgHeight / rows), imgHeight - 1) * imgWidth;
+            for (int x = 0; x < columns; x++) {
+                pixels[offset + x] = imgPixels[source + sourceColumns[x]];
             }
-            j += width;
+        });
+        this.mainRender.drawImage(this.frame.getImage(), 20, 40, null);
+
+        int finished = Highlights.fancyFinishActive() ? Math.min(Highlights.getFancyFinishPosition(), ArrayVisualizer.getCurrentLength()) : 0;
+        if (finished > 0) {
+            // The finished bars sit side by side, so they are covered with a single rectangle
+            this.mainRender.setColor(new Color(0, 1, 0, .5f));
+            this.mainRender.fillRect(20, 40, (int) (Renderer.getXScale() * finished), ArrayVisualizer.windowHeight()-10);
         }
+
+        if (ArrayVisualizer.analysisEnabled()) this.mainRender.setColor(new Color(0, 0, 1, .5f));
+        else                                   this.mainRender.setColor(new Color(1, 0, 0, .5f));
+
+        marks.forEach(ArrayVisualizer.getCurrentLength(), i -> {
+            if (i < finished) return;
+
+            int j = (int) (Renderer.getXScale() * i);
+            int width = (int) (Renderer.getXScale() * (i + 1)) - j;
+            this.mainRender.fillRect(j + 20, 40, Math.max(width, 2), ArrayVisualizer.windowHeight()-10);
+        });
     }
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import java.awt.Color;
 import main.ArrayVisualizer;
 import utils.Highlights;
 import utils.Renderer;
+import visuals.HighlightMask;
 import visuals.Visual;
 
 /*
@@ -46,6 +47,7 @@ final public class HoopStack extends Visual {
     public void drawVisual(int[] array, ArrayVisualizer ArrayVisualizer, Renderer Renderer, Highlights Highlights) {
         if (Renderer.auxActive) return;
 
+        HighlightMask marks = Renderer.getHighlightMask();
         int width = ArrayVisualizer.windowWidth();
         int height = ArrayVisualizer.windowHeight();
         int length = ArrayVisualizer.getCurrentLength();
@@ -63,7 +65,7 @@ final public class HoopStack extends Visual {
             if (Highlights.fancyFinishActive() && i < Highlights.getFancyFinishPosition())
                 this.mainRender.setColor(Color.GREEN);
 
-            else if (Highlights.containsPosition(i)) {
+            else if (marks.contains(i)) {
                 if (ArrayVisualizer.analysisEnabled()) this.mainRender.setColor(Color.LIGHT_GRAY);
                 else                                   this.mainRender.setColor(Color.WHITE);
 
@@ -1,11 +1,13 @@
 package visuals.misc;
 
 import java.awt.Color;
-import java.awt.image.BufferedImage;
 
 import main.ArrayVisualizer;
 import utils.Highlights;
 import utils.Renderer;
+import visuals.FrameBuffer;
+import visuals.HighlightMask;
+import visuals.Palette;
 import visuals.Visual;
 
 /*
@@ -35,26 +37,27 @@ SOFTWARE.
  */
 
 final public class PixelMesh extends Visual {
+	private final FrameBuffer frame = new FrameBuffer();
+	
 	public PixelMesh(ArrayVisualizer ArrayVisualizer) {
 		super(ArrayVisualizer);
 	}
 	
-	private Color getGray(int t, int n) {
-		int c = (int)(255 * (double)Math.max(0, Math.min(t, n))/n);
-		return new Color(c, c, c);
-	}
-	
 	private int multx2i(int a, int b) {
 		return b<64?(a*b)/127:b<128?(a*(b+1))/127:255-(((255-a)*(256-b))/128);
 	}
-	private Color multx2(Color a, Color b) {
-		return new Color(multx2i(a.getRed(), b.getRed()), multx2i(a.getGreen(), b.getGreen()), multx2i(a.getBlue(), b.getBlue()));
+	// Blends two packed RGB colors
+	private int multx2(int a, int b) {
+		return 0xFF000000 | (multx2i((a >> 16) & 0xFF, (b >> 16) & 0xFF) << 16)
+		                  | (multx2i((a >> 8) & 0xFF, (b >> 8) & 0xFF) << 8)
+		                  |  multx2i(a & 0xFF, b & 0xFF);
 	}
 	
 	private static boolean mixedMesh = true;
 	
 	public void drawVisual(int[] array, ArrayVisualizer ArrayVisualizer, Renderer Renderer, Highlights Highlights) {
 		if(Renderer.auxActive) return;
+		HighlightMask marks = Renderer.getHighlightMask();
 		
 		int width = ArrayVisualizer.windowWidth();
 		int height = ArrayVisualizer.windowHeight()-50;
@@ -64,14 +67,16 @@ final public class PixelMesh extends Visual {
 		int square = sqrt*sqrt;
 		double scale = (double)length / square;
 		
-		Color currColor;
+		Palette palette = Palette.get(ArrayVisualizer.colorEnabled() ? Palette.Type.HUE : Palette.Type.GRAY, length);
+		int green = Color.GREEN.getRGB();
+		int marked = ArrayVisualizer.getHighlightColor().getRGB();
 		int imgWidth = Math.min(sqrt, width), imgHeight = Math.min(sqrt, height);
-		BufferedImage img = new BufferedImage(imgWidth, imgHeight, BufferedImage.TYPE_INT_RGB);
+		this.frame.ensureSize(imgWidth, imgHeight);
 		
 		double xScale = (double)sqrt/imgWidth;
 		double yScale = (double)sqrt/imgHeight;
 		
-		for(int y = 0; y < imgHeight; y++) {
+		this.frame.paintRows((pixels, offset, y) -> {
 			int yi = (int)(y * yScale);
 			
 			for(int x = 0; x < imgWidth; x++) {
@@ -79,26 +84,12 @@ final public class PixelMesh extends Visual {
 				int idx = (int)((yi*sqrt + xi) * scale);
 				
 				if(Highlights.fancyFinishActive() && idx < Highlights.getFancyFinishPosition())
-					currColor = Color.GREEN;
-				
-				else if(ArrayVisualizer.colorEnabled()) {
-					if(Highlights.containsPosition(idx)) {
-						if(ArrayVisualizer.analysisEnabled()) currColor = Color.LIGHT_GRAY;
-						else								  currColor = Color.WHITE;
-					}
-					else currColor = getIntColor(array[idx], length);
-				} 
-				else {
-					if(Highlights.containsPosition(idx)) {
-						if(ArrayVisualizer.analysisEnabled()) currColor = Color.BLUE;
-						else								  currColor = Color.RED;
-					}
-					else currColor = getGray(array[idx], length);
-				}
-				
-				img.setRGB(x, y, currColor.getRGB());
+					pixels[offset + x] = green;
+				else if(marks.contains(idx))
+					pixels[offset + x] = marked;
+				else pixels[offset + x] = palette.rgb(array[idx]);
 			}
-		}
-		this.mainRender.drawImage(img, 0, 40, width, height+40, 0, 0, imgWidth, imgHeight, null);
+		});
+		this.mainRender.drawImage(this.frame.getImage(), 0, 40, width, height+40, 0, 0, imgWidth, imgHeight, null);
 	}
 }
\ No newline at end of file